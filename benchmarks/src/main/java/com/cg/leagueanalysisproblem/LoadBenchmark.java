@@ -0,0 +1,59 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cg.leagueanalysisproblem.IplAnalyser.ParserMode;
+
+/**
+ * Cost of loadData, from file to a ready dataset, for each parser mode.
+ * Every invocation uses a fresh analyser so nothing is served from the
+ * dataset cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBenchmark {
+	@Param({ SyntheticFactsheets.BUNDLED, "1000", "10000", "100000", "1000000", "10000000" })
+	public String rows;
+
+	@Param
+	public ParserMode parserMode;
+
+	private String runsFile;
+	private String wicketsFile;
+
+	@Setup
+	public void prepare() {
+		runsFile = SyntheticFactsheets.runs(rows);
+		wicketsFile = SyntheticFactsheets.wickets(rows);
+	}
+
+	@Benchmark
+	public int loadMostRuns() throws IplAnalyserException {
+		IplAnalyser<MostRun> analyser = new IplAnalyser<>();
+		analyser.setParserMode(parserMode);
+		return analyser.loadData(runsFile, MostRun.class);
+	}
+
+	@Benchmark
+	public int loadMostWickets() throws IplAnalyserException {
+		IplAnalyser<MostWicket> analyser = new IplAnalyser<>();
+		analyser.setParserMode(parserMode);
+		return analyser.loadData(wicketsFile, MostWicket.class);
+	}
+}
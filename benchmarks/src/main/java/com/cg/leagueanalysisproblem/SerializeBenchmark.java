@@ -0,0 +1,98 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cg.leagueanalysisproblem.IplAnalyser.MostRunSortType;
+import com.google.gson.Gson;
+
+/**
+ * JSON output of an already sorted batting ranking: Gson over materialized
+ * beans, the streaming column writer with every field, and the streaming
+ * writer with a three-field projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializeBenchmark {
+	@Param({ SyntheticFactsheets.BUNDLED, "1000", "10000", "100000", "1000000" })
+	public String rows;
+
+	private final IplAnalyser<MostRun> analyser = new IplAnalyser<>();
+	private IplDataset<MostRun> dataset;
+	private List<MostRun> sortedBeans;
+
+	@Setup
+	public void load() throws IplAnalyserException {
+		dataset = analyser.loadRunDataset(SyntheticFactsheets.runs(rows));
+		int[] sortIndex = dataset.sortIndex(MostRunSortType.AVERAGE,
+				IplAnalyser.runComparator(IplAnalyser.runColumns(dataset), MostRunSortType.AVERAGE));
+		sortedBeans = dataset.inOrder(sortIndex);
+	}
+
+	@Benchmark
+	public String gsonBeans() {
+		return new Gson().toJson(sortedBeans);
+	}
+
+	@Benchmark
+	public long streamAllFields() throws IplAnalyserException, IOException {
+		CountingWriter writer = new CountingWriter();
+		analyser.writeRunData(dataset, MostRunSortType.AVERAGE, dataset.size(), writer,
+				EnumSet.allOf(MostRunField.class));
+		return writer.count;
+	}
+
+	@Benchmark
+	public long streamProjected() throws IplAnalyserException, IOException {
+		CountingWriter writer = new CountingWriter();
+		analyser.writeRunData(dataset, MostRunSortType.AVERAGE, dataset.size(), writer,
+				EnumSet.of(MostRunField.PLAYER, MostRunField.RUNS, MostRunField.AVG));
+		return writer.count;
+	}
+
+	private static class CountingWriter extends Writer {
+		long count;
+
+		@Override
+		public void write(char[] buffer, int offset, int length) {
+			count += length;
+		}
+
+		@Override
+		public void write(String text, int offset, int length) {
+			count += length;
+		}
+
+		@Override
+		public void write(int character) {
+			count++;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cg.leagueanalysisproblem.IplAnalyser.MostRunSortType;
+import com.cg.leagueanalysisproblem.IplAnalyser.MostWicketSortType;
+
+/**
+ * sortRunData and sortWicketData for every sort type. The cold variants
+ * wrap the loaded table in a new dataset on each call, so the sort index is
+ * rebuilt. The warm variants reuse one dataset and only serialize.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortBenchmark {
+	@State(Scope.Benchmark)
+	public static class RunData {
+		@Param({ SyntheticFactsheets.BUNDLED, "1000", "10000", "100000", "1000000", "10000000" })
+		public String rows;
+
+		@Param
+		public MostRunSortType sortType;
+
+		IplAnalyser<MostRun> analyser = new IplAnalyser<>();
+		IplDataset<MostRun> dataset;
+
+		@Setup
+		public void load() throws IplAnalyserException {
+			dataset = analyser.loadRunDataset(SyntheticFactsheets.runs(rows));
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class WicketData {
+		@Param({ SyntheticFactsheets.BUNDLED, "1000", "10000", "100000", "1000000", "10000000" })
+		public String rows;
+
+		@Param
+		public MostWicketSortType sortType;
+
+		IplAnalyser<MostWicket> analyser = new IplAnalyser<>();
+		IplDataset<MostWicket> dataset;
+
+		@Setup
+		public void load() throws IplAnalyserException {
+			dataset = analyser.loadWicketDataset(SyntheticFactsheets.wickets(rows));
+		}
+	}
+
+	@Benchmark
+	public String sortRunDataCold(RunData data) throws IplAnalyserException {
+		return data.analyser.sortRunData(copyOf(data.dataset), data.sortType);
+	}
+
+	@Benchmark
+	public String sortRunDataWarm(RunData data) throws IplAnalyserException {
+		return data.analyser.sortRunData(data.dataset, data.sortType);
+	}
+
+	@Benchmark
+	public String sortWicketDataCold(WicketData data) throws IplAnalyserException {
+		return data.analyser.sortWicketData(copyOf(data.dataset), data.sortType);
+	}
+
+	@Benchmark
+	public String sortWicketDataWarm(WicketData data) throws IplAnalyserException {
+		return data.analyser.sortWicketData(data.dataset, data.sortType);
+	}
+
+	private static <T> IplDataset<T> copyOf(IplDataset<T> dataset) {
+		return new IplDataset<T>(dataset.getFilePath(), dataset.getClassType(), dataset.getLastModified(),
+				dataset.getFileSize(), dataset.getTable());
+	}
+}
@@ -0,0 +1,95 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Benchmark inputs: either the bundled 2019 factsheets or synthetic files
+ * with the same schema and a given number of rows. Synthetic files are
+ * generated once per size into java.io.tmpdir and reused across runs.
+ */
+final class SyntheticFactsheets {
+	static final String BUNDLED = "bundled";
+	private static final String RESOURCES = System.getProperty("ipl.resources", "../src/resource");
+
+	private SyntheticFactsheets() {
+	}
+
+	static String runs(String rows) {
+		if (BUNDLED.equals(rows)) {
+			return Paths.get(RESOURCES, "IPL2019FactsheetMostRuns.csv").toString();
+		}
+		return generate("mostruns", Integer.parseInt(rows), true);
+	}
+
+	static String wickets(String rows) {
+		if (BUNDLED.equals(rows)) {
+			return Paths.get(RESOURCES, "IPL2019FactsheetMostWkts.csv").toString();
+		}
+		return generate("mostwkts", Integer.parseInt(rows), false);
+	}
+
+	private static String generate(String name, int rows, boolean batting) {
+		Path file = Paths.get(System.getProperty("java.io.tmpdir"), "ipl-bench-" + name + "-" + rows + ".csv");
+		if (Files.exists(file)) {
+			return file.toString();
+		}
+		Random random = new Random(rows);
+		try {
+			Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try (BufferedWriter out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+				out.write(batting ? "POS,PLAYER,Mat,Inns,NO,Runs,HS,Avg,BF,SR,100,50,4s,6s"
+						: "POS,PLAYER,Mat,Inns,Ov,Runs,Wkts,BBI,Avg,Econ,SR,4w,5w");
+				out.newLine();
+				for (int row = 1; row <= rows; row++) {
+					out.write(batting ? battingRow(row, random) : bowlingRow(row, random));
+					out.newLine();
+				}
+			}
+			Files.move(temporary, file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return file.toString();
+	}
+
+	private static String battingRow(int row, Random random) {
+		int matches = 1 + random.nextInt(17);
+		int innings = 1 + random.nextInt(matches);
+		int notOuts = random.nextInt(innings + 1);
+		int runs = random.nextInt(700);
+		int ballsFaced = 1 + runs * (60 + random.nextInt(80)) / 100;
+		int highestScore = Math.min(runs, random.nextInt(120));
+		double avg = innings == notOuts ? 0 : round(runs / (double) (innings - notOuts));
+		double strikeRate = round(runs * 100.0 / ballsFaced);
+		return row + ",Player " + row + "," + matches + "," + innings + "," + notOuts + "," + runs + ","
+				+ highestScore + (random.nextBoolean() ? "*" : "") + "," + avg + "," + ballsFaced + "," + strikeRate
+				+ "," + random.nextInt(2) + "," + random.nextInt(8) + "," + random.nextInt(70) + ","
+				+ random.nextInt(50);
+	}
+
+	private static String bowlingRow(int row, Random random) {
+		int matches = 1 + random.nextInt(17);
+		int innings = 1 + random.nextInt(matches);
+		int balls = 6 + random.nextInt(innings * 24);
+		int runs = balls * (5 + random.nextInt(8)) / 6;
+		int wickets = random.nextInt(27);
+		double avg = wickets == 0 ? 0 : round(runs / (double) wickets);
+		double economy = round(runs * 6.0 / balls);
+		double strikeRate = wickets == 0 ? 0 : round(balls / (double) wickets);
+		String overs = balls % 6 == 0 ? Integer.toString(balls / 6) : balls / 6 + "." + balls % 6;
+		return row + ",Player " + row + "," + matches + "," + innings + "," + overs + "," + runs + "," + wickets
+				+ "," + random.nextInt(5) + "/" + (10 + random.nextInt(40)) + "," + avg + "," + economy + ","
+				+ strikeRate + "," + random.nextInt(2) + "," + random.nextInt(2);
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+}
@@ -0,0 +1,37 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Combined view of one player who appears in both the batting and the
+ * bowling factsheet.
+ */
+public class AllRounder {
+	private String player;
+	private MostRun batting;
+	private MostWicket bowling;
+
+	public AllRounder() {
+	}
+
+	public AllRounder(String player, MostRun batting, MostWicket bowling) {
+		this.player = player;
+		this.batting = batting;
+		this.bowling = bowling;
+	}
+
+	public String getPlayer() {
+		return player;
+	}
+
+	public MostRun getBatting() {
+		return batting;
+	}
+
+	public MostWicket getBowling() {
+		return bowling;
+	}
+
+	@Override
+	public String toString() {
+		return "AllRounder [player=" + player + ", batting=" + batting + ", bowling=" + bowling + "]";
+	}
+}
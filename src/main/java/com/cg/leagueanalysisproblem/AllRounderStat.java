@@ -0,0 +1,39 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Numeric columns of {@link AllRounderTable} for ranking specs, read through
+ * the join from the batting and bowling columns. A missing batting average
+ * reads as NaN, and the bowling average of a bowler without a wicket as
+ * infinity.
+ */
+public enum AllRounderStat implements StatColumn<AllRounderTable> {
+	RUNS {
+		@Override
+		public double value(AllRounderTable table, int row) {
+			return table.runs(row);
+		}
+	},
+	BATTING_AVG {
+		@Override
+		public double value(AllRounderTable table, int row) {
+			return table.battingAvg(row);
+		}
+	},
+	WICKETS {
+		@Override
+		public double value(AllRounderTable table, int row) {
+			return table.wickets(row);
+		}
+	},
+	BOWLING_AVG {
+		@Override
+		public double value(AllRounderTable table, int row) {
+			return table.bowlingAvg(row);
+		}
+	};
+
+	@Override
+	public boolean isIndexed() {
+		return false;
+	}
+}
@@ -0,0 +1,107 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Arrays;
+
+/**
+ * Inner join of a batting and a bowling table on PLAYER. Stores only the
+ * pair of source rows per player and reads every value from the source
+ * columns, so the join costs two ints per row.
+ */
+public class AllRounderTable implements IplTable<AllRounder> {
+	private final MostRunColumns batting;
+	private final MostWicketColumns bowling;
+	private final int[] battingRows;
+	private final int[] bowlingRows;
+
+	private AllRounderTable(MostRunColumns batting, MostWicketColumns bowling, int[] battingRows,
+			int[] bowlingRows) {
+		this.batting = batting;
+		this.bowling = bowling;
+		this.battingRows = battingRows;
+		this.bowlingRows = bowlingRows;
+	}
+
+	/**
+	 * Hash join in linear time. The bowling side's player dictionary is the
+	 * hash index from name to code, and one pass over the bowling rows maps
+	 * each code to its first row. Rows come out in batting file order. A
+	 * player listed more than once on either side is joined on the first
+	 * listing.
+	 */
+	static AllRounderTable join(MostRunColumns batting, MostWicketColumns bowling) {
+		int[] bowlingRowOfCode = new int[bowling.getPlayers().size()];
+		Arrays.fill(bowlingRowOfCode, -1);
+		for (int row = 0; row < bowling.size(); row++) {
+			int code = bowling.playerCode(row);
+			if (bowlingRowOfCode[code] < 0) {
+				bowlingRowOfCode[code] = row;
+			}
+		}
+		boolean[] joined = new boolean[batting.getPlayers().size()];
+		int[] battingRows = new int[Math.min(batting.size(), bowling.size())];
+		int[] bowlingRows = new int[battingRows.length];
+		int size = 0;
+		for (int row = 0; row < batting.size(); row++) {
+			int battingCode = batting.playerCode(row);
+			if (joined[battingCode]) {
+				continue;
+			}
+			int bowlingCode = bowling.getPlayers().codeOf(batting.player(row));
+			if (bowlingCode >= 0 && bowlingRowOfCode[bowlingCode] >= 0) {
+				joined[battingCode] = true;
+				battingRows[size] = row;
+				bowlingRows[size] = bowlingRowOfCode[bowlingCode];
+				size++;
+			}
+		}
+		return new AllRounderTable(batting, bowling, Arrays.copyOf(battingRows, size),
+				Arrays.copyOf(bowlingRows, size));
+	}
+
+	boolean joins(IplTable<MostRun> batting, IplTable<MostWicket> bowling) {
+		return this.batting == batting && this.bowling == bowling;
+	}
+
+	@Override
+	public int size() {
+		return battingRows.length;
+	}
+
+	@Override
+	public AllRounder row(int row) {
+		return new AllRounder(player(row), batting.row(battingRows[row]), bowling.row(bowlingRows[row]));
+	}
+
+	public String player(int row) {
+		return batting.player(battingRows[row]);
+	}
+
+	public int battingRow(int row) {
+		return battingRows[row];
+	}
+
+	public int bowlingRow(int row) {
+		return bowlingRows[row];
+	}
+
+	public long runs(int row) {
+		return batting.runs(battingRows[row]);
+	}
+
+	public double battingAvg(int row) {
+		return batting.avg(battingRows[row]);
+	}
+
+	public int wickets(int row) {
+		return bowling.wickets(bowlingRows[row]);
+	}
+
+	/**
+	 * Bowling average for ranking, where lower is better. A bowler without a
+	 * wicket has no average, so it ranks after every real one.
+	 */
+	public double bowlingAvg(int row) {
+		int bowlingRow = bowlingRows[row];
+		return bowling.wickets(bowlingRow) == 0 ? Double.POSITIVE_INFINITY : bowling.avg(bowlingRow);
+	}
+}
@@ -0,0 +1,267 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import com.cg.leagueanalysisproblem.PartitionedDataset.Partition;
+
+/**
+ * Career totals per player across season partitions. Each partition is
+ * loaded and summed on its own fork-join leaf, and the partial totals are
+ * merged pairwise in season order. Averages and strike rates are recomputed
+ * from the summed counts rather than averaged, and the result is an ordinary
+ * columnar table, so every sort type works on careers too. Players keep the
+ * order in which they first appear.
+ */
+final class CareerAggregator {
+	private CareerAggregator() {
+	}
+
+	static IplDataset<MostRun> careerRuns(PartitionedDataset<MostRun> seasons, List<Partition<MostRun>> partitions,
+			ForkJoinPool pool) throws IplAnalyserException {
+		Totals<MostRunColumns, BattingCareer> totals = reduce(
+				new ReduceTask<>(seasons, partitions, TableType.RUNS, BattingCareer::new), pool);
+		MostRunColumns table = new HeapRunColumns(totals.careers.size());
+		for (Map.Entry<String, BattingCareer> career : totals.careers.entrySet()) {
+			career.getValue().addTo(table, career.getKey());
+		}
+		return new IplDataset<MostRun>(seasons.getDirectory(), MostRun.class, totals.lastModified, totals.bytes,
+				table);
+	}
+
+	static IplDataset<MostWicket> careerWickets(PartitionedDataset<MostWicket> seasons,
+			List<Partition<MostWicket>> partitions, ForkJoinPool pool) throws IplAnalyserException {
+		Totals<MostWicketColumns, BowlingCareer> totals = reduce(
+				new ReduceTask<>(seasons, partitions, TableType.WICKETS, BowlingCareer::new), pool);
+		MostWicketColumns table = new HeapWicketColumns(totals.careers.size());
+		for (Map.Entry<String, BowlingCareer> career : totals.careers.entrySet()) {
+			career.getValue().addTo(table, career.getKey());
+		}
+		return new IplDataset<MostWicket>(seasons.getDirectory(), MostWicket.class, totals.lastModified,
+				totals.bytes, table);
+	}
+
+	private static <E, T extends IplTable<E>, C extends Career<T, C>> Totals<T, C> reduce(ReduceTask<E, T, C> task,
+			ForkJoinPool pool) throws IplAnalyserException {
+		try {
+			return ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+		} catch (RuntimeException e) {
+			throw IplAnalyserException.unwrap(e);
+		}
+	}
+
+	private static int count(int value) {
+		return value == Cells.MISSING ? 0 : value;
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+	private abstract static class Career<T, C extends Career<T, C>> {
+		abstract void add(T columns, int row);
+
+		abstract void merge(C later);
+	}
+
+	private static class Totals<T, C extends Career<T, C>> {
+		private final Map<String, C> careers = new LinkedHashMap<>();
+		private long lastModified;
+		private long bytes;
+
+		void merge(Totals<T, C> later) {
+			for (Map.Entry<String, C> career : later.careers.entrySet()) {
+				C existing = careers.get(career.getKey());
+				if (existing == null) {
+					careers.put(career.getKey(), career.getValue());
+				} else {
+					existing.merge(career.getValue());
+				}
+			}
+			lastModified = Math.max(lastModified, later.lastModified);
+			bytes += later.bytes;
+		}
+	}
+
+	private static class ReduceTask<E, T extends IplTable<E>, C extends Career<T, C>>
+			extends RecursiveTask<Totals<T, C>> {
+		private static final long serialVersionUID = 1L;
+		private final transient PartitionedDataset<E> seasons;
+		private final transient List<Partition<E>> partitions;
+		private final transient TableType<E, T> type;
+		private final transient Supplier<C> newCareer;
+
+		ReduceTask(PartitionedDataset<E> seasons, List<Partition<E>> partitions, TableType<E, T> type,
+				Supplier<C> newCareer) {
+			this.seasons = seasons;
+			this.partitions = partitions;
+			this.type = type;
+			this.newCareer = newCareer;
+		}
+
+		@Override
+		protected Totals<T, C> compute() {
+			if (partitions.size() <= 1) {
+				return partitions.isEmpty() ? new Totals<T, C>() : sum(partitions.get(0));
+			}
+			int middle = partitions.size() / 2;
+			ReduceTask<E, T, C> earlier = new ReduceTask<>(seasons, partitions.subList(0, middle), type, newCareer);
+			ReduceTask<E, T, C> later = new ReduceTask<>(seasons, partitions.subList(middle, partitions.size()),
+					type, newCareer);
+			earlier.fork();
+			Totals<T, C> laterTotals = later.compute();
+			Totals<T, C> totals = earlier.join();
+			totals.merge(laterTotals);
+			return totals;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Totals<T, C> sum(Partition<E> partition) {
+			IplDataset<E> dataset;
+			try {
+				dataset = seasons.dataset(partition);
+			} catch (IplAnalyserException e) {
+				throw new IllegalStateException(e);
+			}
+			T table = (T) dataset.getTable();
+			Totals<T, C> totals = new Totals<>();
+			totals.lastModified = dataset.getLastModified();
+			totals.bytes = dataset.getFileSize();
+			for (int row = 0; row < table.size(); row++) {
+				String player = type.player(table, row);
+				C career = totals.careers.get(player);
+				if (career == null) {
+					career = newCareer.get();
+					totals.careers.put(player, career);
+				}
+				career.add(table, row);
+			}
+			return totals;
+		}
+	}
+
+	private static class BattingCareer extends Career<MostRunColumns, BattingCareer> {
+		private int matches;
+		private int innings;
+		private int notOuts;
+		private long runs;
+		private int highestScore = Cells.MISSING;
+		private boolean highestScoreNotOut;
+		private int ballsFaced;
+		private int hundreds;
+		private int fifties;
+		private int fours;
+		private int sixes;
+
+		@Override
+		void add(MostRunColumns columns, int row) {
+			matches += count(columns.matches(row));
+			innings += count(columns.innings(row));
+			notOuts += count(columns.notOuts(row));
+			runs += columns.runs(row);
+			score(columns.highestScore(row), columns.highestScoreNotOut(row));
+			ballsFaced += count(columns.ballsFaced(row));
+			hundreds += columns.hundreds(row);
+			fifties += columns.fifties(row);
+			fours += columns.fours(row);
+			sixes += columns.sixes(row);
+		}
+
+		@Override
+		void merge(BattingCareer later) {
+			matches += later.matches;
+			innings += later.innings;
+			notOuts += later.notOuts;
+			runs += later.runs;
+			score(later.highestScore, later.highestScoreNotOut);
+			ballsFaced += later.ballsFaced;
+			hundreds += later.hundreds;
+			fifties += later.fifties;
+			fours += later.fours;
+			sixes += later.sixes;
+		}
+
+		private void score(int score, boolean notOut) {
+			if (score > highestScore || score == highestScore && notOut) {
+				highestScore = score;
+				highestScoreNotOut = notOut;
+			}
+		}
+
+		void addTo(MostRunColumns table, String player) {
+			int dismissals = innings - notOuts;
+			double avg = dismissals > 0 ? round(runs / (double) dismissals) : 0;
+			double strikeRate = ballsFaced > 0 ? round(runs * 100.0 / ballsFaced) : 0;
+			table.add(Cells.MISSING, player, matches, innings, notOuts, runs, highestScore, highestScoreNotOut, avg,
+					ballsFaced, strikeRate, hundreds, fifties, fours, sixes);
+		}
+	}
+
+	private static class BowlingCareer extends Career<MostWicketColumns, BowlingCareer> {
+		private int matches;
+		private int innings;
+		private int ballsBowled;
+		private int runs;
+		private int wickets;
+		private int bestWickets = -1;
+		private int bestRuns;
+		private int fourWickets;
+		private int fiveWickets;
+
+		@Override
+		void add(MostWicketColumns columns, int row) {
+			matches += count(columns.matches(row));
+			innings += count(columns.innings(row));
+			ballsBowled += count(columns.ballsBowled(row));
+			runs += count(columns.runs(row));
+			wickets += columns.wickets(row);
+			String bbi = columns.bbi(row);
+			int slash = bbi == null ? -1 : bbi.indexOf('/');
+			if (slash > 0) {
+				try {
+					best(Integer.parseInt(bbi.substring(0, slash).trim()),
+							Integer.parseInt(bbi.substring(slash + 1).trim()));
+				} catch (NumberFormatException e) {
+					// no best figures for this season
+				}
+			}
+			fourWickets += columns.fourWickets(row);
+			fiveWickets += columns.fiveWickets(row);
+		}
+
+		@Override
+		void merge(BowlingCareer later) {
+			matches += later.matches;
+			innings += later.innings;
+			ballsBowled += later.ballsBowled;
+			runs += later.runs;
+			wickets += later.wickets;
+			if (later.bestWickets >= 0) {
+				best(later.bestWickets, later.bestRuns);
+			}
+			fourWickets += later.fourWickets;
+			fiveWickets += later.fiveWickets;
+		}
+
+		private void best(int wickets, int runs) {
+			if (wickets > bestWickets || wickets == bestWickets && runs < bestRuns) {
+				bestWickets = wickets;
+				bestRuns = runs;
+			}
+		}
+
+		void addTo(MostWicketColumns table, String player) {
+			double avg = wickets > 0 ? round(runs / (double) wickets) : 0;
+			double economy = ballsBowled > 0 ? round(runs * 6.0 / ballsBowled) : 0;
+			double strikeRate = wickets > 0 ? round(ballsBowled / (double) wickets) : 0;
+			String bbi = bestWickets < 0 ? Cells.PLACEHOLDER : bestWickets + "/" + bestRuns;
+			table.add(Cells.MISSING, player, matches, innings, ballsBowled, runs, wickets, bbi, avg, economy,
+					strikeRate, fourWickets, fiveWickets);
+		}
+	}
+}
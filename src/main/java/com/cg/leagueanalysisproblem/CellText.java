@@ -0,0 +1,118 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Original text of the cells that a numeric column cannot give back as they
+ * were read, such as "04", "4.0", "DNB" or an empty cell, which binds to
+ * null. Factsheets have hardly any, so they are kept in a map by row and
+ * field instead of a text column per field, and a table without any only
+ * pays an isEmpty check per rendered cell.
+ */
+final class CellText {
+	private final int fields;
+	private final Map<Long, String> texts = new HashMap<>();
+
+	CellText(int fields) {
+		this.fields = fields;
+	}
+
+	/**
+	 * Keeps the text of a cell unless it equals canonical, the text its
+	 * column gives back anyway.
+	 */
+	void put(int row, int field, String text, String canonical) {
+		if (text != null && text.equals(canonical)) {
+			if (!texts.isEmpty()) {
+				texts.remove(key(row, field));
+			}
+		} else {
+			put(row, field, text);
+		}
+	}
+
+	void put(int row, int field, String text) {
+		texts.put(key(row, field), text);
+	}
+
+	/**
+	 * The kept text of a cell, or canonical when its text was canonical.
+	 */
+	String get(int row, int field, String canonical) {
+		if (texts.isEmpty()) {
+			return canonical;
+		}
+		Long key = key(row, field);
+		String text = texts.get(key);
+		return text != null || texts.containsKey(key) ? text : canonical;
+	}
+
+	/**
+	 * Replaces the kept texts of a row with those of a row of another table.
+	 */
+	void copy(int row, CellText source, int sourceRow) {
+		if (texts.isEmpty() && source.texts.isEmpty()) {
+			return;
+		}
+		for (int field = 0; field < fields; field++) {
+			Long sourceKey = source.key(sourceRow, field);
+			if (source.texts.containsKey(sourceKey)) {
+				texts.put(key(row, field), source.texts.get(sourceKey));
+			} else {
+				texts.remove(key(row, field));
+			}
+		}
+	}
+
+	void remove(int row) {
+		if (texts.isEmpty()) {
+			return;
+		}
+		for (int field = 0; field < fields; field++) {
+			texts.remove(key(row, field));
+		}
+	}
+
+	void clear() {
+		texts.clear();
+	}
+
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeInt(texts.size());
+		for (Map.Entry<Long, String> text : texts.entrySet()) {
+			out.writeLong(text.getKey());
+			if (text.getValue() == null) {
+				out.writeInt(-1);
+			} else {
+				byte[] bytes = text.getValue().getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+	}
+
+	void readFrom(ByteBuffer in) {
+		texts.clear();
+		int count = in.getInt();
+		for (int i = 0; i < count; i++) {
+			long key = in.getLong();
+			int length = in.getInt();
+			if (length < 0) {
+				texts.put(key, null);
+			} else {
+				byte[] bytes = new byte[length];
+				in.get(bytes);
+				texts.put(key, new String(bytes, StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private Long key(int row, int field) {
+		return (long) row * fields + field;
+	}
+}
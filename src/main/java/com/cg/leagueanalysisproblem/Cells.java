@@ -0,0 +1,66 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Conversions between the text cells of the factsheets and primitive column
+ * values. Cells that are not numbers, such as the "-" placeholder, are kept
+ * as {@link #MISSING}.
+ */
+final class Cells {
+	static final int MISSING = Integer.MIN_VALUE;
+	static final String PLACEHOLDER = "-";
+
+	private Cells() {
+	}
+
+	static int toInt(String cell) {
+		if (cell == null) {
+			return MISSING;
+		}
+		try {
+			return Integer.parseInt(cell.trim());
+		} catch (NumberFormatException e) {
+			return MISSING;
+		}
+	}
+
+	static String toText(int value) {
+		return value == MISSING ? PLACEHOLDER : Integer.toString(value);
+	}
+
+	static double toNumber(int value) {
+		return value == MISSING ? Double.NaN : value;
+	}
+
+	static boolean isNotOut(String score) {
+		return score != null && score.endsWith("*");
+	}
+
+	static int toScore(String score) {
+		return isNotOut(score) ? toInt(score.substring(0, score.length() - 1)) : toInt(score);
+	}
+
+	static String toScoreText(int score, boolean notOut) {
+		return notOut && score != MISSING ? score + "*" : toText(score);
+	}
+
+	static int toBalls(String overs) {
+		if (overs == null) {
+			return MISSING;
+		}
+		int dot = overs.indexOf('.');
+		if (dot < 0) {
+			int completed = toInt(overs);
+			return completed == MISSING ? MISSING : completed * 6;
+		}
+		int completed = toInt(overs.substring(0, dot));
+		int balls = toInt(overs.substring(dot + 1));
+		return completed == MISSING || balls == MISSING ? MISSING : completed * 6 + balls;
+	}
+
+	static String toOversText(int balls) {
+		if (balls == MISSING) {
+			return PLACEHOLDER;
+		}
+		return balls % 6 == 0 ? Integer.toString(balls / 6) : balls / 6 + "." + balls % 6;
+	}
+}
@@ -0,0 +1,15 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * A bean field that can be written straight from a columnar table, under
+ * the same JSON name Gson gives it.
+ */
+public interface ColumnField<T> {
+	String jsonName();
+
+	void write(JsonWriter json, T table, int row) throws IOException;
+}
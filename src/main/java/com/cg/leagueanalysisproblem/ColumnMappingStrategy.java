@@ -0,0 +1,152 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Locale;
+
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+import com.opencsv.CSVReader;
+import com.opencsv.bean.BeanField;
+import com.opencsv.bean.CsvBindByName;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.opencsv.exceptions.CsvConstraintViolationException;
+import com.opencsv.exceptions.CsvDataTypeMismatchException;
+import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+
+/**
+ * Header mapping for OpenCSV loads in skip or quarantine mode, which rejects
+ * lines the way the factsheet parser does: a line with more or fewer cells
+ * than the header is an incorrect delimiter, and a cell that does not convert
+ * is reported under its header column. OpenCSV itself binds short and long
+ * lines silently and does not say which column a conversion failed in.
+ */
+final class ColumnMappingStrategy<T> extends HeaderColumnNameMappingStrategy<T> {
+	private BeanField[] columnFields;
+
+	ColumnMappingStrategy(Class<? extends T> type) {
+		setType(type);
+	}
+
+	@Override
+	public void captureHeader(CSVReader reader) throws IOException, CsvRequiredFieldEmptyException {
+		super.captureHeader(reader);
+		BeanField[] fields = new BeanField[header.length];
+		for (int column = 0; column < header.length; column++) {
+			BeanField field = super.findField(column);
+			if (field != null) {
+				fields[column] = new ColumnBeanField(field, getColumnName(column));
+			}
+		}
+		columnFields = fields;
+	}
+
+	@Override
+	public BeanField findField(int column) {
+		return column < columnFields.length ? columnFields[column] : null;
+	}
+
+	@Override
+	public void verifyLineLength(int cellCount) throws CsvRequiredFieldEmptyException {
+		if (cellCount != header.length) {
+			throw new CellCountException(getType(), "Expected " + header.length + " cells but found " + cellCount);
+		}
+		super.verifyLineLength(cellCount);
+	}
+
+	/**
+	 * The rejected line behind an exception OpenCSV captured, numbered from 1
+	 * for the header like the factsheet parser numbers it.
+	 */
+	static IngestError ingestError(CsvException e) {
+		long lineNumber = e.getLineNumber() + 1;
+		if (e instanceof CellCountException) {
+			return new IngestError(lineNumber, null, ExceptionType.INCORRECT_DELIMITER,
+					e.getMessage() + " at line " + lineNumber, null);
+		}
+		String column = null;
+		if (e instanceof ColumnMismatchException) {
+			column = ((ColumnMismatchException) e).column;
+		} else if (e instanceof CsvRequiredFieldEmptyException) {
+			Field field = ((CsvRequiredFieldEmptyException) e).getDestinationField();
+			CsvBindByName binding = field == null ? null : field.getAnnotation(CsvBindByName.class);
+			column = binding == null ? null : binding.column();
+		}
+		return new IngestError(lineNumber, column, ExceptionType.INCORRECT_CLASS_TYPE, e.getMessage(), null);
+	}
+
+	private static final class CellCountException extends CsvRequiredFieldEmptyException {
+		private static final long serialVersionUID = 1L;
+
+		CellCountException(Class<?> beanClass, String message) {
+			super(beanClass, message);
+		}
+	}
+
+	private static final class ColumnMismatchException extends CsvDataTypeMismatchException {
+		private static final long serialVersionUID = 1L;
+		private final String column;
+
+		ColumnMismatchException(CsvDataTypeMismatchException cause, String column) {
+			super(cause.getSourceObject(), cause.getDestinationClass(), cause.getMessage());
+			this.column = column;
+		}
+	}
+
+	/**
+	 * Binds a cell as the wrapped field does and names the header column of a
+	 * cell that does not convert.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final class ColumnBeanField implements BeanField {
+		private final BeanField field;
+		private final String column;
+
+		ColumnBeanField(BeanField field, String column) {
+			this.field = field;
+			this.column = column;
+		}
+
+		@Override
+		public void setField(Field field) {
+			this.field.setField(field);
+		}
+
+		@Override
+		public Field getField() {
+			return field.getField();
+		}
+
+		@Override
+		public boolean isRequired() {
+			return field.isRequired();
+		}
+
+		@Override
+		public void setRequired(boolean required) {
+			field.setRequired(required);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void setFieldValue(Object bean, String value) throws CsvDataTypeMismatchException,
+				CsvRequiredFieldEmptyException, CsvConstraintViolationException {
+			try {
+				field.setFieldValue(bean, value);
+			} catch (CsvDataTypeMismatchException e) {
+				throw new ColumnMismatchException(e, column);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public String write(Object bean) throws CsvDataTypeMismatchException, CsvRequiredFieldEmptyException {
+			return field.write(bean);
+		}
+
+		@Override
+		public void setErrorLocale(Locale errorLocale) {
+			field.setErrorLocale(errorLocale);
+		}
+	}
+}
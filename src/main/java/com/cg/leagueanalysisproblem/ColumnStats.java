@@ -0,0 +1,127 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Minimum and maximum of one numeric column, and for indexed columns the
+ * rows sorted by value. NaN values are left out of the bounds and sorted
+ * after every number, outside the searchable prefix.
+ */
+final class ColumnStats {
+	private final double min;
+	private final double max;
+	private final boolean hasNaN;
+	private final int[] sortedRows;
+	private final double[] sortedValues;
+	private final int numbers;
+
+	private ColumnStats(double min, double max, boolean hasNaN, int[] sortedRows, double[] sortedValues,
+			int numbers) {
+		this.min = min;
+		this.max = max;
+		this.hasNaN = hasNaN;
+		this.sortedRows = sortedRows;
+		this.sortedValues = sortedValues;
+		this.numbers = numbers;
+	}
+
+	static ColumnStats scan(int size, IntToDoubleFunction values) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		boolean hasNaN = false;
+		for (int row = 0; row < size; row++) {
+			double value = values.applyAsDouble(row);
+			if (Double.isNaN(value)) {
+				hasNaN = true;
+			} else {
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+		return new ColumnStats(min, max, hasNaN, null, null, 0);
+	}
+
+	static ColumnStats index(int size, IntToDoubleFunction values) {
+		int[] sortedRows = IndexSort.sortedIndex(size, RowComparator.comparingDouble(values));
+		double[] sortedValues = new double[size];
+		int numbers = 0;
+		for (int i = 0; i < size; i++) {
+			sortedValues[i] = values.applyAsDouble(sortedRows[i]);
+			if (!Double.isNaN(sortedValues[i])) {
+				numbers = i + 1;
+			}
+		}
+		double min = numbers == 0 ? Double.POSITIVE_INFINITY : sortedValues[0];
+		double max = numbers == 0 ? Double.NEGATIVE_INFINITY : sortedValues[numbers - 1];
+		return new ColumnStats(min, max, numbers < size, sortedRows, sortedValues, numbers);
+	}
+
+	double min() {
+		return min;
+	}
+
+	double max() {
+		return max;
+	}
+
+	boolean isIndexed() {
+		return sortedRows != null;
+	}
+
+	/**
+	 * True when no row can have a value in the range, so a query with it is
+	 * empty without looking at any row.
+	 */
+	boolean excludesAll(double low, double high) {
+		return low > high || max < low || min > high;
+	}
+
+	/**
+	 * True when every row has a value in the range, so the range can be
+	 * dropped from the query.
+	 */
+	boolean includesAll(double low, double high) {
+		return !hasNaN && low <= min && high >= max;
+	}
+
+	/**
+	 * Rows with a value in the range, in ascending value order. Needs an
+	 * indexed column.
+	 */
+	int[] rowsBetween(double low, double high) {
+		return Arrays.copyOfRange(sortedRows, firstNotBelow(low), firstAbove(high));
+	}
+
+	int countBetween(double low, double high) {
+		return Math.max(0, firstAbove(high) - firstNotBelow(low));
+	}
+
+	private int firstNotBelow(double low) {
+		int from = 0;
+		int to = numbers;
+		while (from < to) {
+			int middle = (from + to) >>> 1;
+			if (sortedValues[middle] < low) {
+				from = middle + 1;
+			} else {
+				to = middle;
+			}
+		}
+		return from;
+	}
+
+	private int firstAbove(double high) {
+		int from = 0;
+		int to = numbers;
+		while (from < to) {
+			int middle = (from + to) >>> 1;
+			if (sortedValues[middle] <= high) {
+				from = middle + 1;
+			} else {
+				to = middle;
+			}
+		}
+		return from;
+	}
+}
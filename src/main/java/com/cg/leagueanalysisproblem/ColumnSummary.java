@@ -0,0 +1,145 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Distribution of one numeric column: exact count, mean, variance, minimum
+ * and maximum from Welford's running accumulators, and quantiles and
+ * histograms estimated from a {@link KllSketch}. Missing cells are counted
+ * but left out of everything else. Memory stays bounded however many rows
+ * are added, and two summaries merge into the summary of both inputs.
+ */
+public final class ColumnSummary {
+	private final KllSketch sketch;
+	private long count;
+	private long missing;
+	private double mean;
+	private double squaredDeviations;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	ColumnSummary(int sketchSize) {
+		this.sketch = new KllSketch(sketchSize);
+	}
+
+	private ColumnSummary(KllSketch sketch) {
+		this.sketch = sketch;
+	}
+
+	void add(double value) {
+		if (value != value) {
+			missing++;
+			return;
+		}
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		squaredDeviations += delta * (value - mean);
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+		sketch.update(value);
+	}
+
+	/**
+	 * Returns the summary of the values of both summaries, leaving them
+	 * unchanged. Means and variances are combined exactly.
+	 */
+	public ColumnSummary merge(ColumnSummary other) {
+		ColumnSummary merged = new ColumnSummary(sketch.copy());
+		merged.sketch.merge(other.sketch);
+		merged.count = count + other.count;
+		merged.missing = missing + other.missing;
+		if (merged.count > 0) {
+			double delta = other.mean - mean;
+			merged.mean = mean + delta * other.count / merged.count;
+			merged.squaredDeviations = squaredDeviations + other.squaredDeviations
+					+ delta * delta * count * other.count / merged.count;
+		}
+		merged.min = Math.min(min, other.min);
+		merged.max = Math.max(max, other.max);
+		return merged;
+	}
+
+	/**
+	 * Number of cells with a value.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Number of cells without a value, such as the "-" placeholder.
+	 */
+	public long getMissing() {
+		return missing;
+	}
+
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/**
+	 * Sample variance, or NaN for fewer than two values.
+	 */
+	public double getVariance() {
+		return count < 2 ? Double.NaN : squaredDeviations / (count - 1);
+	}
+
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	public double getMin() {
+		return count == 0 ? Double.NaN : min;
+	}
+
+	public double getMax() {
+		return count == 0 ? Double.NaN : max;
+	}
+
+	/**
+	 * Estimated value at the fraction q of the values, for example 0.9 for
+	 * the 90th percentile. 0 and 1 give the exact minimum and maximum.
+	 */
+	public double quantile(double q) {
+		if (q == 0) {
+			return getMin();
+		}
+		if (q == 1) {
+			return getMax();
+		}
+		return sketch.quantile(q);
+	}
+
+	/**
+	 * Estimated fraction of the values less than or equal to value.
+	 */
+	public double rank(double value) {
+		return sketch.rank(value);
+	}
+
+	/**
+	 * Estimated number of values in each bucket of the ascending bounds: the
+	 * first bucket holds values up to and including bounds[0], the last one
+	 * values above the last bound.
+	 */
+	public long[] histogram(double... bounds) {
+		long[] buckets = new long[bounds.length + 1];
+		long below = 0;
+		for (int i = 0; i < bounds.length; i++) {
+			if (i > 0 && bounds[i] < bounds[i - 1]) {
+				throw new IllegalArgumentException("Histogram bounds must be ascending");
+			}
+			long upTo = count == 0 ? 0 : Math.round(sketch.rank(bounds[i]) * count);
+			buckets[i] = upTo - below;
+			below = upTo;
+		}
+		buckets[bounds.length] = count - below;
+		return buckets;
+	}
+
+	@Override
+	public String toString() {
+		return "ColumnSummary [count=" + count + ", missing=" + missing + ", mean=" + getMean() + ", stddev="
+				+ getStandardDeviation() + ", min=" + getMin() + ", p50=" + quantile(0.5) + ", p90="
+				+ quantile(0.9) + ", p99=" + quantile(0.99) + ", max=" + getMax() + "]";
+	}
+}
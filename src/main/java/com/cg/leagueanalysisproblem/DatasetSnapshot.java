@@ -0,0 +1,211 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned binary snapshot of a columnar dataset. The layout is a fixed
+ * header (magic, format version, table kind, source mtime and size), the
+ * columns one after another, and a CRC32 of everything before it. Snapshots
+ * are read back through a memory mapping with bulk array copies.
+ */
+final class DatasetSnapshot {
+	static final int MAGIC = 0x49504C53;
+	static final int FORMAT_VERSION = 2;
+	static final String EXTENSION = ".iplsnap";
+	private static final byte RUNS = 1;
+	private static final byte WICKETS = 2;
+
+	private DatasetSnapshot() {
+	}
+
+	static Path snapshotPath(Path directory, String filePath) {
+		Path source = Paths.get(filePath).toAbsolutePath().normalize();
+		return directory.resolve(source.getFileName() + "-" + Integer.toHexString(source.toString().hashCode())
+				+ EXTENSION);
+	}
+
+	static void write(IplDataset<?> dataset, Path snapshot) throws IOException {
+		byte kind;
+		if (dataset.getTable() instanceof MostRunColumns) {
+			kind = RUNS;
+		} else if (dataset.getTable() instanceof MostWicketColumns) {
+			kind = WICKETS;
+		} else {
+			throw new IllegalArgumentException("No snapshot format for " + dataset.getClassType().getName());
+		}
+		Path directory = snapshot.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+		try {
+			CRC32 checksum = new CRC32();
+			try (OutputStream file = Files.newOutputStream(temporary)) {
+				DataOutputStream out = new DataOutputStream(
+						new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), checksum));
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeByte(kind);
+				out.writeLong(dataset.getLastModified());
+				out.writeLong(dataset.getFileSize());
+				if (kind == RUNS) {
+					((MostRunColumns) dataset.getTable()).writeTo(out);
+				} else {
+					((MostWicketColumns) dataset.getTable()).writeTo(out);
+				}
+				out.flush();
+				new DataOutputStream(file).writeLong(checksum.getValue());
+			}
+			Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Reopens a snapshot for the given source file, or returns null when it
+	 * is missing, of another format version or kind, corrupt, or older than
+	 * the source's current mtime and size. Off-heap columns are filled from
+	 * the mapping directly.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> IplDataset<T> read(Path snapshot, String filePath, Class<T> classType, long lastModified,
+			long fileSize, boolean offHeap) {
+		if (!Files.isRegularFile(snapshot)) {
+			return null;
+		}
+		try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+			if (channel.size() < 33) {
+				return null;
+			}
+			MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			ByteBuffer payload = in.duplicate();
+			payload.limit((int) channel.size() - 8);
+			CRC32 checksum = new CRC32();
+			checksum.update(payload);
+			if (checksum.getValue() != in.getLong((int) channel.size() - 8)) {
+				return null;
+			}
+			if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+				return null;
+			}
+			byte kind = in.get();
+			if (in.getLong() != lastModified || in.getLong() != fileSize) {
+				return null;
+			}
+			IplTable<?> table;
+			if (kind == RUNS && classType == MostRun.class) {
+				table = offHeap ? OffHeapRunColumns.readFrom(in) : HeapRunColumns.readFrom(in);
+			} else if (kind == WICKETS && classType == MostWicket.class) {
+				table = offHeap ? OffHeapWicketColumns.readFrom(in) : HeapWicketColumns.readFrom(in);
+			} else {
+				return null;
+			}
+			return new IplDataset<T>(filePath, classType, lastModified, fileSize, (IplTable<T>) table);
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	static void writeInts(DataOutputStream out, IntUnaryOperator column, int size) throws IOException {
+		for (int i = 0; i < size; i++) {
+			out.writeInt(column.applyAsInt(i));
+		}
+	}
+
+	static void writeLongs(DataOutputStream out, IntToLongFunction column, int size) throws IOException {
+		for (int i = 0; i < size; i++) {
+			out.writeLong(column.applyAsLong(i));
+		}
+	}
+
+	static void writeDoubles(DataOutputStream out, IntToDoubleFunction column, int size) throws IOException {
+		for (int i = 0; i < size; i++) {
+			out.writeDouble(column.applyAsDouble(i));
+		}
+	}
+
+	static void writeBooleans(DataOutputStream out, IntPredicate column, int size) throws IOException {
+		for (int i = 0; i < size; i++) {
+			out.writeBoolean(column.test(i));
+		}
+	}
+
+	static void writeStrings(DataOutputStream out, PlayerDictionary dictionary) throws IOException {
+		out.writeInt(dictionary.size());
+		for (int code = 0; code < dictionary.size(); code++) {
+			String name = dictionary.decode(code);
+			if (name == null) {
+				out.writeInt(-1);
+			} else {
+				byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+	}
+
+	static int[] readInts(ByteBuffer in, int size) {
+		int[] column = new int[size];
+		in.asIntBuffer().get(column);
+		in.position(in.position() + size * 4);
+		return column;
+	}
+
+	static long[] readLongs(ByteBuffer in, int size) {
+		long[] column = new long[size];
+		in.asLongBuffer().get(column);
+		in.position(in.position() + size * 8);
+		return column;
+	}
+
+	static double[] readDoubles(ByteBuffer in, int size) {
+		double[] column = new double[size];
+		in.asDoubleBuffer().get(column);
+		in.position(in.position() + size * 8);
+		return column;
+	}
+
+	static boolean[] readBooleans(ByteBuffer in, int size) {
+		boolean[] column = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			column[i] = in.get() != 0;
+		}
+		return column;
+	}
+
+	/**
+	 * Encodes the names of a snapshot dictionary into an empty dictionary in
+	 * code order, so every name keeps its code.
+	 */
+	static <D extends PlayerDictionary> D readStrings(ByteBuffer in, D dictionary) {
+		int count = in.getInt();
+		for (int code = 0; code < count; code++) {
+			int length = in.getInt();
+			if (length < 0) {
+				dictionary.encode(null);
+			} else {
+				byte[] bytes = new byte[length];
+				in.get(bytes);
+				dictionary.encode(new String(bytes, StandardCharsets.UTF_8));
+			}
+		}
+		return dictionary;
+	}
+}
@@ -0,0 +1,526 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+
+/**
+ * Reflection-free reader for the known factsheet schemas. The header is
+ * mapped to schema fields once, then every line is split into cell offsets
+ * and numbers are parsed straight from the byte buffer without creating a
+ * String per cell.
+ *
+ * The header is validated before any row is read: a missing schema column
+ * or a header that is not comma-delimited fails the load at once. A line
+ * with the wrong number of cells or a cell that does not parse fails it
+ * too, unless the parser collects errors, in which case the line is
+ * rejected with its line number and column and parsing goes on.
+ *
+ * Cells read the way the OpenCSV binding of the beans reads them: a number
+ * cell parses like Integer.parseInt or Double.parseDouble after trimming,
+ * so "+5" and "1e2" are numbers while "-" fails the line, and a blank one
+ * reads as 0. Text columns such as Inns or Ov keep any text, and the cells
+ * their numeric column cannot give back as they were are kept as
+ * {@link CellText}.
+ */
+abstract class FactsheetParser<T extends IplTable<?>> {
+	static final byte DELIMITER = ',';
+	private static final byte QUOTE = '"';
+	private static final long NOT_PLAIN = Long.MIN_VALUE;
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final String[] fieldNames;
+	private int[] fieldOfColumn;
+	private int cellCount;
+	private int invalidField = -1;
+	private final boolean[] kept;
+	private final String[] keptText;
+	private boolean anyKept;
+	private List<IngestError> errors;
+	protected final int[] cellStart;
+	protected final int[] cellEnd;
+	private final boolean[] cellQuoted;
+	protected byte[] data;
+	protected int lineNumber;
+
+	FactsheetParser(String[] fieldNames) {
+		this.fieldNames = fieldNames;
+		this.cellStart = new int[fieldNames.length];
+		this.cellEnd = new int[fieldNames.length];
+		this.cellQuoted = new boolean[fieldNames.length];
+		this.kept = new boolean[fieldNames.length];
+		this.keptText = new String[fieldNames.length];
+	}
+
+	abstract T table();
+
+	/**
+	 * Rejects malformed lines into the returned list instead of failing.
+	 */
+	List<IngestError> collectErrors() {
+		errors = new ArrayList<>();
+		return errors;
+	}
+
+	List<IngestError> errors() {
+		return errors;
+	}
+
+	int lineCount() {
+		return lineNumber;
+	}
+
+	abstract void row() throws IplAnalyserException;
+
+	T parse(byte[] data) throws IplAnalyserException {
+		parse(data, 0, data.length, true, true);
+		return table();
+	}
+
+	/**
+	 * Parses the complete lines in data[from, to). When header is true the
+	 * first line is taken as the header row. Unless endOfInput is set, a
+	 * trailing line without a line break is left alone and the returned
+	 * offset points at it, so a caller reading in chunks can carry it over.
+	 */
+	int parse(byte[] data, int from, int to, boolean header, boolean endOfInput) throws IplAnalyserException {
+		this.data = data;
+		int position = from;
+		if (header) {
+			if (position >= to && endOfInput) {
+				throw new IplAnalyserException("Empty Factsheet", ExceptionType.NO_DATA);
+			}
+			position = skipByteOrderMark(data, position, to);
+			int lineEnd = lineEnd(data, position, to, endOfInput);
+			if (lineEnd < 0) {
+				return from;
+			}
+			mapHeader(data, position, lineEnd);
+			lineNumber++;
+			position = nextLine(data, lineEnd, to);
+		}
+		while (position < to) {
+			int lineEnd = lineEnd(data, position, to, endOfInput);
+			if (lineEnd < 0) {
+				break;
+			}
+			lineNumber++;
+			if (lineEnd > position) {
+				splitLine(data, position, lineEnd);
+				if (cellCount != fieldOfColumn.length) {
+					reject(new IplAnalyserException("Expected " + fieldOfColumn.length + " cells but found "
+							+ cellCount + " at line " + lineNumber, ExceptionType.INCORRECT_DELIMITER), position,
+							lineEnd);
+				} else {
+					try {
+						row();
+					} catch (IplAnalyserException e) {
+						reject(e, position, lineEnd);
+					}
+				}
+			}
+			position = nextLine(data, lineEnd, to);
+		}
+		return position;
+	}
+
+	private void reject(IplAnalyserException e, int from, int to) throws IplAnalyserException {
+		int field = invalidField;
+		invalidField = -1;
+		if (errors == null) {
+			throw e;
+		}
+		errors.add(new IngestError(lineNumber, field < 0 ? null : fieldNames[field], e.type, e.getMessage(),
+				new String(data, from, to - from, StandardCharsets.UTF_8)));
+	}
+
+	void mapHeader(byte[] data, int from, int to) throws IplAnalyserException {
+		from = skipByteOrderMark(data, from, to);
+		String header = new String(data, from, to - from, StandardCharsets.UTF_8);
+		if (header.trim().isEmpty()) {
+			throw new IplAnalyserException("Missing Factsheet Header", ExceptionType.INCORRECT_HEADER);
+		}
+		if (header.indexOf(DELIMITER) < 0) {
+			throw new IplAnalyserException("Factsheet Header Is Not Comma Delimited: " + header,
+					ExceptionType.INCORRECT_DELIMITER);
+		}
+		String[] columns = header.split(",", -1);
+		fieldOfColumn = new int[columns.length];
+		Arrays.fill(fieldOfColumn, -1);
+		for (int column = 0; column < columns.length; column++) {
+			String name = columns[column].trim();
+			if (name.length() > 1 && name.charAt(0) == QUOTE && name.charAt(name.length() - 1) == QUOTE) {
+				name = name.substring(1, name.length() - 1);
+			}
+			for (int field = 0; field < fieldNames.length; field++) {
+				if (fieldNames[field].equalsIgnoreCase(name)) {
+					fieldOfColumn[column] = field;
+				}
+			}
+		}
+		List<String> missing = new ArrayList<>(Arrays.asList(fieldNames));
+		for (int field : fieldOfColumn) {
+			if (field >= 0) {
+				missing.remove(fieldNames[field]);
+			}
+		}
+		if (!missing.isEmpty()) {
+			throw new IplAnalyserException("Missing Factsheet Columns " + missing, ExceptionType.INCORRECT_HEADER);
+		}
+	}
+
+	boolean hasHeader() {
+		return fieldOfColumn != null;
+	}
+
+	private void splitLine(byte[] data, int from, int to) {
+		forgetKept();
+		Arrays.fill(cellStart, -1);
+		Arrays.fill(cellEnd, -1);
+		int column = 0;
+		int position = from;
+		while (position <= to) {
+			int start = position;
+			int end;
+			boolean quoted = position < to && data[position] == QUOTE;
+			if (quoted) {
+				start = position + 1;
+				int scan = start;
+				while (scan < to && !(data[scan] == QUOTE && (scan + 1 >= to || data[scan + 1] != QUOTE))) {
+					scan += data[scan] == QUOTE ? 2 : 1;
+				}
+				end = scan;
+				position = scan + 1;
+				while (position < to && data[position] != DELIMITER) {
+					position++;
+				}
+			} else {
+				while (position < to && data[position] != DELIMITER) {
+					position++;
+				}
+				end = position;
+			}
+			if (column < fieldOfColumn.length && fieldOfColumn[column] >= 0) {
+				int field = fieldOfColumn[column];
+				cellStart[field] = start;
+				cellEnd[field] = end;
+				cellQuoted[field] = quoted;
+			}
+			column++;
+			position++;
+		}
+		cellCount = column;
+	}
+
+	/**
+	 * Text of a String bean field as OpenCSV binds it: the cell as read, or
+	 * null when it is blank.
+	 */
+	String text(int field) {
+		if (trimStart(field) >= trimEnd(field)) {
+			return null;
+		}
+		String text = new String(data, cellStart[field], cellEnd[field] - cellStart[field], StandardCharsets.UTF_8);
+		return cellQuoted[field] ? text.replace("\"\"", "\"") : text;
+	}
+
+	/**
+	 * Integer cell backing a primitive bean field. A blank cell reads as 0;
+	 * text Integer.parseInt rejects, the "-" placeholder included, is
+	 * invalid, as it is for the OpenCSV binding.
+	 */
+	int intValue(int field) throws IplAnalyserException {
+		int start = trimStart(field);
+		int end = trimEnd(field);
+		if (start >= end) {
+			return 0;
+		}
+		long value = plainDigits(start, end, 9);
+		if (value != NOT_PLAIN) {
+			return (int) value;
+		}
+		try {
+			return Integer.parseInt(new String(data, start, end - start, StandardCharsets.UTF_8));
+		} catch (NumberFormatException e) {
+			throw invalid(field);
+		}
+	}
+
+	long longValue(int field) throws IplAnalyserException {
+		int start = trimStart(field);
+		int end = trimEnd(field);
+		if (start >= end) {
+			return 0;
+		}
+		long value = plainDigits(start, end, 18);
+		if (value != NOT_PLAIN) {
+			return value;
+		}
+		try {
+			return Long.parseLong(new String(data, start, end - start, StandardCharsets.UTF_8));
+		} catch (NumberFormatException e) {
+			throw invalid(field);
+		}
+	}
+
+	/**
+	 * Double cell backing a primitive bean field, read like
+	 * Double.parseDouble after trimming. A blank cell reads as 0.
+	 */
+	double doubleValue(int field) throws IplAnalyserException {
+		int start = trimStart(field);
+		int end = trimEnd(field);
+		if (start >= end) {
+			return 0;
+		}
+		boolean negative = data[start] == '-' || data[start] == '+';
+		int position = negative ? start + 1 : start;
+		negative = negative && data[start] == '-';
+		long mantissa = 0;
+		int digits = 0;
+		int scale = -1;
+		for (; position < end; position++) {
+			byte current = data[position];
+			if (current == '.' && scale < 0) {
+				scale = 0;
+			} else if (current >= '0' && current <= '9' && digits < 15) {
+				mantissa = mantissa * 10 + (current - '0');
+				digits++;
+				if (scale >= 0) {
+					scale++;
+				}
+			} else {
+				return slowDouble(field, start, end);
+			}
+		}
+		if (digits == 0) {
+			throw invalid(field);
+		}
+		double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Double cell backing a wrapper bean field, which binds a blank cell to
+	 * null. Such a cell is kept as NaN and written as null.
+	 */
+	double nullableDouble(int field) throws IplAnalyserException {
+		return trimStart(field) >= trimEnd(field) ? Double.NaN : doubleValue(field);
+	}
+
+	/**
+	 * Integer cell backing a String bean field, read like
+	 * {@link Cells#toInt}. Any text binds to such a field, so a cell never
+	 * fails; when the number does not give its text back, the text is kept
+	 * for {@link #keepTexts}.
+	 */
+	int intText(int field) {
+		int start = cellStart[field];
+		int end = cellEnd[field];
+		if (!cellQuoted[field]) {
+			if (isPlaceholder(start, end)) {
+				return Cells.MISSING;
+			}
+			long value = canonicalDigits(start, end, 9);
+			if (value != NOT_PLAIN) {
+				return (int) value;
+			}
+		}
+		return Cells.toInt(keep(field));
+	}
+
+	/**
+	 * Highest score cell, read like {@link Cells#toScore}, with its text
+	 * kept as for {@link #intText}.
+	 */
+	int score(int field) {
+		int start = cellStart[field];
+		int end = cellEnd[field];
+		if (!cellQuoted[field]) {
+			if (isPlaceholder(start, end)) {
+				return Cells.MISSING;
+			}
+			long value = canonicalDigits(start, end > start && data[end - 1] == '*' ? end - 1 : end, 9);
+			if (value != NOT_PLAIN) {
+				return (int) value;
+			}
+		}
+		return Cells.toScore(keep(field));
+	}
+
+	boolean isNotOut(int field) {
+		return cellEnd[field] > cellStart[field] && data[cellEnd[field] - 1] == '*';
+	}
+
+	/**
+	 * Overs cell as balls bowled, read like {@link Cells#toBalls}, with its
+	 * text kept as for {@link #intText}.
+	 */
+	int ballsBowled(int field) {
+		int start = cellStart[field];
+		int end = cellEnd[field];
+		if (!cellQuoted[field]) {
+			if (isPlaceholder(start, end)) {
+				return Cells.MISSING;
+			}
+			boolean partOver = end - start > 2 && data[end - 2] == '.' && data[end - 1] >= '1' && data[end - 1] <= '5';
+			long completed = canonicalDigits(start, partOver ? end - 2 : end, 8);
+			if (completed >= 0) {
+				return (int) completed * 6 + (partOver ? data[end - 1] - '0' : 0);
+			}
+		}
+		return Cells.toBalls(keep(field));
+	}
+
+	/**
+	 * Hands the texts kept while reading the current line to the table. The
+	 * parser's field numbers are the ordinals of the table's fields.
+	 */
+	void keepTexts(CellText texts, int row) {
+		if (!anyKept) {
+			return;
+		}
+		for (int field = 0; field < kept.length; field++) {
+			if (kept[field]) {
+				texts.put(row, field, keptText[field]);
+			}
+		}
+		forgetKept();
+	}
+
+	private String keep(int field) {
+		String text = text(field);
+		keptText[field] = text;
+		kept[field] = true;
+		anyKept = true;
+		return text;
+	}
+
+	private void forgetKept() {
+		if (anyKept) {
+			Arrays.fill(kept, false);
+			Arrays.fill(keptText, null);
+			anyKept = false;
+		}
+	}
+
+	/**
+	 * The value of an optional sign and up to maxDigits ASCII digits, or
+	 * NOT_PLAIN for any other text.
+	 */
+	private long plainDigits(int start, int end, int maxDigits) {
+		boolean negative = data[start] == '-';
+		int position = negative || data[start] == '+' ? start + 1 : start;
+		if (position == end || end - position > maxDigits) {
+			return NOT_PLAIN;
+		}
+		long value = 0;
+		for (; position < end; position++) {
+			int digit = data[position] - '0';
+			if (digit < 0 || digit > 9) {
+				return NOT_PLAIN;
+			}
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * The value of text that is exactly how {@link Cells} writes a number:
+	 * an optional minus and up to maxDigits digits without leading zeros.
+	 * Any other text, even with the same value, gives NOT_PLAIN.
+	 */
+	private long canonicalDigits(int start, int end, int maxDigits) {
+		int digits = end - (start < end && data[start] == '-' ? start + 1 : start);
+		if (digits < 1 || digits > maxDigits || data[end - digits] == '0' && (digits > 1 || end - digits > start)
+				|| data[start] == '+') {
+			return NOT_PLAIN;
+		}
+		return plainDigits(start, end, maxDigits);
+	}
+
+	private double slowDouble(int field, int start, int end) throws IplAnalyserException {
+		try {
+			return Double.parseDouble(new String(data, start, end - start, StandardCharsets.UTF_8));
+		} catch (NumberFormatException e) {
+			throw invalid(field);
+		}
+	}
+
+	private boolean isPlaceholder(int start, int end) {
+		return end - start == 1 && data[start] == '-';
+	}
+
+	private int trimStart(int field) {
+		int start = cellStart[field];
+		if (start < 0) {
+			return 0;
+		}
+		int end = cellEnd[field];
+		while (start < end && isSpace(data[start])) {
+			start++;
+		}
+		return start;
+	}
+
+	private int trimEnd(int field) {
+		int start = cellStart[field];
+		int end = cellEnd[field];
+		if (start < 0) {
+			return 0;
+		}
+		while (end > start && isSpace(data[end - 1])) {
+			end--;
+		}
+		return end;
+	}
+
+	private static boolean isSpace(byte value) {
+		return value >= 0 && value <= ' ';
+	}
+
+	IplAnalyserException invalid(int field) {
+		invalidField = field;
+		return new IplAnalyserException("Invalid " + fieldNames[field] + " value '" + text(field) + "' at line "
+				+ lineNumber, ExceptionType.INCORRECT_CLASS_TYPE);
+	}
+
+	private static int skipByteOrderMark(byte[] data, int from, int to) {
+		if (to - from >= 3 && (data[from] & 0xFF) == 0xEF && (data[from + 1] & 0xFF) == 0xBB
+				&& (data[from + 2] & 0xFF) == 0xBF) {
+			return from + 3;
+		}
+		return from;
+	}
+
+	private static int indexOfLineEnd(byte[] data, int from, int to) {
+		boolean quoted = false;
+		for (int position = from; position < to; position++) {
+			if (data[position] == QUOTE) {
+				quoted = !quoted;
+			} else if (!quoted && (data[position] == '\n' || data[position] == '\r')) {
+				return position;
+			}
+		}
+		return -1;
+	}
+
+	private static int lineEnd(byte[] data, int from, int to, boolean endOfInput) {
+		int lineEnd = indexOfLineEnd(data, from, to);
+		return lineEnd < 0 && endOfInput ? to : lineEnd;
+	}
+
+	private static int nextLine(byte[] data, int lineEnd, int to) {
+		if (lineEnd == to) {
+			return to;
+		}
+		if (data[lineEnd] == '\r' && lineEnd + 1 < to && data[lineEnd + 1] == '\n') {
+			return lineEnd + 2;
+		}
+		return lineEnd + 1;
+	}
+}
@@ -0,0 +1,105 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.cg.leagueanalysisproblem.IplMetrics.Phase;
+import com.cg.leagueanalysisproblem.IplMetrics.Span;
+
+/**
+ * Filter-then-rank over a dataset. Column bounds answer ranges that match
+ * no row or every row before any row is read. When the ranking's sort index
+ * is already cached, it is walked in order and stops after limit matches.
+ * Otherwise the most selective range on an indexed column picks the
+ * candidate rows by binary search, the remaining ranges are tested on those
+ * rows only, and just the survivors are sorted. Only that sort is recorded
+ * as a SORT phase.
+ */
+final class FilteredRanking {
+	private FilteredRanking() {
+	}
+
+	static <T> int[] rows(IplDataset<?> dataset, T columns, RangeFilter<T> filter, Object sortKey,
+			RowComparator comparator, int limit, IplMetrics metrics) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("k must not be negative: " + limit);
+		}
+		List<Range<T>> ranges = new ArrayList<>();
+		Range<T> driver = null;
+		for (Map.Entry<StatColumn<T>, double[]> entry : filter.ranges().entrySet()) {
+			Range<T> range = new Range<T>(entry.getKey(), entry.getValue()[0], entry.getValue()[1],
+					dataset.columnStats(entry.getKey(), columns));
+			if (range.stats.excludesAll(range.low, range.high)) {
+				return new int[0];
+			}
+			if (range.stats.includesAll(range.low, range.high)) {
+				continue;
+			}
+			ranges.add(range);
+			if (range.stats.isIndexed() && (driver == null || range.count() < driver.count())) {
+				driver = range;
+			}
+		}
+		int[] sortIndex = dataset.cachedSortIndex(sortKey);
+		if (sortIndex != null) {
+			return walk(sortIndex, columns, ranges, limit);
+		}
+		int[] candidates;
+		if (driver == null) {
+			candidates = new int[dataset.size()];
+			for (int row = 0; row < candidates.length; row++) {
+				candidates[row] = row;
+			}
+		} else {
+			candidates = driver.stats.rowsBetween(driver.low, driver.high);
+			Arrays.sort(candidates);
+			ranges.remove(driver);
+		}
+		int[] matches = walk(candidates, columns, ranges, Integer.MAX_VALUE);
+		Span sort = metrics.start(Phase.SORT);
+		IndexSort.sort(matches, comparator);
+		sort.stop(matches.length, 0);
+		return matches.length > limit ? Arrays.copyOf(matches, limit) : matches;
+	}
+
+	private static <T> int[] walk(int[] rows, T columns, List<Range<T>> ranges, int limit) {
+		int[] matches = new int[Math.min(rows.length, limit)];
+		int count = 0;
+		for (int i = 0; i < rows.length && count < matches.length; i++) {
+			if (accepts(rows[i], columns, ranges)) {
+				matches[count++] = rows[i];
+			}
+		}
+		return count == matches.length ? matches : Arrays.copyOf(matches, count);
+	}
+
+	private static <T> boolean accepts(int row, T columns, List<Range<T>> ranges) {
+		for (Range<T> range : ranges) {
+			double value = range.column.value(columns, row);
+			if (!(value >= range.low && value <= range.high)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static class Range<T> {
+		private final StatColumn<T> column;
+		private final double low;
+		private final double high;
+		private final ColumnStats stats;
+
+		Range(StatColumn<T> column, double low, double high, ColumnStats stats) {
+			this.column = column;
+			this.low = low;
+			this.high = high;
+			this.stats = stats;
+		}
+
+		int count() {
+			return stats.countBetween(low, high);
+		}
+	}
+}
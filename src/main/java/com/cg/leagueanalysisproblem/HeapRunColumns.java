@@ -0,0 +1,241 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link MostRunColumns} on the Java heap: one primitive array per numeric
+ * column, grown by doubling, and player names in a {@link PlayerDictionary}.
+ */
+final class HeapRunColumns extends MostRunColumns {
+	private PlayerDictionary players = new PlayerDictionary();
+	private int size;
+	private int[] pos;
+	private int[] player;
+	private int[] matches;
+	private int[] innings;
+	private int[] notOuts;
+	private long[] runs;
+	private int[] highestScore;
+	private boolean[] highestScoreNotOut;
+	private double[] avg;
+	private int[] ballsFaced;
+	private double[] strikeRate;
+	private int[] hundreds;
+	private int[] fifties;
+	private int[] fours;
+	private int[] sixes;
+
+	HeapRunColumns(int capacity) {
+		allocate(Math.max(capacity, 16));
+	}
+
+	HeapRunColumns(List<MostRun> records) {
+		this(records.size());
+		for (MostRun record : records) {
+			add(record);
+		}
+	}
+
+	private HeapRunColumns() {
+	}
+
+	@Override
+	void add(int pos, String player, int matches, int innings, int notOuts, long runs, int highestScore,
+			boolean highestScoreNotOut, double avg, int ballsFaced, double strikeRate, int hundreds, int fifties,
+			int fours, int sixes) {
+		int row = nextRow();
+		this.pos[row] = pos;
+		this.player[row] = players.encode(player);
+		this.matches[row] = matches;
+		this.innings[row] = innings;
+		this.notOuts[row] = notOuts;
+		this.runs[row] = runs;
+		this.highestScore[row] = highestScore;
+		this.highestScoreNotOut[row] = highestScoreNotOut;
+		this.avg[row] = avg;
+		this.ballsFaced[row] = ballsFaced;
+		this.strikeRate[row] = strikeRate;
+		this.hundreds[row] = hundreds;
+		this.fifties[row] = fifties;
+		this.fours[row] = fours;
+		this.sixes[row] = sixes;
+	}
+
+	@Override
+	void append(MostRunColumns source, int sourceRow) {
+		set(nextRow(), source, sourceRow);
+	}
+
+	@Override
+	void set(int row, MostRunColumns source, int sourceRow) {
+		pos[row] = source.pos(sourceRow);
+		player[row] = players.encode(source.player(sourceRow));
+		matches[row] = source.matches(sourceRow);
+		innings[row] = source.innings(sourceRow);
+		notOuts[row] = source.notOuts(sourceRow);
+		runs[row] = source.runs(sourceRow);
+		highestScore[row] = source.highestScore(sourceRow);
+		highestScoreNotOut[row] = source.highestScoreNotOut(sourceRow);
+		avg[row] = source.avg(sourceRow);
+		ballsFaced[row] = source.ballsFaced(sourceRow);
+		strikeRate[row] = source.strikeRate(sourceRow);
+		hundreds[row] = source.hundreds(sourceRow);
+		fifties[row] = source.fifties(sourceRow);
+		fours[row] = source.fours(sourceRow);
+		sixes[row] = source.sixes(sourceRow);
+		texts().copy(row, source.texts(), sourceRow);
+	}
+
+	@Override
+	void removeLast() {
+		texts().remove(--size);
+	}
+
+	@Override
+	void clear() {
+		size = 0;
+		players = new PlayerDictionary();
+		texts().clear();
+	}
+
+	static HeapRunColumns readFrom(ByteBuffer in) {
+		HeapRunColumns columns = new HeapRunColumns();
+		columns.size = in.getInt();
+		columns.pos = DatasetSnapshot.readInts(in, columns.size);
+		columns.player = DatasetSnapshot.readInts(in, columns.size);
+		columns.matches = DatasetSnapshot.readInts(in, columns.size);
+		columns.innings = DatasetSnapshot.readInts(in, columns.size);
+		columns.notOuts = DatasetSnapshot.readInts(in, columns.size);
+		columns.runs = DatasetSnapshot.readLongs(in, columns.size);
+		columns.highestScore = DatasetSnapshot.readInts(in, columns.size);
+		columns.highestScoreNotOut = DatasetSnapshot.readBooleans(in, columns.size);
+		columns.avg = DatasetSnapshot.readDoubles(in, columns.size);
+		columns.ballsFaced = DatasetSnapshot.readInts(in, columns.size);
+		columns.strikeRate = DatasetSnapshot.readDoubles(in, columns.size);
+		columns.hundreds = DatasetSnapshot.readInts(in, columns.size);
+		columns.fifties = DatasetSnapshot.readInts(in, columns.size);
+		columns.fours = DatasetSnapshot.readInts(in, columns.size);
+		columns.sixes = DatasetSnapshot.readInts(in, columns.size);
+		columns.players = DatasetSnapshot.readStrings(in, new PlayerDictionary());
+		columns.texts().readFrom(in);
+		return columns;
+	}
+
+	private int nextRow() {
+		if (size == pos.length) {
+			allocate(Math.max(16, size * 2));
+		}
+		return size++;
+	}
+
+	private void allocate(int capacity) {
+		pos = pos == null ? new int[capacity] : Arrays.copyOf(pos, capacity);
+		player = player == null ? new int[capacity] : Arrays.copyOf(player, capacity);
+		matches = matches == null ? new int[capacity] : Arrays.copyOf(matches, capacity);
+		innings = innings == null ? new int[capacity] : Arrays.copyOf(innings, capacity);
+		notOuts = notOuts == null ? new int[capacity] : Arrays.copyOf(notOuts, capacity);
+		runs = runs == null ? new long[capacity] : Arrays.copyOf(runs, capacity);
+		highestScore = highestScore == null ? new int[capacity] : Arrays.copyOf(highestScore, capacity);
+		highestScoreNotOut = highestScoreNotOut == null ? new boolean[capacity]
+				: Arrays.copyOf(highestScoreNotOut, capacity);
+		avg = avg == null ? new double[capacity] : Arrays.copyOf(avg, capacity);
+		ballsFaced = ballsFaced == null ? new int[capacity] : Arrays.copyOf(ballsFaced, capacity);
+		strikeRate = strikeRate == null ? new double[capacity] : Arrays.copyOf(strikeRate, capacity);
+		hundreds = hundreds == null ? new int[capacity] : Arrays.copyOf(hundreds, capacity);
+		fifties = fifties == null ? new int[capacity] : Arrays.copyOf(fifties, capacity);
+		fours = fours == null ? new int[capacity] : Arrays.copyOf(fours, capacity);
+		sixes = sixes == null ? new int[capacity] : Arrays.copyOf(sixes, capacity);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public PlayerDictionary getPlayers() {
+		return players;
+	}
+
+	@Override
+	public String player(int row) {
+		return players.decode(player[row]);
+	}
+
+	@Override
+	public int playerCode(int row) {
+		return player[row];
+	}
+
+	@Override
+	public int pos(int row) {
+		return pos[row];
+	}
+
+	@Override
+	public int matches(int row) {
+		return matches[row];
+	}
+
+	@Override
+	public int innings(int row) {
+		return innings[row];
+	}
+
+	@Override
+	public int notOuts(int row) {
+		return notOuts[row];
+	}
+
+	@Override
+	public long runs(int row) {
+		return runs[row];
+	}
+
+	@Override
+	public int highestScore(int row) {
+		return highestScore[row];
+	}
+
+	@Override
+	public boolean highestScoreNotOut(int row) {
+		return highestScoreNotOut[row];
+	}
+
+	@Override
+	public double avg(int row) {
+		return avg[row];
+	}
+
+	@Override
+	public int ballsFaced(int row) {
+		return ballsFaced[row];
+	}
+
+	@Override
+	public double strikeRate(int row) {
+		return strikeRate[row];
+	}
+
+	@Override
+	public int hundreds(int row) {
+		return hundreds[row];
+	}
+
+	@Override
+	public int fifties(int row) {
+		return fifties[row];
+	}
+
+	@Override
+	public int fours(int row) {
+		return fours[row];
+	}
+
+	@Override
+	public int sixes(int row) {
+		return sixes[row];
+	}
+}
@@ -0,0 +1,233 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link MostWicketColumns} on the Java heap: one primitive array per
+ * numeric column, grown by doubling, with player names and best-bowling
+ * figures in {@link PlayerDictionary}s.
+ */
+final class HeapWicketColumns extends MostWicketColumns {
+	private PlayerDictionary players = new PlayerDictionary();
+	private PlayerDictionary bestBowling = new PlayerDictionary();
+	private int size;
+	private int[] pos;
+	private int[] player;
+	private int[] matches;
+	private int[] innings;
+	private int[] ballsBowled;
+	private int[] runs;
+	private int[] wickets;
+	private int[] bbi;
+	private double[] avg;
+	private double[] economy;
+	private double[] strikeRate;
+	private int[] fourWickets;
+	private int[] fiveWickets;
+
+	HeapWicketColumns(int capacity) {
+		allocate(Math.max(capacity, 16));
+	}
+
+	HeapWicketColumns(List<MostWicket> records) {
+		this(records.size());
+		for (MostWicket record : records) {
+			add(record);
+		}
+	}
+
+	private HeapWicketColumns() {
+	}
+
+	@Override
+	void add(int pos, String player, int matches, int innings, int ballsBowled, int runs, int wickets, String bbi,
+			double avg, double economy, double strikeRate, int fourWickets, int fiveWickets) {
+		int row = nextRow();
+		this.pos[row] = pos;
+		this.player[row] = players.encode(player);
+		this.matches[row] = matches;
+		this.innings[row] = innings;
+		this.ballsBowled[row] = ballsBowled;
+		this.runs[row] = runs;
+		this.wickets[row] = wickets;
+		this.bbi[row] = bestBowling.encode(bbi);
+		this.avg[row] = avg;
+		this.economy[row] = economy;
+		this.strikeRate[row] = strikeRate;
+		this.fourWickets[row] = fourWickets;
+		this.fiveWickets[row] = fiveWickets;
+	}
+
+	@Override
+	void append(MostWicketColumns source, int sourceRow) {
+		set(nextRow(), source, sourceRow);
+	}
+
+	@Override
+	void set(int row, MostWicketColumns source, int sourceRow) {
+		pos[row] = source.pos(sourceRow);
+		player[row] = players.encode(source.player(sourceRow));
+		matches[row] = source.matches(sourceRow);
+		innings[row] = source.innings(sourceRow);
+		ballsBowled[row] = source.ballsBowled(sourceRow);
+		runs[row] = source.runs(sourceRow);
+		wickets[row] = source.wickets(sourceRow);
+		bbi[row] = bestBowling.encode(source.bbi(sourceRow));
+		avg[row] = source.avg(sourceRow);
+		economy[row] = source.economy(sourceRow);
+		strikeRate[row] = source.strikeRate(sourceRow);
+		fourWickets[row] = source.fourWickets(sourceRow);
+		fiveWickets[row] = source.fiveWickets(sourceRow);
+		texts().copy(row, source.texts(), sourceRow);
+	}
+
+	@Override
+	void removeLast() {
+		texts().remove(--size);
+	}
+
+	@Override
+	void clear() {
+		size = 0;
+		players = new PlayerDictionary();
+		bestBowling = new PlayerDictionary();
+		texts().clear();
+	}
+
+	static HeapWicketColumns readFrom(ByteBuffer in) {
+		HeapWicketColumns columns = new HeapWicketColumns();
+		columns.size = in.getInt();
+		columns.pos = DatasetSnapshot.readInts(in, columns.size);
+		columns.player = DatasetSnapshot.readInts(in, columns.size);
+		columns.matches = DatasetSnapshot.readInts(in, columns.size);
+		columns.innings = DatasetSnapshot.readInts(in, columns.size);
+		columns.ballsBowled = DatasetSnapshot.readInts(in, columns.size);
+		columns.runs = DatasetSnapshot.readInts(in, columns.size);
+		columns.wickets = DatasetSnapshot.readInts(in, columns.size);
+		columns.bbi = DatasetSnapshot.readInts(in, columns.size);
+		columns.avg = DatasetSnapshot.readDoubles(in, columns.size);
+		columns.economy = DatasetSnapshot.readDoubles(in, columns.size);
+		columns.strikeRate = DatasetSnapshot.readDoubles(in, columns.size);
+		columns.fourWickets = DatasetSnapshot.readInts(in, columns.size);
+		columns.fiveWickets = DatasetSnapshot.readInts(in, columns.size);
+		columns.players = DatasetSnapshot.readStrings(in, new PlayerDictionary());
+		columns.bestBowling = DatasetSnapshot.readStrings(in, new PlayerDictionary());
+		columns.texts().readFrom(in);
+		return columns;
+	}
+
+	private int nextRow() {
+		if (size == pos.length) {
+			allocate(Math.max(16, size * 2));
+		}
+		return size++;
+	}
+
+	private void allocate(int capacity) {
+		pos = pos == null ? new int[capacity] : Arrays.copyOf(pos, capacity);
+		player = player == null ? new int[capacity] : Arrays.copyOf(player, capacity);
+		matches = matches == null ? new int[capacity] : Arrays.copyOf(matches, capacity);
+		innings = innings == null ? new int[capacity] : Arrays.copyOf(innings, capacity);
+		ballsBowled = ballsBowled == null ? new int[capacity] : Arrays.copyOf(ballsBowled, capacity);
+		runs = runs == null ? new int[capacity] : Arrays.copyOf(runs, capacity);
+		wickets = wickets == null ? new int[capacity] : Arrays.copyOf(wickets, capacity);
+		bbi = bbi == null ? new int[capacity] : Arrays.copyOf(bbi, capacity);
+		avg = avg == null ? new double[capacity] : Arrays.copyOf(avg, capacity);
+		economy = economy == null ? new double[capacity] : Arrays.copyOf(economy, capacity);
+		strikeRate = strikeRate == null ? new double[capacity] : Arrays.copyOf(strikeRate, capacity);
+		fourWickets = fourWickets == null ? new int[capacity] : Arrays.copyOf(fourWickets, capacity);
+		fiveWickets = fiveWickets == null ? new int[capacity] : Arrays.copyOf(fiveWickets, capacity);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public PlayerDictionary getPlayers() {
+		return players;
+	}
+
+	@Override
+	public String player(int row) {
+		return players.decode(player[row]);
+	}
+
+	@Override
+	public int playerCode(int row) {
+		return player[row];
+	}
+
+	@Override
+	public int pos(int row) {
+		return pos[row];
+	}
+
+	@Override
+	public int matches(int row) {
+		return matches[row];
+	}
+
+	@Override
+	public int innings(int row) {
+		return innings[row];
+	}
+
+	@Override
+	public int ballsBowled(int row) {
+		return ballsBowled[row];
+	}
+
+	@Override
+	public int runs(int row) {
+		return runs[row];
+	}
+
+	@Override
+	public int wickets(int row) {
+		return wickets[row];
+	}
+
+	@Override
+	public String bbi(int row) {
+		return bestBowling.decode(bbi[row]);
+	}
+
+	@Override
+	int bbiCode(int row) {
+		return bbi[row];
+	}
+
+	@Override
+	PlayerDictionary getBestBowling() {
+		return bestBowling;
+	}
+
+	@Override
+	public double avg(int row) {
+		return avg[row];
+	}
+
+	@Override
+	public double economy(int row) {
+		return economy[row];
+	}
+
+	@Override
+	public double strikeRate(int row) {
+		return strikeRate[row];
+	}
+
+	@Override
+	public int fourWickets(int row) {
+		return fourWickets[row];
+	}
+
+	@Override
+	public int fiveWickets(int row) {
+		return fiveWickets[row];
+	}
+}
@@ -0,0 +1,130 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Stable merge sort of row positions. Equal rows keep file order, the same
+ * as the stream sorts this replaces. Sorts of a whole table precompute the
+ * comparator's keys first.
+ */
+final class IndexSort {
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private IndexSort() {
+	}
+
+	static int[] sortedIndex(int size, RowComparator comparator) {
+		int[] rows = new int[size];
+		for (int i = 0; i < size; i++) {
+			rows[i] = i;
+		}
+		sort(rows, comparator.precompute(size));
+		return rows;
+	}
+
+	/**
+	 * Returns the positions of the first k of size rows in comparator order,
+	 * ties in row order. Selects with a bounded binary heap of row positions
+	 * whose root is the worst row kept so far.
+	 */
+	static int[] topK(int size, RowComparator comparator, int k) {
+		int limit = Math.min(k, size);
+		if (limit == 0) {
+			return new int[0];
+		}
+		RowComparator keys = comparator.precompute(size);
+		int[] heap = new int[limit];
+		int heapSize = 0;
+		for (int row = 0; row < size; row++) {
+			if (heapSize < limit) {
+				heap[heapSize] = row;
+				siftUp(heap, heapSize++, keys);
+			} else if (compare(keys, row, heap[0]) < 0) {
+				heap[0] = row;
+				siftDown(heap, heapSize, keys);
+			}
+		}
+		int[] selected = new int[limit];
+		for (int i = limit - 1; i >= 0; i--) {
+			selected[i] = heap[0];
+			heap[0] = heap[--heapSize];
+			siftDown(heap, heapSize, keys);
+		}
+		return selected;
+	}
+
+	private static int compare(RowComparator comparator, int firstRow, int secondRow) {
+		int result = comparator.compare(firstRow, secondRow);
+		return result != 0 ? result : Integer.compare(firstRow, secondRow);
+	}
+
+	private static void siftUp(int[] heap, int index, RowComparator comparator) {
+		int row = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (compare(comparator, row, heap[parent]) <= 0) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = row;
+	}
+
+	private static void siftDown(int[] heap, int heapSize, RowComparator comparator) {
+		if (heapSize == 0) {
+			return;
+		}
+		int row = heap[0];
+		int index = 0;
+		int half = heapSize >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			if (child + 1 < heapSize && compare(comparator, heap[child + 1], heap[child]) > 0) {
+				child++;
+			}
+			if (compare(comparator, row, heap[child]) >= 0) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = row;
+	}
+
+	static void sort(int[] rows, RowComparator comparator) {
+		int[] buffer = rows.clone();
+		mergeSort(buffer, rows, 0, rows.length, comparator);
+	}
+
+	private static void mergeSort(int[] source, int[] target, int from, int to, RowComparator comparator) {
+		if (to - from <= INSERTION_SORT_THRESHOLD) {
+			insertionSort(target, from, to, comparator);
+			return;
+		}
+		int middle = (from + to) >>> 1;
+		mergeSort(target, source, from, middle, comparator);
+		mergeSort(target, source, middle, to, comparator);
+		if (comparator.compare(source[middle - 1], source[middle]) <= 0) {
+			System.arraycopy(source, from, target, from, to - from);
+			return;
+		}
+		for (int i = from, left = from, right = middle; i < to; i++) {
+			if (right >= to || left < middle && comparator.compare(source[left], source[right]) <= 0) {
+				target[i] = source[left++];
+			} else {
+				target[i] = source[right++];
+			}
+		}
+	}
+
+	private static void insertionSort(int[] rows, int from, int to, RowComparator comparator) {
+		for (int i = from + 1; i < to; i++) {
+			int row = rows[i];
+			int j = i - 1;
+			while (j >= from && comparator.compare(rows[j], row) > 0) {
+				rows[j + 1] = rows[j];
+				j--;
+			}
+			rows[j + 1] = row;
+		}
+	}
+}
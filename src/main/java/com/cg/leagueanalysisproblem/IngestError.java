@@ -0,0 +1,61 @@
+package com.cg.leagueanalysisproblem;
+
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+
+/**
+ * A factsheet line that was rejected while loading in skip or quarantine
+ * mode. Line numbers count from 1 for the header. The column is the header
+ * name of the offending cell, or null when the whole line is malformed.
+ */
+public class IngestError {
+	private final long lineNumber;
+	private final String column;
+	private final ExceptionType type;
+	private final String message;
+	private final String text;
+
+	IngestError(long lineNumber, String column, ExceptionType type, String message, String text) {
+		this.lineNumber = lineNumber;
+		this.column = column;
+		this.type = type;
+		this.message = message;
+		this.text = text;
+	}
+
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	public String getColumn() {
+		return column;
+	}
+
+	public ExceptionType getType() {
+		return type;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * The rejected line as it appeared in the file, when it was kept.
+	 */
+	public String getText() {
+		return text;
+	}
+
+	IngestError withLineNumber(long lineNumber) {
+		return new IngestError(lineNumber, column, type, message, text);
+	}
+
+	IngestError withText(String text) {
+		return new IngestError(lineNumber, column, type, message, text);
+	}
+
+	@Override
+	public String toString() {
+		return "IngestError [lineNumber=" + lineNumber + ", column=" + column + ", type=" + type + ", message="
+				+ message + "]";
+	}
+}
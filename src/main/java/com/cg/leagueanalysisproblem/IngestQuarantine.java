@@ -0,0 +1,61 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the lines rejected by a load to a file of their own, header first,
+ * so they can be corrected and loaded separately without reading the whole
+ * factsheet again. The source is re-read only up to the last rejected line,
+ * and only when a parser did not keep the rejected text.
+ */
+final class IngestQuarantine {
+	private IngestQuarantine() {
+	}
+
+	static Path quarantinePath(Path directory, Path source) {
+		return directory.resolve(source.getFileName() + ".rejected");
+	}
+
+	static void write(Path source, Path target, List<IngestError> errors) throws IOException {
+		Map<Long, String> missingText = new HashMap<>();
+		long lastLine = 1;
+		for (IngestError error : errors) {
+			if (error.getText() == null) {
+				missingText.put(error.getLineNumber(), null);
+				lastLine = Math.max(lastLine, error.getLineNumber());
+			}
+		}
+		String header;
+		try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+			header = reader.readLine();
+			for (long lineNumber = 2; lineNumber <= lastLine; lineNumber++) {
+				String line = reader.readLine();
+				if (line == null) {
+					break;
+				}
+				if (missingText.containsKey(lineNumber)) {
+					missingText.put(lineNumber, line);
+				}
+			}
+		}
+		try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+			writer.write(header == null ? "" : header);
+			writer.newLine();
+			for (IngestError error : errors) {
+				String text = error.getText() != null ? error.getText() : missingText.get(error.getLineNumber());
+				if (text != null) {
+					writer.write(text);
+					writer.newLine();
+				}
+			}
+		}
+	}
+}
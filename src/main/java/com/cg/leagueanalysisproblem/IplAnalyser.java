@@ -1,28 +1,53 @@
 package com.cg.leagueanalysisproblem;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import com.cg.builder.CSVBuilderFactory;
 import com.cg.builder.ICSVBuilder;
 import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+import com.cg.leagueanalysisproblem.IplMetrics.Phase;
+import com.cg.leagueanalysisproblem.IplMetrics.Span;
+import com.cg.leagueanalysisproblem.PartitionedDataset.Partition;
+import com.cg.leagueanalysisproblem.RankingSpec.Direction;
 import com.google.gson.Gson;
 import com.opencsv.bean.CsvToBean;
 import com.opencsv.bean.CsvToBeanBuilder;
 import com.opencsv.exceptions.CsvException;
 
 @SuppressWarnings("unused")
-public class IplAnalyser<E> {
+public class IplAnalyser<E> implements AutoCloseable {
 	public enum MostRunSortType {
 		AVERAGE, SR, BOUNDARIES, SR_AND_BOUNDARIES, AVERAGE_AND_SR, RUN_AND_AVERAGE, HUNDREDS_AND_AVERAGE, ZERO100AND50_AND_AVERAGE,
 	}
@@ -31,82 +56,745 @@ public class IplAnalyser<E> {
 		AVERAGE, SR, ECONOMY, SR_AND_5W_4W, AVERAGE_AND_SR, WICKETS_AND_AVG,
 	}
 
+	public enum AllRounderSortType {
+		BATTING_AND_BOWLING_AVERAGE, AVERAGE_AND_WICKETS, RUNS_AND_WICKETS,
+	}
+
+	public enum ParserMode {
+		FACTSHEET, OPENCSV,
+	}
+
+	/**
+	 * What a load does with a malformed line: fail, drop it and report it on
+	 * the dataset, or also copy it to a quarantine file.
+	 */
+	public enum IngestMode {
+		FAIL_FAST, SKIP, QUARANTINE,
+	}
+
+	/**
+	 * Where the rows of loaded batting and bowling tables live: in primitive
+	 * arrays on the heap, or in direct buffers outside it so very large
+	 * archives do not grow the heap or lengthen garbage collection.
+	 */
+	public enum Storage {
+		HEAP, OFF_HEAP,
+	}
+
+	private static final Map<MostRunSortType, RankingSpec<MostRunColumns>> RUN_RANKINGS = new EnumMap<>(
+			MostRunSortType.class);
+	private static final Map<MostWicketSortType, RankingSpec<MostWicketColumns>> WICKET_RANKINGS = new EnumMap<>(
+			MostWicketSortType.class);
+	private static final Map<AllRounderSortType, RankingSpec<AllRounderTable>> ALL_ROUNDER_RANKINGS = new EnumMap<>(
+			AllRounderSortType.class);
+
+	static {
+		RUN_RANKINGS.put(MostRunSortType.AVERAGE, RankingSpec.by(MostRunStat.AVG, Direction.DESC));
+		RUN_RANKINGS.put(MostRunSortType.SR, RankingSpec.by(MostRunStat.SR, Direction.DESC));
+		RUN_RANKINGS.put(MostRunSortType.BOUNDARIES, RankingSpec.by(MostRunStat.BOUNDARIES, Direction.DESC));
+		RUN_RANKINGS.put(MostRunSortType.SR_AND_BOUNDARIES,
+				RankingSpec.by(MostRunStat.SR, Direction.DESC).then(MostRunStat.BOUNDARIES, Direction.DESC));
+		RUN_RANKINGS.put(MostRunSortType.AVERAGE_AND_SR,
+				RankingSpec.by(MostRunStat.AVG, Direction.DESC).then(MostRunStat.SR, Direction.DESC));
+		RUN_RANKINGS.put(MostRunSortType.RUN_AND_AVERAGE,
+				RankingSpec.by(MostRunStat.RUNS, Direction.DESC).then(MostRunStat.AVG, Direction.DESC));
+		RUN_RANKINGS.put(MostRunSortType.HUNDREDS_AND_AVERAGE,
+				RankingSpec.by(MostRunStat.HUNDREDS, Direction.DESC).then(MostRunStat.AVG, Direction.DESC));
+		RUN_RANKINGS.put(MostRunSortType.ZERO100AND50_AND_AVERAGE,
+				RankingSpec.by(MostRunStat.CENTURIES, Direction.ASC).then(MostRunStat.AVG, Direction.DESC));
+		WICKET_RANKINGS.put(MostWicketSortType.AVERAGE, RankingSpec.by(MostWicketStat.AVG, Direction.DESC));
+		WICKET_RANKINGS.put(MostWicketSortType.SR, RankingSpec.by(MostWicketStat.SR, Direction.DESC));
+		WICKET_RANKINGS.put(MostWicketSortType.ECONOMY, RankingSpec.by(MostWicketStat.ECONOMY, Direction.ASC));
+		WICKET_RANKINGS.put(MostWicketSortType.SR_AND_5W_4W, RankingSpec.by(MostWicketStat.SR, Direction.DESC)
+				.then(MostWicketStat.FOUR_AND_FIVE_WICKETS, Direction.DESC));
+		WICKET_RANKINGS.put(MostWicketSortType.AVERAGE_AND_SR,
+				RankingSpec.by(MostWicketStat.AVG, Direction.DESC).then(MostWicketStat.SR, Direction.DESC));
+		WICKET_RANKINGS.put(MostWicketSortType.WICKETS_AND_AVG,
+				RankingSpec.by(MostWicketStat.WICKETS, Direction.DESC).then(MostWicketStat.AVG, Direction.DESC));
+		ALL_ROUNDER_RANKINGS.put(AllRounderSortType.BATTING_AND_BOWLING_AVERAGE, RankingSpec
+				.by(AllRounderStat.BATTING_AVG, Direction.DESC).then(AllRounderStat.BOWLING_AVG, Direction.ASC));
+		ALL_ROUNDER_RANKINGS.put(AllRounderSortType.AVERAGE_AND_WICKETS, RankingSpec
+				.by(AllRounderStat.BATTING_AVG, Direction.DESC).then(AllRounderStat.WICKETS, Direction.DESC));
+		ALL_ROUNDER_RANKINGS.put(AllRounderSortType.RUNS_AND_WICKETS,
+				RankingSpec.by(AllRounderStat.RUNS, Direction.DESC).then(AllRounderStat.WICKETS, Direction.DESC));
+	}
+
+	private static final int HEADER_READ_LIMIT = 1 << 16;
+
 	List<E> operationalList;
+	private final Map<String, IplDataset<?>> datasetCache = new ConcurrentHashMap<>();
+	private boolean eagerIndexing;
+	private ParserMode parserMode = ParserMode.FACTSHEET;
+	private IngestMode ingestMode = IngestMode.FAIL_FAST;
+	private Storage storage = Storage.HEAP;
+	private Path quarantineDirectory;
+	private int chunkSize = MappedFactsheetReader.DEFAULT_CHUNK_SIZE;
+	private Path snapshotDirectory;
+	private volatile ForkJoinPool pool = ForkJoinPool.commonPool();
+	private volatile IplDataset<AllRounder> allRounders;
+	private volatile RankingCache resultCache;
+	private final IplMetrics metrics = new IplMetrics();
+
+	public IplAnalyser() {
+		this(false);
+	}
+
+	public IplAnalyser(boolean eagerIndexing) {
+		this.eagerIndexing = eagerIndexing;
+	}
+
+	public boolean isEagerIndexing() {
+		return eagerIndexing;
+	}
+
+	public void setEagerIndexing(boolean eagerIndexing) {
+		this.eagerIndexing = eagerIndexing;
+	}
+
+	public ParserMode getParserMode() {
+		return parserMode;
+	}
+
+	public void setParserMode(ParserMode parserMode) {
+		this.parserMode = parserMode;
+	}
+
+	public IngestMode getIngestMode() {
+		return ingestMode;
+	}
+
+	public void setIngestMode(IngestMode ingestMode) {
+		this.ingestMode = ingestMode;
+	}
+
+	public Storage getStorage() {
+		return storage;
+	}
+
+	/**
+	 * Applies to factsheets read from now on. Datasets already in the cache
+	 * keep their storage until their source file changes.
+	 */
+	public void setStorage(Storage storage) {
+		this.storage = storage;
+	}
 
+	public String getQuarantineDirectory() {
+		return quarantineDirectory == null ? null : quarantineDirectory.toString();
+	}
+
+	/**
+	 * Where quarantined lines are written, as the source file name plus
+	 * ".rejected". By default they go next to the source file.
+	 */
+	public void setQuarantineDirectory(String quarantineDirectory) {
+		this.quarantineDirectory = quarantineDirectory == null ? null : Paths.get(quarantineDirectory);
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	public String getSnapshotDirectory() {
+		return snapshotDirectory == null ? null : snapshotDirectory.toString();
+	}
+
+	/**
+	 * Keeps a binary snapshot of every loaded factsheet in the directory and
+	 * opens it instead of the CSV while the source file is unchanged. Pass
+	 * null to turn snapshots off.
+	 */
+	public void setSnapshotDirectory(String snapshotDirectory) {
+		this.snapshotDirectory = snapshotDirectory == null ? null : Paths.get(snapshotDirectory);
+	}
+
+	public RankingCache getResultCache() {
+		return resultCache;
+	}
+
+	/**
+	 * Serves repeated rankings from the cache as stored JSON bytes instead of
+	 * sorting and serializing again. Pass null to turn caching off.
+	 */
+	public void setResultCache(RankingCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * Latency and throughput of this analyser's parse, bind, sort and
+	 * serialize phases. Recording can be switched off with
+	 * {@link IplMetrics#setEnabled(boolean)}.
+	 */
+	public IplMetrics getMetrics() {
+		return metrics;
+	}
+
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Runs parallel parsing and multi-file loads on a dedicated pool of the
+	 * given size instead of the common fork-join pool. A dedicated pool this
+	 * replaces is left running, since a load may still be using it; its idle
+	 * workers exit on their own. Only {@link #close()} shuts a pool down.
+	 */
+	public void setParallelism(int parallelism) {
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Shuts down the dedicated pool, once no load or sort is running on it,
+	 * and goes back to the common fork-join pool.
+	 */
+	@Override
+	public void close() {
+		ForkJoinPool previous = pool;
+		pool = ForkJoinPool.commonPool();
+		if (previous != ForkJoinPool.commonPool()) {
+			previous.shutdown();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
 	public int loadData(String mostrunsFilePath, Class classType) throws IplAnalyserException {
-		try (Reader reader = Files.newBufferedReader(Paths.get(mostrunsFilePath));) {
-			ICSVBuilder csvBuilder = CSVBuilderFactory.createCSVBuilder();
+		operationalList = (List<E>) loadDataset(mostrunsFilePath, classType).getRecords();
+		return operationalList.size();
+	}
+
+	public IplDataset<MostRun> loadRunDataset(String mostrunsFilePath) throws IplAnalyserException {
+		return loadDataset(mostrunsFilePath, MostRun.class);
+	}
+
+	public IplDataset<MostWicket> loadWicketDataset(String mostwicketsFilePath) throws IplAnalyserException {
+		return loadDataset(mostwicketsFilePath, MostWicket.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> IplDataset<T> loadDataset(String filePath, Class<T> classType) throws IplAnalyserException {
+		String cacheKey = classType.getName() + '@' + filePath;
+		IplDataset<T> dataset = (IplDataset<T>) datasetCache.get(cacheKey);
+		if (dataset == null || dataset.isStale()) {
+			RankingCache cache = resultCache;
+			if (dataset != null && cache != null) {
+				cache.invalidate(dataset);
+			}
+			dataset = readDataset(filePath, classType);
+			if (eagerIndexing) {
+				buildIndexes(dataset);
+			}
+			datasetCache.put(cacheKey, dataset);
+		}
+		return dataset;
+	}
+
+	/**
+	 * Loads several files concurrently, for example one per season, and
+	 * reports the combined throughput. Each file still goes through the
+	 * dataset cache.
+	 */
+	public <T> LoadReport<T> loadDatasets(Class<T> classType, List<String> filePaths) throws IplAnalyserException {
+		long start = System.nanoTime();
+		ForkJoinPool pool = this.pool;
+		List<ForkJoinTask<IplDataset<T>>> loads = new ArrayList<>();
+		for (String filePath : filePaths) {
+			loads.add(pool.submit(ForkJoinTask.adapt(() -> loadDataset(filePath, classType))));
+		}
+		List<IplDataset<T>> datasets = new ArrayList<>();
+		try {
+			for (ForkJoinTask<IplDataset<T>> load : loads) {
+				datasets.add(load.join());
+			}
+		} catch (RuntimeException e) {
+			throw IplAnalyserException.unwrap(e);
+		}
+		return new LoadReport<T>(datasets, System.nanoTime() - start);
+	}
+
+	/**
+	 * Lists the factsheets in a directory that match the glob, one partition
+	 * per league and season. Nothing is loaded until a partition is queried.
+	 */
+	public <T> PartitionedDataset<T> loadSeasons(String directory, String glob, Class<T> classType)
+			throws IplAnalyserException {
+		List<String> filePaths = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory), glob)) {
+			for (Path file : files) {
+				filePaths.add(file.toString());
+			}
+		} catch (IOException e) {
+			throw new IplAnalyserException("Invalid Directory For Season Data", ExceptionType.CENSUS_FILE_PROBLEM);
+		}
+		return new PartitionedDataset<T>(directory, classType, this, filePaths);
+	}
+
+	public PartitionedDataset<MostRun> loadRunSeasons(String directory) throws IplAnalyserException {
+		return loadSeasons(directory, "*MostRuns*.csv", MostRun.class);
+	}
+
+	public PartitionedDataset<MostWicket> loadWicketSeasons(String directory) throws IplAnalyserException {
+		return loadSeasons(directory, "*MostWkts*.csv", MostWicket.class);
+	}
+
+	/**
+	 * Career batting per player over the seasons in range, of one league or
+	 * of every league when league is null. Only partitions in range are
+	 * loaded, in parallel.
+	 */
+	public IplDataset<MostRun> careerRuns(PartitionedDataset<MostRun> seasons, String league, int fromSeason,
+			int toSeason) throws IplAnalyserException {
+		return CareerAggregator.careerRuns(seasons, seasons.partitions(league, fromSeason, toSeason), pool);
+	}
+
+	public IplDataset<MostWicket> careerWickets(PartitionedDataset<MostWicket> seasons, String league,
+			int fromSeason, int toSeason) throws IplAnalyserException {
+		return CareerAggregator.careerWickets(seasons, seasons.partitions(league, fromSeason, toSeason), pool);
+	}
+
+	private void buildIndexes(IplDataset<?> dataset) {
+		if (dataset.getClassType() == MostRun.class) {
+			MostRunColumns columns = (MostRunColumns) dataset.getTable();
+			for (RankingSpec<MostRunColumns> ranking : RUN_RANKINGS.values()) {
+				dataset.sortIndex(ranking, ranking.comparator(columns));
+			}
+		} else if (dataset.getClassType() == MostWicket.class) {
+			MostWicketColumns columns = (MostWicketColumns) dataset.getTable();
+			for (RankingSpec<MostWicketColumns> ranking : WICKET_RANKINGS.values()) {
+				dataset.sortIndex(ranking, ranking.comparator(columns));
+			}
+		}
+	}
+
+	private <T> IplDataset<T> readDataset(String filePath, Class<T> classType) throws IplAnalyserException {
+		BasicFileAttributes attributes;
+		try {
+			attributes = IplDataset.readAttributes(filePath);
+		} catch (IOException e) {
+			throw new IplAnalyserException("Invalid File Path For Code Data", ExceptionType.CENSUS_FILE_PROBLEM);
+		}
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		Path snapshot = null;
+		if (snapshotDirectory != null && TableType.of(classType) != null) {
+			snapshot = DatasetSnapshot.snapshotPath(snapshotDirectory, filePath);
+			Span parse = metrics.start(Phase.PARSE);
+			IplDataset<T> dataset = DatasetSnapshot.read(snapshot, filePath, classType, lastModified, attributes.size(),
+					storage == Storage.OFF_HEAP);
+			if (dataset != null) {
+				parse.stop(dataset.size(), attributes.size());
+				return dataset;
+			}
+		}
+		List<IngestError> errors = ingestMode == IngestMode.FAIL_FAST ? null : new ArrayList<>();
+		IplTable<T> table = null;
+		if (parserMode == ParserMode.FACTSHEET) {
+			Span parse = metrics.start(Phase.PARSE);
+			table = parseFactsheet(filePath, classType, errors);
+			if (table != null) {
+				parse.stop(table.size(), attributes.size());
+			}
+		}
+		if (table == null) {
+			Span parse = metrics.start(Phase.PARSE);
+			List<T> records = getCSVFileList(filePath, classType, errors);
+			parse.stop(records.size(), attributes.size());
+			Span bind = metrics.start(Phase.BIND);
+			table = toTable(records, classType);
+			bind.stop(table.size(), 0);
+		}
+		if (errors == null) {
+			errors = Collections.emptyList();
+		} else if (!errors.isEmpty() && ingestMode == IngestMode.QUARANTINE) {
+			quarantine(filePath, errors);
+		}
+		IplDataset<T> dataset = new IplDataset<T>(filePath, classType, lastModified, attributes.size(), table,
+				errors);
+		if (snapshot != null && errors.isEmpty()) {
 			try {
-				operationalList = csvBuilder.getCSVFileList(reader, classType);
-			} catch (CsvException e) {
-				throw new IplAnalyserException("Invalid class",
-						IplAnalyserException.ExceptionType.INCORRECT_CLASS_TYPE);
+				DatasetSnapshot.write(dataset, snapshot);
+			} catch (IOException e) {
+				// the snapshot is only a startup shortcut, the CSV load already succeeded
 			}
-			return operationalList.size();
+		}
+		return dataset;
+	}
+
+	private void quarantine(String filePath, List<IngestError> errors) throws IplAnalyserException {
+		Path source = Paths.get(filePath).toAbsolutePath();
+		Path target = quarantinePath(filePath);
+		try {
+			IngestQuarantine.write(source, target, errors);
+		} catch (IOException e) {
+			throw new IplAnalyserException("Cannot write quarantine file " + target, ExceptionType.CENSUS_FILE_PROBLEM);
+		}
+	}
+
+	private Path quarantinePath(String filePath) {
+		Path source = Paths.get(filePath).toAbsolutePath();
+		Path directory = quarantineDirectory != null ? quarantineDirectory : source.getParent();
+		return IngestQuarantine.quarantinePath(directory, source);
+	}
+
+	public void writeSnapshot(IplDataset<?> dataset, String snapshotPath) throws IplAnalyserException {
+		try {
+			DatasetSnapshot.write(dataset, Paths.get(snapshotPath));
 		} catch (IOException e) {
-			throw new IplAnalyserException("Invalid file location",
-					IplAnalyserException.ExceptionType.INCORRECT_CLASS_TYPE);
+			throw new IplAnalyserException("Cannot write snapshot " + snapshotPath, ExceptionType.CENSUS_FILE_PROBLEM);
 		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> IplTable<T> parseFactsheet(String filePath, Class<T> classType, List<IngestError> errors)
+			throws IplAnalyserException {
+		TableType<?, ?> type = TableType.of(classType);
+		if (type == null) {
+			return null;
+		}
+		return (IplTable<T>) ParallelFactsheetLoader.load(filePath, type, chunkSize, pool, errors,
+				storage == Storage.OFF_HEAP);
+	}
 
+	/**
+	 * Builds the sort indexes the dataset does not have yet, one fork-join
+	 * task per ranking, and waits for all of them.
+	 */
+	private <C> void sortInParallel(IplDataset<?> dataset, C columns, Collection<RankingSpec<C>> rankings)
+			throws IplAnalyserException {
+		Span sort = metrics.start(Phase.SORT);
+		ForkJoinPool pool = this.pool;
+		List<ForkJoinTask<int[]>> sorts = new ArrayList<>();
+		for (RankingSpec<C> ranking : rankings) {
+			if (dataset.cachedSortIndex(ranking) == null) {
+				sorts.add(pool.submit(
+						ForkJoinTask.adapt(() -> dataset.sortIndex(ranking, ranking.comparator(columns)))));
+			}
+		}
+		if (sorts.isEmpty()) {
+			return;
+		}
+		try {
+			for (ForkJoinTask<int[]> task : sorts) {
+				task.join();
+			}
+		} catch (RuntimeException e) {
+			throw IplAnalyserException.unwrap(e);
+		}
+		sort.stop((long) dataset.size() * sorts.size(), 0);
 	}
 
 	@SuppressWarnings("unchecked")
+	private <T> IplTable<T> toTable(List<T> records, Class<T> classType) {
+		TableType<T, ?> type = (TableType<T, ?>) TableType.of(classType);
+		return type == null ? new RecordTable<T>(records) : type.newTable(records, storage == Storage.OFF_HEAP);
+	}
+
 	public String sortRunData(String mostrunsFilePath, MostRunSortType type) throws IplAnalyserException {
-		List<MostRun> runList = (List<MostRun>) getCSVFileList(mostrunsFilePath, MostRun.class);
-		if (runList.size() == 0 || runList == null) {
+		return sortRunData(loadRunDataset(mostrunsFilePath), type);
+	}
+
+	public String sortRunData(IplDataset<MostRun> dataset, MostRunSortType type) throws IplAnalyserException {
+		return topK(dataset, type, dataset.size());
+	}
+
+	public String topK(String mostrunsFilePath, MostRunSortType type, int k) throws IplAnalyserException {
+		return topK(loadRunDataset(mostrunsFilePath), type, k);
+	}
+
+	public String topK(IplDataset<MostRun> dataset, MostRunSortType type, int k) throws IplAnalyserException {
+		StringWriter topJsonData = new StringWriter();
+		try {
+			writeRunData(dataset, type, k, topJsonData, EnumSet.allOf(MostRunField.class));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return topJsonData.toString();
+	}
+
+	public void writeRunData(String mostrunsFilePath, MostRunSortType type, Writer writer, MostRunField... fields)
+			throws IplAnalyserException, IOException {
+		IplDataset<MostRun> dataset = loadRunDataset(mostrunsFilePath);
+		writeRunData(dataset, type, dataset.size(), writer, projection(MostRunField.class, fields));
+	}
+
+	public void writeRunData(String mostrunsFilePath, MostRunSortType type, OutputStream out, MostRunField... fields)
+			throws IplAnalyserException, IOException {
+		IplDataset<MostRun> dataset = loadRunDataset(mostrunsFilePath);
+		Set<MostRunField> projection = projection(MostRunField.class, fields);
+		RankingSpec<MostRunColumns> ranking = runRanking(type);
+		RankingCache cache = resultCache;
+		if (cache != null) {
+			out.write(cachedRanking(cache, dataset, ranking, dataset.size(), projection,
+					writer -> renderRunData(dataset, ranking, dataset.size(), writer, projection)));
+			return;
+		}
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		renderRunData(dataset, ranking, dataset.size(), writer, projection);
+		writer.flush();
+	}
+
+	/**
+	 * Streams the first limit rows of a ranking to the writer as a JSON
+	 * array, with only the projected fields. Nothing is buffered beyond the
+	 * writer itself, unless a result cache is set.
+	 */
+	public void writeRunData(IplDataset<MostRun> dataset, MostRunSortType type, int limit, Writer writer,
+			Set<MostRunField> fields) throws IplAnalyserException, IOException {
+		writeRunData(dataset, runRanking(type), limit, writer, fields);
+	}
+
+	public void writeRunData(IplDataset<MostRun> dataset, RankingSpec<MostRunColumns> ranking, int limit, Writer writer,
+			Set<MostRunField> fields) throws IplAnalyserException, IOException {
+		RankingCache cache = resultCache;
+		if (cache != null) {
+			byte[] json = cachedRanking(cache, dataset, ranking, limit, fields,
+					cacheWriter -> renderRunData(dataset, ranking, limit, cacheWriter, fields));
+			writer.write(new String(json, StandardCharsets.UTF_8));
+			return;
+		}
+		renderRunData(dataset, ranking, limit, writer, fields);
+	}
+
+	/**
+	 * Returns the first limit rows of a ranking given as a spec, for example
+	 * one read from configuration with {@link RankingSpec#parse}.
+	 */
+	public String rankRunData(IplDataset<MostRun> dataset, RankingSpec<MostRunColumns> ranking, int limit)
+			throws IplAnalyserException {
+		StringWriter jsonData = new StringWriter();
+		try {
+			writeRunData(dataset, ranking, limit, jsonData, EnumSet.allOf(MostRunField.class));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return jsonData.toString();
+	}
+
+	/**
+	 * Answers several rankings of one dataset in a single response: a JSON
+	 * object with one array per sort type, in declaration order, each holding
+	 * the first limit rows with the projected fields. The file is loaded
+	 * once, the missing sort indexes are built in parallel on the analyser's
+	 * pool, and the arrays are then streamed to the writer one after another.
+	 */
+	public void writeRunRankings(IplDataset<MostRun> dataset, Set<MostRunSortType> types, int limit, Writer writer,
+			Set<MostRunField> fields) throws IplAnalyserException, IOException {
+		if (dataset.size() == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		Map<MostRunSortType, RankingSpec<MostRunColumns>> rankings = new EnumMap<>(MostRunSortType.class);
+		for (MostRunSortType type : types) {
+			rankings.put(type, runRanking(type));
+		}
+		sortInParallel(dataset, runColumns(dataset), rankings.values());
+		writer.write('{');
+		String separator = "";
+		for (Map.Entry<MostRunSortType, RankingSpec<MostRunColumns>> ranking : rankings.entrySet()) {
+			writer.write(separator + '"' + ranking.getKey().name() + "\":");
+			writeRunData(dataset, ranking.getValue(), limit, writer, fields);
+			separator = ",";
+		}
+		writer.write('}');
+	}
+
+	public String sortRunData(IplDataset<MostRun> dataset, Set<MostRunSortType> types) throws IplAnalyserException {
+		StringWriter jsonData = new StringWriter();
+		try {
+			writeRunRankings(dataset, types, dataset.size(), jsonData, EnumSet.allOf(MostRunField.class));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return jsonData.toString();
+	}
+
+	public String sortRunData(String mostrunsFilePath, Set<MostRunSortType> types) throws IplAnalyserException {
+		return sortRunData(loadRunDataset(mostrunsFilePath), types);
+	}
+
+	public void writeRunRankings(String mostrunsFilePath, Set<MostRunSortType> types, OutputStream out,
+			MostRunField... fields) throws IplAnalyserException, IOException {
+		IplDataset<MostRun> dataset = loadRunDataset(mostrunsFilePath);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writeRunRankings(dataset, types, dataset.size(), writer, projection(MostRunField.class, fields));
+		writer.flush();
+	}
+
+	private void renderRunData(IplDataset<MostRun> dataset, RankingSpec<MostRunColumns> ranking, int limit,
+			Writer writer, Set<MostRunField> fields) throws IplAnalyserException, IOException {
+		if (dataset.size() == 0) {
 			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
 		}
-		List<E> sortedList = null;
-		switch (type) {
-		case AVERAGE:
-			sortedList = (List<E>) runList.stream().sorted(Comparator.comparing(MostRun::getAvg).reversed())
-					.collect(Collectors.toList());
-			break;
-		case SR:
-			sortedList = (List<E>) runList.stream().sorted(Comparator.comparing(MostRun::getStrikeRate).reversed())
-					.collect(Collectors.toList());
-			break;
-		case BOUNDARIES:
-			sortedList = (List<E>) runList.stream().sorted(Comparator.comparing(MostRun::getBoundaries).reversed())
-					.collect(Collectors.toList());
-			break;
-		case SR_AND_BOUNDARIES:
-			sortedList = (List<E>) runList.stream().sorted(
-					Comparator.comparing(MostRun::getStrikeRate).thenComparing(MostRun::getBoundaries).reversed())
-					.collect(Collectors.toList());
-			break;
-		case AVERAGE_AND_SR:
-			sortedList = (List<E>) runList.stream()
-					.sorted(Comparator.comparing(MostRun::getAvg).thenComparing(MostRun::getStrikeRate).reversed())
-					.collect(Collectors.toList());
-			break;
-		case RUN_AND_AVERAGE:
-			sortedList = (List<E>) runList.stream()
-					.sorted(Comparator.comparing(MostRun::getRuns).thenComparing(MostRun::getAvg).reversed())
-					.collect(Collectors.toList());
-			break;
-		case HUNDREDS_AND_AVERAGE:
-			sortedList = (List<E>) runList.stream()
-					.sorted(Comparator.comparing(MostRun::getHundreds).thenComparing(MostRun::getAvg).reversed())
-					.collect(Collectors.toList());
-			break;
-		case ZERO100AND50_AND_AVERAGE:
-			sortedList = (List<E>) runList.stream()
-					.sorted(Comparator.comparing(MostRun::getCenturies).reversed().thenComparing(MostRun::getAvg).reversed())
-					.collect(Collectors.toList());
-			break;
-		default:
-			break;
-		}
-		String sortedJsonData = new Gson().toJson(sortedList);
-		return sortedJsonData;
-
-	}
-
-	private List<E> getCSVFileList(String mostrunsFilePath, Class classType) throws IplAnalyserException {
-		try (Reader reader = Files.newBufferedReader(Paths.get(mostrunsFilePath));) {
+		MostRunColumns columns = runColumns(dataset);
+		RowComparator comparator = ranking.comparator(columns);
+		int[] rows = rankedRows(dataset, ranking, comparator, limit);
+		int count = Math.min(limit, rows.length);
+		Span serialize = metrics.start(Phase.SERIALIZE);
+		RankingJsonWriter.write(writer, columns, rows, count, fields);
+		serialize.stop(count, 0);
+	}
+
+	/**
+	 * The first limit rows under the sort key, all of them when limit covers
+	 * the dataset. Only a ranking that has to be computed is recorded as a
+	 * sort; one read from the cached sort index is not.
+	 */
+	private int[] rankedRows(IplDataset<?> dataset, Object sortKey, RowComparator comparator, int limit) {
+		int[] sortIndex = dataset.cachedSortIndex(sortKey);
+		if (sortIndex != null) {
+			return limit >= sortIndex.length ? sortIndex : dataset.topKRows(sortKey, comparator, limit);
+		}
+		Span sort = metrics.start(Phase.SORT);
+		int[] rows = limit >= dataset.size() ? dataset.sortIndex(sortKey, comparator)
+				: dataset.topKRows(sortKey, comparator, limit);
+		sort.stop(dataset.size(), 0);
+		return rows;
+	}
+
+	/**
+	 * Ranks only the rows that pass the filter, for example at least 10
+	 * innings and a strike rate above 150 sorted by boundaries, and returns
+	 * the first limit of them.
+	 */
+	public String filterRunData(IplDataset<MostRun> dataset, RangeFilter<MostRunColumns> filter,
+			MostRunSortType type, int limit) throws IplAnalyserException {
+		return filterRunData(dataset, filter, runRanking(type), limit);
+	}
+
+	public String filterRunData(IplDataset<MostRun> dataset, RangeFilter<MostRunColumns> filter,
+			RankingSpec<MostRunColumns> ranking, int limit) throws IplAnalyserException {
+		if (dataset.size() == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		MostRunColumns columns = runColumns(dataset);
+		int[] rows = FilteredRanking.rows(dataset, columns, filter, ranking, ranking.comparator(columns), limit,
+				metrics);
+		return toJson(columns, rows, EnumSet.allOf(MostRunField.class));
+	}
+
+	/**
+	 * Returns the one-based rank of the player under the sort type, the
+	 * position it has in sortRunData. The first lookup per sort type builds
+	 * the player index and the inverse of the sort index; every later one is
+	 * a hash lookup and an array read. A player listed twice ranks by the
+	 * first listing.
+	 */
+	public int rankOf(IplDataset<MostRun> dataset, String player, MostRunSortType type) throws IplAnalyserException {
+		MostRunColumns columns = runColumns(dataset);
+		RankingSpec<MostRunColumns> ranking = runRanking(type);
+		return dataset.rankIndex(ranking, ranking.comparator(columns))[runRow(dataset, columns, player)] + 1;
+	}
+
+	public int rankOf(String mostrunsFilePath, String player, MostRunSortType type) throws IplAnalyserException {
+		return rankOf(loadRunDataset(mostrunsFilePath), player, type);
+	}
+
+	/**
+	 * Returns the rows ranked up to n places above and below the player, as a
+	 * JSON array in rank order. Read straight from the cached sort index.
+	 */
+	public String neighbours(IplDataset<MostRun> dataset, String player, MostRunSortType type, int n)
+			throws IplAnalyserException {
+		if (n < 0) {
+			throw new IllegalArgumentException("n must not be negative: " + n);
+		}
+		MostRunColumns columns = runColumns(dataset);
+		RankingSpec<MostRunColumns> ranking = runRanking(type);
+		RowComparator comparator = ranking.comparator(columns);
+		int rank = dataset.rankIndex(ranking, comparator)[runRow(dataset, columns, player)];
+		int[] sortIndex = dataset.sortIndex(ranking, comparator);
+		int[] rows = Arrays.copyOfRange(sortIndex, Math.max(0, rank - n),
+				(int) Math.min(sortIndex.length, rank + n + 1L));
+		return toJson(columns, rows, EnumSet.allOf(MostRunField.class));
+	}
+
+	private static int runRow(IplDataset<MostRun> dataset, MostRunColumns columns, String player)
+			throws IplAnalyserException {
+		int row = dataset.playerIndex(columns.getPlayers(), columns::playerCode).rowOf(player);
+		if (row < 0) {
+			throw new IplAnalyserException("Unknown Player " + player, ExceptionType.UNKNOWN_PLAYER);
+		}
+		return row;
+	}
+
+	public String filterRunData(String mostrunsFilePath, RangeFilter<MostRunColumns> filter, MostRunSortType type)
+			throws IplAnalyserException {
+		IplDataset<MostRun> dataset = loadRunDataset(mostrunsFilePath);
+		return filterRunData(dataset, filter, type, dataset.size());
+	}
+
+	/**
+	 * Count, mean, variance, quantiles and histograms of every numeric
+	 * batting column, built once per dataset and cached with it.
+	 */
+	public TableSummary<MostRunColumns> summarizeRunData(IplDataset<MostRun> dataset) {
+		return dataset.summary(MostRunStat.values(), runColumns(dataset));
+	}
+
+	/**
+	 * Summarizes the factsheet while it is read, keeping only the current
+	 * batch of rows, so the file is never loaded as a dataset.
+	 */
+	public TableSummary<MostRunColumns> summarizeRunData(String mostrunsFilePath) throws IplAnalyserException {
+		TableSummary<MostRunColumns> summary = TableSummary.of(MostRunStat.values());
+		streamRunData(mostrunsFilePath, summary::add);
+		return summary;
+	}
+
+	/**
+	 * Summarizes each selected season on its own and merges the results, so
+	 * memory stays bounded by one batch of rows and the sketches.
+	 */
+	public TableSummary<MostRunColumns> summarizeRunData(PartitionedDataset<MostRun> seasons, String league,
+			int fromSeason, int toSeason) throws IplAnalyserException {
+		TableSummary<MostRunColumns> summary = TableSummary.of(MostRunStat.values());
+		for (Partition<MostRun> partition : seasons.partitions(league, fromSeason, toSeason)) {
+			summary = summary.merge(summarizeRunData(partition.getFilePath()));
+		}
+		return summary;
+	}
+
+	static MostRunColumns runColumns(IplDataset<MostRun> dataset) {
+		return (MostRunColumns) dataset.getTable();
+	}
+
+	/**
+	 * The ranking spec behind a batting sort type.
+	 */
+	public static RankingSpec<MostRunColumns> runRanking(MostRunSortType type) {
+		return RUN_RANKINGS.get(type);
+	}
+
+	static RowComparator runComparator(MostRunColumns columns, MostRunSortType type) {
+		return runRanking(type).comparator(columns);
+	}
+
+	/**
+	 * Binds the file with OpenCSV after checking its header. Failing fast,
+	 * the first bad row fails the load; otherwise rows that do not bind are
+	 * left out and reported in errors.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> List<T> getCSVFileList(String mostrunsFilePath, Class<T> classType, List<IngestError> errors)
+			throws IplAnalyserException {
+		try (BufferedReader reader = Files.newBufferedReader(Paths.get(mostrunsFilePath));) {
+			checkHeader(reader, classType);
+			if (errors != null) {
+				CsvToBean<T> csvToBean = new CsvToBeanBuilder<T>(reader)
+						.withMappingStrategy(new ColumnMappingStrategy<T>(classType))
+						.withIgnoreLeadingWhiteSpace(true).withThrowExceptions(false).build();
+				List<T> csvList = csvToBean.parse();
+				for (CsvException e : csvToBean.getCapturedExceptions()) {
+					errors.add(ColumnMappingStrategy.ingestError(e));
+				}
+				return csvList;
+			}
 			ICSVBuilder csvBuilder = CSVBuilderFactory.createCSVBuilder();
-			List<E> csvList = null;
+			List<T> csvList = null;
 			try {
 				csvList = csvBuilder.getCSVFileList(reader, classType);
 			} catch (CsvException e) {
@@ -118,46 +806,426 @@ public class IplAnalyser<E> {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Reads the header line ahead of OpenCSV and validates it like the
+	 * factsheet parser would, then rewinds the reader.
+	 */
+	private static void checkHeader(BufferedReader reader, Class<?> classType)
+			throws IplAnalyserException, IOException {
+		reader.mark(HEADER_READ_LIMIT);
+		String header = reader.readLine();
+		if (header == null) {
+			throw new IplAnalyserException("Empty Factsheet", ExceptionType.NO_DATA);
+		}
+		TableType<?, ?> type = TableType.of(classType);
+		if (type != null) {
+			byte[] bytes = header.getBytes(StandardCharsets.UTF_8);
+			type.newParser(1).mapHeader(bytes, 0, bytes.length);
+		}
+		reader.reset();
+	}
+
 	public String sortWicketData(String mostwicketsFilePath, MostWicketSortType type) throws IplAnalyserException {
-		List<MostWicket> wicketList = (List<MostWicket>) getCSVFileList(mostwicketsFilePath, MostWicket.class);
-		if (wicketList.size() == 0 || wicketList == null) {
+		return sortWicketData(loadWicketDataset(mostwicketsFilePath), type);
+	}
+
+	public String sortWicketData(IplDataset<MostWicket> dataset, MostWicketSortType type) throws IplAnalyserException {
+		return topK(dataset, type, dataset.size());
+	}
+
+	public String topK(String mostwicketsFilePath, MostWicketSortType type, int k) throws IplAnalyserException {
+		return topK(loadWicketDataset(mostwicketsFilePath), type, k);
+	}
+
+	public String topK(IplDataset<MostWicket> dataset, MostWicketSortType type, int k) throws IplAnalyserException {
+		StringWriter topJsonData = new StringWriter();
+		try {
+			writeWicketData(dataset, type, k, topJsonData, EnumSet.allOf(MostWicketField.class));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return topJsonData.toString();
+	}
+
+	public void writeWicketData(String mostwicketsFilePath, MostWicketSortType type, Writer writer,
+			MostWicketField... fields) throws IplAnalyserException, IOException {
+		IplDataset<MostWicket> dataset = loadWicketDataset(mostwicketsFilePath);
+		writeWicketData(dataset, type, dataset.size(), writer, projection(MostWicketField.class, fields));
+	}
+
+	public void writeWicketData(String mostwicketsFilePath, MostWicketSortType type, OutputStream out,
+			MostWicketField... fields) throws IplAnalyserException, IOException {
+		IplDataset<MostWicket> dataset = loadWicketDataset(mostwicketsFilePath);
+		Set<MostWicketField> projection = projection(MostWicketField.class, fields);
+		RankingSpec<MostWicketColumns> ranking = wicketRanking(type);
+		RankingCache cache = resultCache;
+		if (cache != null) {
+			out.write(cachedRanking(cache, dataset, ranking, dataset.size(), projection,
+					writer -> renderWicketData(dataset, ranking, dataset.size(), writer, projection)));
+			return;
+		}
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		renderWicketData(dataset, ranking, dataset.size(), writer, projection);
+		writer.flush();
+	}
+
+	public void writeWicketData(IplDataset<MostWicket> dataset, MostWicketSortType type, int limit, Writer writer,
+			Set<MostWicketField> fields) throws IplAnalyserException, IOException {
+		writeWicketData(dataset, wicketRanking(type), limit, writer, fields);
+	}
+
+	public void writeWicketData(IplDataset<MostWicket> dataset, RankingSpec<MostWicketColumns> ranking, int limit,
+			Writer writer, Set<MostWicketField> fields) throws IplAnalyserException, IOException {
+		RankingCache cache = resultCache;
+		if (cache != null) {
+			byte[] json = cachedRanking(cache, dataset, ranking, limit, fields,
+					cacheWriter -> renderWicketData(dataset, ranking, limit, cacheWriter, fields));
+			writer.write(new String(json, StandardCharsets.UTF_8));
+			return;
+		}
+		renderWicketData(dataset, ranking, limit, writer, fields);
+	}
+
+	/**
+	 * Returns the first limit rows of a ranking given as a spec, for example
+	 * one read from configuration with {@link RankingSpec#parse}.
+	 */
+	public String rankWicketData(IplDataset<MostWicket> dataset, RankingSpec<MostWicketColumns> ranking, int limit)
+			throws IplAnalyserException {
+		StringWriter jsonData = new StringWriter();
+		try {
+			writeWicketData(dataset, ranking, limit, jsonData, EnumSet.allOf(MostWicketField.class));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return jsonData.toString();
+	}
+
+	public void writeWicketRankings(IplDataset<MostWicket> dataset, Set<MostWicketSortType> types, int limit,
+			Writer writer, Set<MostWicketField> fields) throws IplAnalyserException, IOException {
+		if (dataset.size() == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		Map<MostWicketSortType, RankingSpec<MostWicketColumns>> rankings = new EnumMap<>(MostWicketSortType.class);
+		for (MostWicketSortType type : types) {
+			rankings.put(type, wicketRanking(type));
+		}
+		sortInParallel(dataset, wicketColumns(dataset), rankings.values());
+		writer.write('{');
+		String separator = "";
+		for (Map.Entry<MostWicketSortType, RankingSpec<MostWicketColumns>> ranking : rankings.entrySet()) {
+			writer.write(separator + '"' + ranking.getKey().name() + "\":");
+			writeWicketData(dataset, ranking.getValue(), limit, writer, fields);
+			separator = ",";
+		}
+		writer.write('}');
+	}
+
+	public String sortWicketData(IplDataset<MostWicket> dataset, Set<MostWicketSortType> types)
+			throws IplAnalyserException {
+		StringWriter jsonData = new StringWriter();
+		try {
+			writeWicketRankings(dataset, types, dataset.size(), jsonData, EnumSet.allOf(MostWicketField.class));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return jsonData.toString();
+	}
+
+	public String sortWicketData(String mostwicketsFilePath, Set<MostWicketSortType> types)
+			throws IplAnalyserException {
+		return sortWicketData(loadWicketDataset(mostwicketsFilePath), types);
+	}
+
+	public void writeWicketRankings(String mostwicketsFilePath, Set<MostWicketSortType> types, OutputStream out,
+			MostWicketField... fields) throws IplAnalyserException, IOException {
+		IplDataset<MostWicket> dataset = loadWicketDataset(mostwicketsFilePath);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writeWicketRankings(dataset, types, dataset.size(), writer, projection(MostWicketField.class, fields));
+		writer.flush();
+	}
+
+	private void renderWicketData(IplDataset<MostWicket> dataset, RankingSpec<MostWicketColumns> ranking, int limit,
+			Writer writer, Set<MostWicketField> fields) throws IplAnalyserException, IOException {
+		if (dataset.size() == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		MostWicketColumns columns = wicketColumns(dataset);
+		RowComparator comparator = ranking.comparator(columns);
+		int[] rows = rankedRows(dataset, ranking, comparator, limit);
+		int count = Math.min(limit, rows.length);
+		Span serialize = metrics.start(Phase.SERIALIZE);
+		RankingJsonWriter.write(writer, columns, rows, count, fields);
+		serialize.stop(count, 0);
+	}
+
+	public IplDataset<AllRounder> loadAllRounderDataset(String mostrunsFilePath, String mostwicketsFilePath)
+			throws IplAnalyserException {
+		return joinAllRounders(loadRunDataset(mostrunsFilePath), loadWicketDataset(mostwicketsFilePath));
+	}
+
+	/**
+	 * Joins the batting and bowling datasets on PLAYER. The last join is
+	 * cached and reused, with its sort indexes, for as long as both inputs
+	 * are the same loaded datasets.
+	 */
+	public IplDataset<AllRounder> joinAllRounders(IplDataset<MostRun> batting, IplDataset<MostWicket> bowling) {
+		IplDataset<AllRounder> joined = allRounders;
+		if (joined == null || !((AllRounderTable) joined.getTable()).joins(batting.getTable(), bowling.getTable())) {
+			AllRounderTable table = AllRounderTable.join(runColumns(batting), wicketColumns(bowling));
+			joined = new IplDataset<AllRounder>(batting.getFilePath() + File.pathSeparator + bowling.getFilePath(),
+					AllRounder.class, Math.max(batting.getLastModified(), bowling.getLastModified()),
+					batting.getFileSize() + bowling.getFileSize(), table);
+			allRounders = joined;
+		}
+		return joined;
+	}
+
+	public String sortAllRounderData(String mostrunsFilePath, String mostwicketsFilePath, AllRounderSortType type)
+			throws IplAnalyserException {
+		return sortAllRounderData(loadAllRounderDataset(mostrunsFilePath, mostwicketsFilePath), type);
+	}
+
+	public String sortAllRounderData(IplDataset<AllRounder> dataset, AllRounderSortType type)
+			throws IplAnalyserException {
+		return topK(dataset, type, dataset.size());
+	}
+
+	public String topK(IplDataset<AllRounder> dataset, AllRounderSortType type, int k) throws IplAnalyserException {
+		return rankAllRounderData(dataset, allRounderRanking(type), k);
+	}
+
+	/**
+	 * Returns the first limit all-rounders of a ranking given as a spec over
+	 * {@link AllRounderStat} columns.
+	 */
+	public String rankAllRounderData(IplDataset<AllRounder> dataset, RankingSpec<AllRounderTable> ranking, int limit)
+			throws IplAnalyserException {
+		if (dataset.size() == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		RowComparator comparator = ranking.comparator((AllRounderTable) dataset.getTable());
+		int[] rows = rankedRows(dataset, ranking, comparator, limit);
+		Span serialize = metrics.start(Phase.SERIALIZE);
+		String json = RankingJsonWriter.GSON.toJson(dataset.inOrder(rows));
+		serialize.stop(rows.length, json.length());
+		return json;
+	}
+
+	/**
+	 * The ranking spec behind an all-rounder sort type.
+	 */
+	public static RankingSpec<AllRounderTable> allRounderRanking(AllRounderSortType type) {
+		return ALL_ROUNDER_RANKINGS.get(type);
+	}
+
+	public String filterWicketData(IplDataset<MostWicket> dataset, RangeFilter<MostWicketColumns> filter,
+			MostWicketSortType type, int limit) throws IplAnalyserException {
+		return filterWicketData(dataset, filter, wicketRanking(type), limit);
+	}
+
+	public String filterWicketData(IplDataset<MostWicket> dataset, RangeFilter<MostWicketColumns> filter,
+			RankingSpec<MostWicketColumns> ranking, int limit) throws IplAnalyserException {
+		if (dataset.size() == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		MostWicketColumns columns = wicketColumns(dataset);
+		int[] rows = FilteredRanking.rows(dataset, columns, filter, ranking, ranking.comparator(columns), limit,
+				metrics);
+		return toJson(columns, rows, EnumSet.allOf(MostWicketField.class));
+	}
+
+	public int rankOf(IplDataset<MostWicket> dataset, String player, MostWicketSortType type)
+			throws IplAnalyserException {
+		MostWicketColumns columns = wicketColumns(dataset);
+		RankingSpec<MostWicketColumns> ranking = wicketRanking(type);
+		return dataset.rankIndex(ranking, ranking.comparator(columns))[wicketRow(dataset, columns, player)] + 1;
+	}
+
+	public int rankOf(String mostwicketsFilePath, String player, MostWicketSortType type) throws IplAnalyserException {
+		return rankOf(loadWicketDataset(mostwicketsFilePath), player, type);
+	}
+
+	public String neighbours(IplDataset<MostWicket> dataset, String player, MostWicketSortType type, int n)
+			throws IplAnalyserException {
+		if (n < 0) {
+			throw new IllegalArgumentException("n must not be negative: " + n);
+		}
+		MostWicketColumns columns = wicketColumns(dataset);
+		RankingSpec<MostWicketColumns> ranking = wicketRanking(type);
+		RowComparator comparator = ranking.comparator(columns);
+		int rank = dataset.rankIndex(ranking, comparator)[wicketRow(dataset, columns, player)];
+		int[] sortIndex = dataset.sortIndex(ranking, comparator);
+		int[] rows = Arrays.copyOfRange(sortIndex, Math.max(0, rank - n),
+				(int) Math.min(sortIndex.length, rank + n + 1L));
+		return toJson(columns, rows, EnumSet.allOf(MostWicketField.class));
+	}
+
+	private static int wicketRow(IplDataset<MostWicket> dataset, MostWicketColumns columns, String player)
+			throws IplAnalyserException {
+		int row = dataset.playerIndex(columns.getPlayers(), columns::playerCode).rowOf(player);
+		if (row < 0) {
+			throw new IplAnalyserException("Unknown Player " + player, ExceptionType.UNKNOWN_PLAYER);
+		}
+		return row;
+	}
+
+	public String filterWicketData(String mostwicketsFilePath, RangeFilter<MostWicketColumns> filter,
+			MostWicketSortType type) throws IplAnalyserException {
+		IplDataset<MostWicket> dataset = loadWicketDataset(mostwicketsFilePath);
+		return filterWicketData(dataset, filter, type, dataset.size());
+	}
+
+	public TableSummary<MostWicketColumns> summarizeWicketData(IplDataset<MostWicket> dataset) {
+		return dataset.summary(MostWicketStat.values(), wicketColumns(dataset));
+	}
+
+	public TableSummary<MostWicketColumns> summarizeWicketData(String mostwicketsFilePath)
+			throws IplAnalyserException {
+		TableSummary<MostWicketColumns> summary = TableSummary.of(MostWicketStat.values());
+		streamWicketData(mostwicketsFilePath, summary::add);
+		return summary;
+	}
+
+	public TableSummary<MostWicketColumns> summarizeWicketData(PartitionedDataset<MostWicket> seasons,
+			String league, int fromSeason, int toSeason) throws IplAnalyserException {
+		TableSummary<MostWicketColumns> summary = TableSummary.of(MostWicketStat.values());
+		for (Partition<MostWicket> partition : seasons.partitions(league, fromSeason, toSeason)) {
+			summary = summary.merge(summarizeWicketData(partition.getFilePath()));
+		}
+		return summary;
+	}
+
+	private <T> String toJson(T columns, int[] rows, Set<? extends ColumnField<T>> fields) {
+		StringWriter jsonData = new StringWriter();
+		Span serialize = metrics.start(Phase.SERIALIZE);
+		try {
+			RankingJsonWriter.write(jsonData, columns, rows, rows.length, fields);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		serialize.stop(rows.length, jsonData.getBuffer().length());
+		return jsonData.toString();
+	}
+
+	/**
+	 * Returns the cached JSON of a ranking, rendering and storing it on a
+	 * miss. Failed renders are not cached.
+	 */
+	private static byte[] cachedRanking(RankingCache cache, IplDataset<?> dataset, Object type, int limit,
+			Set<? extends Enum<?>> fields, RankingRenderer renderer) throws IplAnalyserException, IOException {
+		RankingCache.Key key = RankingCache.key(dataset, type, limit, fields);
+		byte[] json = cache.get(key);
+		if (json == null) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+			renderer.render(writer);
+			writer.flush();
+			json = buffer.toByteArray();
+			cache.put(key, json);
+		}
+		return json;
+	}
+
+	private interface RankingRenderer {
+		void render(Writer writer) throws IplAnalyserException, IOException;
+	}
+
+	private static <F extends Enum<F>> Set<F> projection(Class<F> fieldType, F[] fields) {
+		if (fields.length == 0) {
+			return EnumSet.allOf(fieldType);
+		}
+		return EnumSet.copyOf(Arrays.asList(fields));
+	}
+
+	public long streamRunData(String mostrunsFilePath, RowHandler<MostRunColumns> handler)
+			throws IplAnalyserException {
+		return streamRunData(mostrunsFilePath, handler, new ArrayList<>());
+	}
+
+	/**
+	 * Streams the rows to the handler. Unless the ingest mode fails fast, a
+	 * malformed line is skipped, added to errors and, with quarantine, copied
+	 * to the quarantine file, so one bad line does not end the pass.
+	 */
+	public long streamRunData(String mostrunsFilePath, RowHandler<MostRunColumns> handler, List<IngestError> errors)
+			throws IplAnalyserException {
+		return stream(mostrunsFilePath, TableType.RUNS, handler, errors);
+	}
+
+	public long streamWicketData(String mostwicketsFilePath, RowHandler<MostWicketColumns> handler)
+			throws IplAnalyserException {
+		return streamWicketData(mostwicketsFilePath, handler, new ArrayList<>());
+	}
+
+	public long streamWicketData(String mostwicketsFilePath, RowHandler<MostWicketColumns> handler,
+			List<IngestError> errors) throws IplAnalyserException {
+		return stream(mostwicketsFilePath, TableType.WICKETS, handler, errors);
+	}
+
+	private <E, T extends IplTable<E>> long stream(String filePath, TableType<E, T> type, RowHandler<T> handler,
+			List<IngestError> errors) throws IplAnalyserException {
+		List<IngestError> rejected = ingestMode == IngestMode.FAIL_FAST ? null : new ArrayList<>();
+		long rows = MappedFactsheetReader.stream(filePath, type, chunkSize, handler, rejected);
+		if (rejected != null && !rejected.isEmpty()) {
+			if (ingestMode == IngestMode.QUARANTINE) {
+				quarantine(filePath, rejected);
+			}
+			errors.addAll(rejected);
+		}
+		return rows;
+	}
+
+	/**
+	 * Opens the batting file as a live feed: the current contents are
+	 * ingested now, and later appends with {@link LiveFactsheet#tail()}.
+	 */
+	public LiveFactsheet<MostRun, MostRunColumns, MostRunSortType> liveRunData(String mostrunsFilePath)
+			throws IplAnalyserException {
+		LiveFactsheet<MostRun, MostRunColumns, MostRunSortType> live = new LiveFactsheet<>(mostrunsFilePath,
+				TableType.RUNS, MostRunSortType.class, IplAnalyser::runComparator, EnumSet.allOf(MostRunField.class),
+				chunkSize, ingestMode, quarantinePath(mostrunsFilePath));
+		live.tail();
+		return live;
+	}
+
+	public LiveFactsheet<MostWicket, MostWicketColumns, MostWicketSortType> liveWicketData(
+			String mostwicketsFilePath) throws IplAnalyserException {
+		LiveFactsheet<MostWicket, MostWicketColumns, MostWicketSortType> live = new LiveFactsheet<>(
+				mostwicketsFilePath, TableType.WICKETS, MostWicketSortType.class, IplAnalyser::wicketComparator,
+				EnumSet.allOf(MostWicketField.class), chunkSize, ingestMode, quarantinePath(mostwicketsFilePath));
+		live.tail();
+		return live;
+	}
+
+	public String streamTopK(String mostrunsFilePath, MostRunSortType type, int k) throws IplAnalyserException {
+		StreamingTopK<MostRun, MostRunColumns> topK = new StreamingTopK<>(TableType.RUNS,
+				columns -> runComparator(columns, type), k);
+		if (streamRunData(mostrunsFilePath, topK) == 0) {
 			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
 		}
-		List<E> sortedList = null;
-		switch (type) {
-		case AVERAGE:
-			sortedList = (List<E>) wicketList.stream().sorted(Comparator.comparing(MostWicket::getAvg).reversed())
-					.collect(Collectors.toList());
-			break;
-		case SR:
-			sortedList = (List<E>) wicketList.stream()
-					.sorted(Comparator.comparing(MostWicket::getStrikeRate).reversed()).collect(Collectors.toList());
-			break;
-		case ECONOMY:
-			sortedList = (List<E>) wicketList.stream().sorted(Comparator.comparing(MostWicket::getEconomy))
-					.collect(Collectors.toList());
-			break;
-		case SR_AND_5W_4W:
-			sortedList = (List<E>) wicketList.stream().sorted(
-					Comparator.comparing(MostWicket::getStrikeRate).thenComparing(MostWicket::get4W5W).reversed())
-					.collect(Collectors.toList());
-			break;
-		case AVERAGE_AND_SR:
-			sortedList = (List<E>) wicketList.stream().sorted(
-					Comparator.comparing(MostWicket::getAvg).thenComparing(MostWicket::getStrikeRate).reversed())
-					.collect(Collectors.toList());
-			break;
-		case WICKETS_AND_AVG:
-			sortedList = (List<E>) wicketList.stream().sorted(
-					Comparator.comparing(MostWicket::getWickets).thenComparing(MostWicket::getAvg).reversed())
-					.collect(Collectors.toList());
-			break;
-		default:
-			break;
-		}
-		String sortedJsonData = new Gson().toJson(sortedList);
-		return sortedJsonData;
+		return RankingJsonWriter.GSON.toJson(topK.result());
+	}
+
+	public String streamTopK(String mostwicketsFilePath, MostWicketSortType type, int k) throws IplAnalyserException {
+		StreamingTopK<MostWicket, MostWicketColumns> topK = new StreamingTopK<>(TableType.WICKETS,
+				columns -> wicketComparator(columns, type), k);
+		if (streamWicketData(mostwicketsFilePath, topK) == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		return RankingJsonWriter.GSON.toJson(topK.result());
+	}
+
+	static MostWicketColumns wicketColumns(IplDataset<MostWicket> dataset) {
+		return (MostWicketColumns) dataset.getTable();
+	}
+
+	public static RankingSpec<MostWicketColumns> wicketRanking(MostWicketSortType type) {
+		return WICKET_RANKINGS.get(type);
+	}
+
+	static RowComparator wicketComparator(MostWicketColumns columns, MostWicketSortType type) {
+		return wicketRanking(type).comparator(columns);
 	}
 
 }
@@ -8,7 +8,7 @@ public class IplAnalyserException extends Exception{
 	private static final long serialVersionUID = 1L;
 
 	public enum ExceptionType{
-		INCORRECT_CLASS_TYPE,INCORRECT_DELIMITER,INCORRECT_HEADER, CENSUS_FILE_PROBLEM, NO_DATA, EMPTY_LIST;
+		INCORRECT_CLASS_TYPE,INCORRECT_DELIMITER,INCORRECT_HEADER, CENSUS_FILE_PROBLEM, NO_DATA, EMPTY_LIST, UNKNOWN_PLAYER;
 	}
 	
 	public ExceptionType type;
@@ -22,5 +22,19 @@ public class IplAnalyserException extends Exception{
 		super(message);
 		this.type = type;
 	}
+
+	/**
+	 * Finds the IplAnalyserException wrapped inside an unchecked exception
+	 * thrown across a fork-join or executor boundary, or rethrows the
+	 * original when there is none.
+	 */
+	static IplAnalyserException unwrap(RuntimeException e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof IplAnalyserException) {
+				return (IplAnalyserException) cause;
+			}
+		}
+		throw e;
+	}
 	
 }
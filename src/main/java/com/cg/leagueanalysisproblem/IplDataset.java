@@ -0,0 +1,261 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Immutable snapshot of one factsheet file, loaded once and queried many
+ * times. Remembers the mtime and size of the source file so the analyser can
+ * tell when it has to be re-read.
+ */
+public class IplDataset<E> {
+	private static final AtomicLong VERSIONS = new AtomicLong();
+
+	private final long version = VERSIONS.incrementAndGet();
+	private final String filePath;
+	private final Class<E> classType;
+	private final long lastModified;
+	private final long fileSize;
+	private final IplTable<E> table;
+	private final List<E> records;
+	private final List<IngestError> ingestErrors;
+	private final Map<Object, int[]> sortIndexes = new ConcurrentHashMap<>();
+	private final Map<StatColumn<?>, ColumnStats> columnStats = new ConcurrentHashMap<>();
+	private final Map<Object, int[]> rankIndexes = new ConcurrentHashMap<>();
+	private volatile PlayerIndex playerIndex;
+	private volatile TableSummary<?> summary;
+
+	IplDataset(String filePath, Class<E> classType, long lastModified, long fileSize, IplTable<E> table) {
+		this(filePath, classType, lastModified, fileSize, table, Collections.<IngestError>emptyList());
+	}
+
+	IplDataset(String filePath, Class<E> classType, long lastModified, long fileSize, IplTable<E> table,
+			List<IngestError> ingestErrors) {
+		this.filePath = filePath;
+		this.classType = classType;
+		this.lastModified = lastModified;
+		this.fileSize = fileSize;
+		this.table = table;
+		this.records = new RowView<E>(table);
+		this.ingestErrors = Collections.unmodifiableList(ingestErrors);
+	}
+
+	public String getFilePath() {
+		return filePath;
+	}
+
+	public Class<E> getClassType() {
+		return classType;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	public long getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * Unique number of this dataset. Every load or reload creates a dataset
+	 * with a new version, so it identifies the exact data an answer came
+	 * from.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Lines left out of this dataset because they were malformed, in file
+	 * order. Always empty for loads that fail fast.
+	 */
+	public List<IngestError> getIngestErrors() {
+		return ingestErrors;
+	}
+
+	public IplTable<E> getTable() {
+		return table;
+	}
+
+	/**
+	 * Read-only view of the rows. Each access materializes a fresh bean from
+	 * the underlying table.
+	 */
+	public List<E> getRecords() {
+		return records;
+	}
+
+	public int size() {
+		return table.size();
+	}
+
+	/**
+	 * Returns the row positions of this dataset ordered by the given
+	 * comparator. The permutation is built on first use and cached under
+	 * sortKey, so later queries only walk it. Threads racing on the first
+	 * build may each sort, but all of them end up sharing one array.
+	 */
+	int[] sortIndex(Object sortKey, RowComparator comparator) {
+		int[] sortIndex = sortIndexes.get(sortKey);
+		if (sortIndex == null) {
+			sortIndex = IndexSort.sortedIndex(table.size(), comparator);
+			int[] existing = sortIndexes.putIfAbsent(sortKey, sortIndex);
+			if (existing != null) {
+				sortIndex = existing;
+			}
+		}
+		return sortIndex;
+	}
+
+	/**
+	 * Returns the inverse of the sort index: the zero-based rank of every row
+	 * under sortKey. Built from the sort index on first use and cached, so a
+	 * rank lookup after that is one array read.
+	 */
+	int[] rankIndex(Object sortKey, RowComparator comparator) {
+		int[] rankIndex = rankIndexes.get(sortKey);
+		if (rankIndex == null) {
+			int[] sortIndex = sortIndex(sortKey, comparator);
+			rankIndex = new int[sortIndex.length];
+			for (int rank = 0; rank < sortIndex.length; rank++) {
+				rankIndex[sortIndex[rank]] = rank;
+			}
+			int[] existing = rankIndexes.putIfAbsent(sortKey, rankIndex);
+			if (existing != null) {
+				rankIndex = existing;
+			}
+		}
+		return rankIndex;
+	}
+
+	/**
+	 * Returns the player index of this dataset, building it on first use.
+	 * Racing builds produce equal indexes, so the last one simply wins.
+	 */
+	PlayerIndex playerIndex(PlayerDictionary players, IntUnaryOperator playerCode) {
+		PlayerIndex index = playerIndex;
+		if (index == null) {
+			index = new PlayerIndex(players, table.size(), playerCode);
+			playerIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the distribution of every numeric column, building it in one
+	 * pass over the rows on first use. Racing builds produce equal
+	 * summaries, so the last one simply wins.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> TableSummary<T> summary(StatColumn<T>[] stats, T columns) {
+		TableSummary<T> summary = (TableSummary<T>) this.summary;
+		if (summary == null) {
+			summary = TableSummary.of(stats);
+			for (int row = 0; row < table.size(); row++) {
+				summary.add(columns, row);
+			}
+			this.summary = summary;
+		}
+		return summary;
+	}
+
+	/**
+	 * Returns the cached sort index for sortKey, or null when no query has
+	 * built it yet.
+	 */
+	int[] cachedSortIndex(Object sortKey) {
+		return sortIndexes.get(sortKey);
+	}
+
+	/**
+	 * Returns the bounds of a numeric column, and its sorted secondary index
+	 * when the column is indexed. Built on first use and cached like the sort
+	 * indexes.
+	 */
+	<T> ColumnStats columnStats(StatColumn<T> column, T columns) {
+		ColumnStats stats = columnStats.get(column);
+		if (stats == null) {
+			stats = column.isIndexed() ? ColumnStats.index(table.size(), row -> column.value(columns, row))
+					: ColumnStats.scan(table.size(), row -> column.value(columns, row));
+			ColumnStats existing = columnStats.putIfAbsent(column, stats);
+			if (existing != null) {
+				stats = existing;
+			}
+		}
+		return stats;
+	}
+
+	List<E> inOrder(int[] sortIndex) {
+		List<E> sortedList = new ArrayList<E>(sortIndex.length);
+		for (int position : sortIndex) {
+			sortedList.add(table.row(position));
+		}
+		return sortedList;
+	}
+
+	List<E> topK(Object sortKey, RowComparator comparator, int k) {
+		return inOrder(topKRows(sortKey, comparator, k));
+	}
+
+	/**
+	 * Returns the positions of the first k rows in comparator order. Walks
+	 * the cached sort index when there is one, otherwise selects with a
+	 * bounded heap of size k so the full dataset is never sorted. Ties keep
+	 * file order, as in the full sort.
+	 */
+	int[] topKRows(Object sortKey, RowComparator comparator, int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("k must not be negative: " + k);
+		}
+		int limit = Math.min(k, table.size());
+		int[] sortIndex = sortIndexes.get(sortKey);
+		if (sortIndex != null) {
+			return Arrays.copyOf(sortIndex, limit);
+		}
+		return IndexSort.topK(table.size(), comparator, limit);
+	}
+
+	public boolean isStale() {
+		try {
+			BasicFileAttributes attributes = readAttributes(filePath);
+			return attributes.lastModifiedTime().toMillis() != lastModified || attributes.size() != fileSize;
+		} catch (IOException e) {
+			return true;
+		}
+	}
+
+	static BasicFileAttributes readAttributes(String filePath) throws IOException {
+		Path path = Paths.get(filePath);
+		return Files.readAttributes(path, BasicFileAttributes.class);
+	}
+
+	private static class RowView<E> extends AbstractList<E> {
+		private final IplTable<E> table;
+
+		RowView(IplTable<E> table) {
+			this.table = table;
+		}
+
+		@Override
+		public E get(int index) {
+			return table.row(index);
+		}
+
+		@Override
+		public int size() {
+			return table.size();
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.cg.leagueanalysisproblem;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Per-phase latency histograms and counters of one analyser: parsing a
+ * file, binding beans to columns, sorting and serializing. Allocation is
+ * estimated from the calling thread's allocation counter where the JVM
+ * provides one, so work forked to other threads is not included.
+ *
+ * Recording is lock-free. While disabled, {@link #start} returns a shared
+ * no-op span after a single volatile read, so instrumentation can be left
+ * in place and switched on at run time, including over JMX.
+ */
+public class IplMetrics implements IplMetricsMXBean {
+	public enum Phase {
+		PARSE, BIND, SORT, SERIALIZE,
+	}
+
+	private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+	private static final Span NOOP = new Span(null, null, 0, 0);
+
+	private volatile boolean enabled = true;
+	private final LatencyHistogram[] latencies = new LatencyHistogram[Phase.values().length];
+	private final LongAdder[] rows = new LongAdder[Phase.values().length];
+	private final LongAdder[] bytes = new LongAdder[Phase.values().length];
+	private final LongAdder[] allocatedBytes = new LongAdder[Phase.values().length];
+	private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+	public IplMetrics() {
+		for (int phase = 0; phase < latencies.length; phase++) {
+			latencies[phase] = new LatencyHistogram();
+			rows[phase] = new LongAdder();
+			bytes[phase] = new LongAdder();
+			allocatedBytes[phase] = new LongAdder();
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean allocationCounter() {
+		try {
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if (threads instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+				if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+					return counter;
+				}
+			}
+		} catch (LinkageError e) {
+			// not a HotSpot-compatible JVM, allocation stays unmeasured
+		}
+		return null;
+	}
+
+	private static long allocatedByThisThread() {
+		return ALLOCATIONS == null ? 0 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	Span start(Phase phase) {
+		if (!enabled) {
+			return NOOP;
+		}
+		return new Span(this, phase, System.nanoTime(), allocatedByThisThread());
+	}
+
+	private void record(Phase phase, long elapsedNanos, long rows, long bytes, long allocated) {
+		latencies[phase.ordinal()].record(elapsedNanos);
+		this.rows[phase.ordinal()].add(rows);
+		this.bytes[phase.ordinal()].add(bytes);
+		allocatedBytes[phase.ordinal()].add(allocated);
+		for (MetricsListener listener : listeners) {
+			listener.phaseCompleted(phase, elapsedNanos, rows, bytes, allocated);
+		}
+	}
+
+	public void addListener(MetricsListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(MetricsListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Registers these metrics with the platform MBean server under
+	 * com.cg.leagueanalysisproblem:type=IplMetrics,name=name.
+	 */
+	public ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName("com.cg.leagueanalysisproblem:type=IplMetrics,name="
+				+ ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		return objectName;
+	}
+
+	public PhaseStatistics statistics(Phase phase) {
+		int index = phase.ordinal();
+		return new PhaseStatistics(phase.name(), latencies[index], rows[index].sum(), bytes[index].sum(),
+				allocatedBytes[index].sum());
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public PhaseStatistics getParse() {
+		return statistics(Phase.PARSE);
+	}
+
+	@Override
+	public PhaseStatistics getBind() {
+		return statistics(Phase.BIND);
+	}
+
+	@Override
+	public PhaseStatistics getSort() {
+		return statistics(Phase.SORT);
+	}
+
+	@Override
+	public PhaseStatistics getSerialize() {
+		return statistics(Phase.SERIALIZE);
+	}
+
+	@Override
+	public long getRowsRead() {
+		return rows[Phase.PARSE.ordinal()].sum();
+	}
+
+	@Override
+	public long getBytesRead() {
+		return bytes[Phase.PARSE.ordinal()].sum();
+	}
+
+	@Override
+	public double getRowsPerSecond() {
+		return getParse().getRowsPerSecond();
+	}
+
+	@Override
+	public long getAllocatedBytes() {
+		long total = 0;
+		for (LongAdder allocated : allocatedBytes) {
+			total += allocated.sum();
+		}
+		return total;
+	}
+
+	@Override
+	public void reset() {
+		for (int phase = 0; phase < latencies.length; phase++) {
+			latencies[phase].reset();
+			rows[phase].reset();
+			bytes[phase].reset();
+			allocatedBytes[phase].reset();
+		}
+	}
+
+	/**
+	 * One timed run of a phase. Spans from disabled metrics ignore stop.
+	 */
+	static final class Span {
+		private final IplMetrics metrics;
+		private final Phase phase;
+		private final long startNanos;
+		private final long startAllocated;
+
+		private Span(IplMetrics metrics, Phase phase, long startNanos, long startAllocated) {
+			this.metrics = metrics;
+			this.phase = phase;
+			this.startNanos = startNanos;
+			this.startAllocated = startAllocated;
+		}
+
+		void stop(long rows, long bytes) {
+			if (metrics != null) {
+				metrics.record(phase, System.nanoTime() - startNanos, rows, bytes,
+						allocatedByThisThread() - startAllocated);
+			}
+		}
+	}
+}
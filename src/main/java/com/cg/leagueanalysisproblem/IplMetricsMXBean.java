@@ -0,0 +1,28 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * JMX view of an analyser's {@link IplMetrics}.
+ */
+public interface IplMetricsMXBean {
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	PhaseStatistics getParse();
+
+	PhaseStatistics getBind();
+
+	PhaseStatistics getSort();
+
+	PhaseStatistics getSerialize();
+
+	long getRowsRead();
+
+	long getBytesRead();
+
+	double getRowsPerSecond();
+
+	long getAllocatedBytes();
+
+	void reset();
+}
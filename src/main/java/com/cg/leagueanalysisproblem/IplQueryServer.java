@@ -0,0 +1,328 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.cg.leagueanalysisproblem.IplAnalyser.MostRunSortType;
+import com.cg.leagueanalysisproblem.IplAnalyser.MostWicketSortType;
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP front for an {@link IplQueryService} on the JDK's built-in
+ * server. Every endpoint is a GET over the current batting or bowling
+ * dataset:
+ *
+ * <pre>
+ * /runs?sort=AVERAGE[&amp;limit=10]                the ranking, or its first rows
+ * /runs/top?sort=AVERAGE&amp;k=10                  the top k
+ * /runs/player?name=MS+Dhoni&amp;sort=AVERAGE[&amp;n=2] rank and the n players on each side
+ * </pre>
+ *
+ * and the same under /wickets. Identical requests that arrive while one is
+ * being answered wait for its answer instead of computing their own. The
+ * ETag of an answer is the version of the dataset it came from, so a client
+ * that sends it back in If-None-Match gets 304 Not Modified until the next
+ * reload.
+ *
+ * The built-in server leaves Nagle's algorithm on, so a small response can
+ * wait for the client's delayed ACK. Deployments that care about latency
+ * can start the JVM with {@code -Dsun.net.httpserver.nodelay=true}; the JDK
+ * reads it once, before the first server is created.
+ */
+public class IplQueryServer implements AutoCloseable {
+	private static final String JSON = "application/json; charset=utf-8";
+
+	private final IplQueryService service;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+	private final AtomicLong computations = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+
+	/**
+	 * Binds to the address, port 0 for any free port, and answers requests on
+	 * a pool of the given number of threads once started.
+	 */
+	public IplQueryServer(IplQueryService service, InetSocketAddress address, int threads) throws IOException {
+		this.service = service;
+		this.server = HttpServer.create(address, 0);
+		this.executor = Executors.newFixedThreadPool(threads);
+		server.setExecutor(executor);
+		server.createContext("/runs", exchange -> handle(exchange, "/runs", true));
+		server.createContext("/wickets", exchange -> handle(exchange, "/wickets", false));
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	/**
+	 * Number of answers computed, and number of requests that shared an
+	 * answer already being computed.
+	 */
+	public long getComputations() {
+		return computations.get();
+	}
+
+	public long getCoalescedRequests() {
+		return coalesced.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdown();
+	}
+
+	private void handle(HttpExchange exchange, String context, boolean batting) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				sendError(exchange, 405, "METHOD_NOT_ALLOWED", "Only GET is supported");
+				return;
+			}
+			String endpoint = exchange.getRequestURI().getPath().substring(context.length());
+			if (!endpoint.isEmpty() && !endpoint.equals("/top") && !endpoint.equals("/player")) {
+				sendError(exchange, 404, "NOT_FOUND", "No endpoint " + context + endpoint);
+				return;
+			}
+			Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+			validate(endpoint, parameters, batting ? MostRunSortType::valueOf : MostWicketSortType::valueOf);
+			String key = context + endpoint + parameters;
+			IplDataset<?> dataset;
+			byte[] json;
+			if (batting) {
+				IplDataset<MostRun> runs = service.getRunDataset();
+				dataset = runs;
+				if (notModified(exchange, dataset)) {
+					return;
+				}
+				json = coalesce(dataset, key, () -> answerRuns(runs, endpoint, parameters));
+			} else {
+				IplDataset<MostWicket> wickets = service.getWicketDataset();
+				dataset = wickets;
+				if (notModified(exchange, dataset)) {
+					return;
+				}
+				json = coalesce(dataset, key, () -> answerWickets(wickets, endpoint, parameters));
+			}
+			exchange.getResponseHeaders().set("ETag", etag(dataset));
+			send(exchange, 200, json);
+		} catch (IplAnalyserException e) {
+			sendError(exchange, statusOf(e.type), e.type.name(), e.getMessage());
+		} catch (IllegalArgumentException e) {
+			sendError(exchange, 400, "BAD_REQUEST", e.getMessage());
+		} catch (RuntimeException e) {
+			sendError(exchange, 500, "INTERNAL_ERROR", String.valueOf(e));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private byte[] answerRuns(IplDataset<MostRun> dataset, String endpoint, Map<String, String> parameters)
+			throws IplAnalyserException {
+		IplAnalyser<?> analyser = service.analyser();
+		MostRunSortType type = MostRunSortType.valueOf(required(parameters, "sort"));
+		if (endpoint.equals("/player")) {
+			String player = required(parameters, "name");
+			int n = number(parameters, "n", 1);
+			return playerJson(player, analyser.rankOf(dataset, player, type),
+					analyser.neighbours(dataset, player, type, n));
+		}
+		int limit = endpoint.equals("/top") ? number(parameters, "k", -1) : number(parameters, "limit", dataset.size());
+		return write(writer -> analyser.writeRunData(dataset, type, limit, writer, EnumSet.allOf(MostRunField.class)));
+	}
+
+	private byte[] answerWickets(IplDataset<MostWicket> dataset, String endpoint, Map<String, String> parameters)
+			throws IplAnalyserException {
+		IplAnalyser<?> analyser = service.analyser();
+		MostWicketSortType type = MostWicketSortType.valueOf(required(parameters, "sort"));
+		if (endpoint.equals("/player")) {
+			String player = required(parameters, "name");
+			int n = number(parameters, "n", 1);
+			return playerJson(player, analyser.rankOf(dataset, player, type),
+					analyser.neighbours(dataset, player, type, n));
+		}
+		int limit = endpoint.equals("/top") ? number(parameters, "k", -1) : number(parameters, "limit", dataset.size());
+		return write(writer -> analyser.writeWicketData(dataset, type, limit, writer,
+				EnumSet.allOf(MostWicketField.class)));
+	}
+
+	/**
+	 * Computes the answer, or waits for the same answer when an identical
+	 * request on the same dataset version is already computing it.
+	 */
+	private byte[] coalesce(IplDataset<?> dataset, String request, Answer answer) throws IplAnalyserException {
+		String key = dataset.getVersion() + " " + request;
+		CompletableFuture<byte[]> own = new CompletableFuture<>();
+		CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, own);
+		if (running == null) {
+			computations.incrementAndGet();
+			try {
+				own.complete(answer.compute());
+			} catch (Throwable e) {
+				// anything escaping here would leave the requests waiting on own blocked for good
+				own.completeExceptionally(e);
+			} finally {
+				inFlight.remove(key, own);
+			}
+			running = own;
+		} else {
+			coalesced.incrementAndGet();
+		}
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw IplAnalyserException.unwrap(e);
+		}
+	}
+
+	/**
+	 * Rejects a malformed request before it can be answered with 304, so a
+	 * client holding a current ETag still learns that its request is wrong.
+	 */
+	private static void validate(String endpoint, Map<String, String> parameters, Function<String, ?> sortType) {
+		sortType.apply(required(parameters, "sort"));
+		if (endpoint.equals("/player")) {
+			required(parameters, "name");
+			number(parameters, "n", 1);
+		} else if (endpoint.equals("/top")) {
+			number(parameters, "k", -1);
+		} else {
+			number(parameters, "limit", 0);
+		}
+	}
+
+	private static boolean notModified(HttpExchange exchange, IplDataset<?> dataset) throws IOException {
+		String etag = etag(dataset);
+		if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			exchange.getResponseHeaders().set("ETag", etag);
+			exchange.sendResponseHeaders(304, -1);
+			return true;
+		}
+		return false;
+	}
+
+	private static String etag(IplDataset<?> dataset) {
+		return "\"" + dataset.getVersion() + "\"";
+	}
+
+	private static byte[] playerJson(String player, int rank, String neighbours) {
+		return ("{\"player\":" + RankingJsonWriter.GSON.toJson(player) + ",\"rank\":" + rank + ",\"neighbours\":"
+				+ neighbours + "}").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] write(JsonBody body) throws IplAnalyserException {
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		try (Writer writer = new OutputStreamWriter(json, StandardCharsets.UTF_8)) {
+			body.writeTo(writer);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return json.toByteArray();
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] json) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", JSON);
+		exchange.sendResponseHeaders(status, json.length);
+		try (OutputStream body = exchange.getResponseBody()) {
+			body.write(json);
+		}
+	}
+
+	private static void sendError(HttpExchange exchange, int status, String error, String message)
+			throws IOException {
+		Map<String, String> body = new TreeMap<>();
+		body.put("error", error);
+		body.put("message", message);
+		send(exchange, status, RankingJsonWriter.GSON.toJson(body).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static int statusOf(ExceptionType type) {
+		switch (type) {
+		case UNKNOWN_PLAYER:
+			return 404;
+		case NO_DATA:
+		case EMPTY_LIST:
+			return 503;
+		default:
+			return 500;
+		}
+	}
+
+	private static Map<String, String> parameters(String rawQuery) throws UnsupportedEncodingException {
+		Map<String, String> parameters = new TreeMap<>();
+		if (rawQuery == null) {
+			return parameters;
+		}
+		for (String pair : rawQuery.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int equals = pair.indexOf('=');
+			String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), "UTF-8");
+			String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), "UTF-8");
+			parameters.put(name, value);
+		}
+		return parameters;
+	}
+
+	private static String required(Map<String, String> parameters, String name) {
+		String value = parameters.get(name);
+		if (value == null || value.isEmpty()) {
+			throw new IllegalArgumentException("Missing parameter " + name);
+		}
+		return value;
+	}
+
+	/**
+	 * A non-negative number parameter. A negative default makes the
+	 * parameter required.
+	 */
+	private static int number(Map<String, String> parameters, String name, int defaultValue) {
+		String value = parameters.get(name);
+		int number = value == null && defaultValue >= 0 ? defaultValue : Integer.parseInt(required(parameters, name));
+		if (number < 0) {
+			throw new IllegalArgumentException("Parameter " + name + " must not be negative: " + number);
+		}
+		return number;
+	}
+
+	@FunctionalInterface
+	private interface Answer {
+		byte[] compute() throws IplAnalyserException;
+	}
+
+	@FunctionalInterface
+	private interface JsonBody {
+		void writeTo(Writer writer) throws IplAnalyserException, IOException;
+	}
+}
@@ -0,0 +1,193 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.cg.leagueanalysisproblem.IplAnalyser.AllRounderSortType;
+import com.cg.leagueanalysisproblem.IplAnalyser.MostRunSortType;
+import com.cg.leagueanalysisproblem.IplAnalyser.MostWicketSortType;
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+
+/**
+ * Thread-safe query front over the current batting and bowling datasets.
+ * Any number of threads can sort and rank concurrently without locking.
+ * Every query reads the current dataset once and answers from it alone, so a
+ * reload that swaps in a new dataset mid-query never mixes two versions.
+ * Reloads are serialized among themselves and replace the dataset
+ * copy-on-write; the old one stays valid for queries still using it.
+ */
+public class IplQueryService {
+	private final IplAnalyser<?> loader;
+	private final AtomicReference<IplDataset<MostRun>> runs = new AtomicReference<>();
+	private final AtomicReference<IplDataset<MostWicket>> wickets = new AtomicReference<>();
+
+	public IplQueryService() {
+		this(new IplAnalyser<Object>(true));
+	}
+
+	/**
+	 * Uses the given analyser, with its parser, snapshot and pool settings,
+	 * to read files on reload. The analyser should not be reconfigured while
+	 * a reload is running.
+	 */
+	public IplQueryService(IplAnalyser<?> loader) {
+		this.loader = loader;
+	}
+
+	public synchronized IplDataset<MostRun> reloadRuns(String mostrunsFilePath) throws IplAnalyserException {
+		IplDataset<MostRun> dataset = loader.loadRunDataset(mostrunsFilePath);
+		runs.set(dataset);
+		return dataset;
+	}
+
+	public synchronized IplDataset<MostWicket> reloadWickets(String mostwicketsFilePath) throws IplAnalyserException {
+		IplDataset<MostWicket> dataset = loader.loadWicketDataset(mostwicketsFilePath);
+		wickets.set(dataset);
+		return dataset;
+	}
+
+	/**
+	 * Re-reads whichever source files changed since they were loaded. Returns
+	 * true when at least one dataset was replaced.
+	 */
+	public synchronized boolean refresh() throws IplAnalyserException {
+		boolean replaced = false;
+		IplDataset<MostRun> currentRuns = runs.get();
+		if (currentRuns != null && currentRuns.isStale()) {
+			replaced |= reloadRuns(currentRuns.getFilePath()) != currentRuns;
+		}
+		IplDataset<MostWicket> currentWickets = wickets.get();
+		if (currentWickets != null && currentWickets.isStale()) {
+			replaced |= reloadWickets(currentWickets.getFilePath()) != currentWickets;
+		}
+		return replaced;
+	}
+
+	/**
+	 * The dataset queries are currently answered from. Callers that need
+	 * several answers from one version can query it directly.
+	 */
+	public IplDataset<MostRun> getRunDataset() throws IplAnalyserException {
+		return current(runs);
+	}
+
+	public IplDataset<MostWicket> getWicketDataset() throws IplAnalyserException {
+		return current(wickets);
+	}
+
+	IplAnalyser<?> analyser() {
+		return loader;
+	}
+
+	public String sortRunData(MostRunSortType type) throws IplAnalyserException {
+		return loader.sortRunData(current(runs), type);
+	}
+
+	public String sortRunData(Set<MostRunSortType> types) throws IplAnalyserException {
+		return loader.sortRunData(current(runs), types);
+	}
+
+	public void writeRunRankings(Set<MostRunSortType> types, int limit, Writer writer, Set<MostRunField> fields)
+			throws IplAnalyserException, IOException {
+		loader.writeRunRankings(current(runs), types, limit, writer, fields);
+	}
+
+	public String topK(MostRunSortType type, int k) throws IplAnalyserException {
+		return loader.topK(current(runs), type, k);
+	}
+
+	public void writeRunData(MostRunSortType type, int limit, Writer writer, Set<MostRunField> fields)
+			throws IplAnalyserException, IOException {
+		loader.writeRunData(current(runs), type, limit, writer, fields);
+	}
+
+	public String filterRunData(RangeFilter<MostRunColumns> filter, MostRunSortType type, int limit)
+			throws IplAnalyserException {
+		return loader.filterRunData(current(runs), filter, type, limit);
+	}
+
+	public String rankRunData(RankingSpec<MostRunColumns> ranking, int limit) throws IplAnalyserException {
+		return loader.rankRunData(current(runs), ranking, limit);
+	}
+
+	public int rankOf(String player, MostRunSortType type) throws IplAnalyserException {
+		return loader.rankOf(current(runs), player, type);
+	}
+
+	public String neighbours(String player, MostRunSortType type, int n) throws IplAnalyserException {
+		return loader.neighbours(current(runs), player, type, n);
+	}
+
+	public TableSummary<MostRunColumns> summarizeRunData() throws IplAnalyserException {
+		return loader.summarizeRunData(current(runs));
+	}
+
+	public String sortWicketData(MostWicketSortType type) throws IplAnalyserException {
+		return loader.sortWicketData(current(wickets), type);
+	}
+
+	public String sortWicketData(Set<MostWicketSortType> types) throws IplAnalyserException {
+		return loader.sortWicketData(current(wickets), types);
+	}
+
+	public void writeWicketRankings(Set<MostWicketSortType> types, int limit, Writer writer,
+			Set<MostWicketField> fields) throws IplAnalyserException, IOException {
+		loader.writeWicketRankings(current(wickets), types, limit, writer, fields);
+	}
+
+	public String topK(MostWicketSortType type, int k) throws IplAnalyserException {
+		return loader.topK(current(wickets), type, k);
+	}
+
+	public void writeWicketData(MostWicketSortType type, int limit, Writer writer, Set<MostWicketField> fields)
+			throws IplAnalyserException, IOException {
+		loader.writeWicketData(current(wickets), type, limit, writer, fields);
+	}
+
+	public String filterWicketData(RangeFilter<MostWicketColumns> filter, MostWicketSortType type, int limit)
+			throws IplAnalyserException {
+		return loader.filterWicketData(current(wickets), filter, type, limit);
+	}
+
+	public String rankWicketData(RankingSpec<MostWicketColumns> ranking, int limit) throws IplAnalyserException {
+		return loader.rankWicketData(current(wickets), ranking, limit);
+	}
+
+	public int rankOf(String player, MostWicketSortType type) throws IplAnalyserException {
+		return loader.rankOf(current(wickets), player, type);
+	}
+
+	public String neighbours(String player, MostWicketSortType type, int n) throws IplAnalyserException {
+		return loader.neighbours(current(wickets), player, type, n);
+	}
+
+	public TableSummary<MostWicketColumns> summarizeWicketData() throws IplAnalyserException {
+		return loader.summarizeWicketData(current(wickets));
+	}
+
+	/**
+	 * Joins whatever batting and bowling datasets are current. The join is
+	 * cached by the loader until either side is reloaded.
+	 */
+	public IplDataset<AllRounder> getAllRounderDataset() throws IplAnalyserException {
+		return loader.joinAllRounders(current(runs), current(wickets));
+	}
+
+	public String sortAllRounderData(AllRounderSortType type) throws IplAnalyserException {
+		return loader.sortAllRounderData(getAllRounderDataset(), type);
+	}
+
+	public String topK(AllRounderSortType type, int k) throws IplAnalyserException {
+		return loader.topK(getAllRounderDataset(), type, k);
+	}
+
+	private static <T> IplDataset<T> current(AtomicReference<IplDataset<T>> reference) throws IplAnalyserException {
+		IplDataset<T> dataset = reference.get();
+		if (dataset == null) {
+			throw new IplAnalyserException("No Data Loaded", ExceptionType.NO_DATA);
+		}
+		return dataset;
+	}
+}
@@ -0,0 +1,11 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Row storage behind an {@link IplDataset}. Rows are addressed by their
+ * position in the source file and materialized as beans on demand.
+ */
+public interface IplTable<E> {
+	int size();
+
+	E row(int row);
+}
@@ -0,0 +1,136 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Lexicographic comparator over one or more numeric columns, each encoded as
+ * a long whose signed order is the column's order: ints and longs as they
+ * are, doubles by their IEEE bits with the magnitude flipped for negative
+ * values, which gives exactly the order of {@link Double#compare}, with -0.0
+ * before 0.0 and NaN last. A descending key is the bitwise complement.
+ *
+ * {@link #precompute(int)} evaluates every key once per row into a primitive
+ * array, so a sort reads flat long arrays instead of calling back into the
+ * columns and recomputing derived values such as boundaries on every
+ * comparison.
+ */
+final class KeyedRowComparator implements RowComparator {
+	private final IntToLongFunction[] keys;
+	private final boolean[] descending;
+
+	private KeyedRowComparator(IntToLongFunction[] keys, boolean[] descending) {
+		this.keys = keys;
+		this.descending = descending;
+	}
+
+	static KeyedRowComparator of(IntToLongFunction... keys) {
+		return new KeyedRowComparator(keys.clone(), new boolean[keys.length]);
+	}
+
+	static long encode(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	@Override
+	public int compare(int firstRow, int secondRow) {
+		for (int key = 0; key < keys.length; key++) {
+			int result = Long.compare(keys[key].applyAsLong(firstRow), keys[key].applyAsLong(secondRow));
+			if (result != 0) {
+				return descending[key] ? -result : result;
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public RowComparator reversed() {
+		boolean[] reversed = new boolean[descending.length];
+		for (int key = 0; key < reversed.length; key++) {
+			reversed[key] = !descending[key];
+		}
+		return new KeyedRowComparator(keys, reversed);
+	}
+
+	@Override
+	public RowComparator thenComparing(RowComparator other) {
+		if (!(other instanceof KeyedRowComparator)) {
+			return RowComparator.super.thenComparing(other);
+		}
+		KeyedRowComparator next = (KeyedRowComparator) other;
+		IntToLongFunction[] combinedKeys = Arrays.copyOf(keys, keys.length + next.keys.length);
+		System.arraycopy(next.keys, 0, combinedKeys, keys.length, next.keys.length);
+		boolean[] combinedDescending = Arrays.copyOf(descending, descending.length + next.descending.length);
+		System.arraycopy(next.descending, 0, combinedDescending, descending.length, next.descending.length);
+		return new KeyedRowComparator(combinedKeys, combinedDescending);
+	}
+
+	@Override
+	public RowComparator precompute(int size) {
+		long[][] values = new long[keys.length][size];
+		for (int key = 0; key < keys.length; key++) {
+			long[] column = values[key];
+			IntToLongFunction encoder = keys[key];
+			long flip = descending[key] ? -1L : 0L;
+			for (int row = 0; row < size; row++) {
+				column[row] = encoder.applyAsLong(row) ^ flip;
+			}
+		}
+		if (values.length == 1) {
+			return new SingleKey(values[0]);
+		}
+		if (values.length == 2) {
+			return new TwoKeys(values[0], values[1]);
+		}
+		return new ManyKeys(values);
+	}
+
+	private static final class SingleKey implements RowComparator {
+		private final long[] primary;
+
+		SingleKey(long[] primary) {
+			this.primary = primary;
+		}
+
+		@Override
+		public int compare(int firstRow, int secondRow) {
+			return Long.compare(primary[firstRow], primary[secondRow]);
+		}
+	}
+
+	private static final class TwoKeys implements RowComparator {
+		private final long[] primary;
+		private final long[] secondary;
+
+		TwoKeys(long[] primary, long[] secondary) {
+			this.primary = primary;
+			this.secondary = secondary;
+		}
+
+		@Override
+		public int compare(int firstRow, int secondRow) {
+			int result = Long.compare(primary[firstRow], primary[secondRow]);
+			return result != 0 ? result : Long.compare(secondary[firstRow], secondary[secondRow]);
+		}
+	}
+
+	private static final class ManyKeys implements RowComparator {
+		private final long[][] values;
+
+		ManyKeys(long[][] values) {
+			this.values = values;
+		}
+
+		@Override
+		public int compare(int firstRow, int secondRow) {
+			for (long[] column : values) {
+				int result = Long.compare(column[firstRow], column[secondRow]);
+				if (result != 0) {
+					return result;
+				}
+			}
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * KLL quantile sketch. Values are kept in a stack of compactors: level h
+ * holds items of weight 2^h, and a level that outgrows its capacity is
+ * sorted and every other item, starting at a random one of the first two,
+ * is promoted to the level above. Capacities shrink by 2/3 per level below
+ * the top one, so the sketch keeps O(k log(n/k)) items, about 600 at the
+ * default size, and its ranks are typically within 1% of the true ones.
+ * Two sketches merge by concatenating their levels and compacting again,
+ * with the same kind of error bound as one sketch over both inputs.
+ */
+final class KllSketch {
+	static final int DEFAULT_K = 200;
+	private static final double DECAY = 2.0 / 3.0;
+
+	private final int k;
+	private final Random coin;
+	private double[][] levels = { new double[8] };
+	private int[] sizes = new int[1];
+	private int[] capacities;
+	private int retained;
+	private int totalCapacity;
+	private long count;
+
+	KllSketch(int k) {
+		if (k < 8) {
+			throw new IllegalArgumentException("Sketch size must be at least 8: " + k);
+		}
+		this.k = k;
+		this.coin = new Random(k);
+		this.capacities = new int[] { k };
+		this.totalCapacity = k;
+	}
+
+	long count() {
+		return count;
+	}
+
+	void update(double value) {
+		append(0, value);
+		count++;
+		compact();
+	}
+
+	KllSketch copy() {
+		KllSketch copy = new KllSketch(k);
+		copy.merge(this);
+		return copy;
+	}
+
+	/**
+	 * Adds every item of the other sketch to this one.
+	 */
+	void merge(KllSketch other) {
+		for (int level = 0; level < other.levels.length; level++) {
+			for (int i = 0; i < other.sizes[level]; i++) {
+				append(level, other.levels[level][i]);
+			}
+		}
+		count += other.count;
+		compact();
+	}
+
+	/**
+	 * Estimated fraction of values less than or equal to value.
+	 */
+	double rank(double value) {
+		if (count == 0) {
+			return Double.NaN;
+		}
+		long weight = 0;
+		for (int level = 0; level < levels.length; level++) {
+			for (int i = 0; i < sizes[level]; i++) {
+				if (levels[level][i] <= value) {
+					weight += 1L << level;
+				}
+			}
+		}
+		return (double) weight / count;
+	}
+
+	/**
+	 * Estimated value at the fraction q of the sorted input, from 0 for the
+	 * smallest to 1 for the largest retained value.
+	 */
+	double quantile(double q) {
+		if (q < 0 || q > 1 || q != q) {
+			throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+		}
+		if (count == 0) {
+			return Double.NaN;
+		}
+		double[] values = new double[retained];
+		long[] weights = new long[retained];
+		int item = 0;
+		for (int level = 0; level < levels.length; level++) {
+			for (int i = 0; i < sizes[level]; i++) {
+				values[item] = levels[level][i];
+				weights[item++] = 1L << level;
+			}
+		}
+		int[] order = IndexSort.sortedIndex(retained, RowComparator.comparingDouble(row -> values[row]));
+		double target = q * count;
+		long cumulative = 0;
+		for (int i = 0; i < retained; i++) {
+			cumulative += weights[order[i]];
+			if (cumulative >= target) {
+				return values[order[i]];
+			}
+		}
+		return values[order[retained - 1]];
+	}
+
+	private void append(int level, double value) {
+		while (level >= levels.length) {
+			int top = levels.length;
+			levels = Arrays.copyOf(levels, top + 1);
+			sizes = Arrays.copyOf(sizes, top + 1);
+			levels[top] = new double[8];
+			capacities = new int[top + 1];
+			totalCapacity = 0;
+			for (int below = 0; below <= top; below++) {
+				capacities[below] = Math.max(2, (int) Math.ceil(k * Math.pow(DECAY, top - below)));
+				totalCapacity += capacities[below];
+			}
+		}
+		if (sizes[level] == levels[level].length) {
+			levels[level] = Arrays.copyOf(levels[level], sizes[level] * 2);
+		}
+		levels[level][sizes[level]++] = value;
+		retained++;
+	}
+
+	/**
+	 * Compacts the lowest full level until the retained items fit the total
+	 * capacity again.
+	 */
+	private void compact() {
+		while (retained > totalCapacity) {
+			int level = 0;
+			while (sizes[level] < capacities[level]) {
+				level++;
+			}
+			double[] items = levels[level];
+			int size = sizes[level];
+			Arrays.sort(items, 0, size);
+			int kept = size & 1;
+			for (int i = kept + (coin.nextBoolean() ? 1 : 0); i < size; i += 2) {
+				append(level + 1, items[i]);
+			}
+			retained -= size - kept;
+			sizes[level] = kept;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with one bucket per power of two nanoseconds.
+ * Percentiles are reported as the upper bound of their bucket, so they are
+ * accurate to within a factor of two, which is enough to tell phases apart.
+ */
+final class LatencyHistogram {
+	private static final int BUCKETS = 64;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+		count.increment();
+		totalNanos.add(value);
+		maxNanos.accumulate(value);
+	}
+
+	long count() {
+		return count.sum();
+	}
+
+	long totalNanos() {
+		return totalNanos.sum();
+	}
+
+	long maxNanos() {
+		return maxNanos.get();
+	}
+
+	long percentileNanos(double percentile) {
+		long total = count();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile * total));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += buckets.get(bucket);
+			if (seen >= rank) {
+				long upperBound = bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+				return Math.min(upperBound, maxNanos());
+			}
+		}
+		return maxNanos();
+	}
+
+	void reset() {
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			buckets.set(bucket, 0);
+		}
+		count.reset();
+		totalNanos.reset();
+		maxNanos.reset();
+	}
+}
@@ -0,0 +1,243 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import com.cg.leagueanalysisproblem.IplAnalyser.IngestMode;
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+
+/**
+ * Mutable factsheet for in-season feeds, with one row per player. Rows are
+ * upserted by player name, and every sort type keeps its ranking in an
+ * ordered set of row positions, so a change costs O(log n) per sort type
+ * and a query only walks the set. Ties keep row order, which is first-seen
+ * order, as in the full sort of a loaded file.
+ *
+ * The source file is treated as an append-only feed: {@link #tail()} reads
+ * only the bytes added since the last call, and a line is ingested once its
+ * newline has arrived. A later line for a known player replaces that
+ * player's row. A file that shrinks is read again from the start. A
+ * malformed line is skipped and reported in {@link #getIngestErrors()},
+ * and with quarantine also copied to the quarantine file, so it never holds
+ * up the lines after it; failing fast, the tail that read it also fails.
+ *
+ * All methods are synchronized, so a feed thread and query threads can
+ * share one instance.
+ */
+public class LiveFactsheet<E, T extends IplTable<E>, S extends Enum<S>> {
+	private final String filePath;
+	private final TableType<E, T> type;
+	private final Class<S> sortType;
+	private final BiFunction<T, S, RowComparator> comparators;
+	private final Collection<? extends ColumnField<T>> allFields;
+	private final int chunkSize;
+	private final IngestMode ingestMode;
+	private final Path quarantine;
+	private T table;
+	private Map<String, Integer> rowOfPlayer;
+	private Map<S, NavigableSet<Integer>> rankings;
+	private FactsheetParser<T> parser;
+	private List<IngestError> errors;
+	private long offset;
+
+	LiveFactsheet(String filePath, TableType<E, T> type, Class<S> sortType,
+			BiFunction<T, S, RowComparator> comparators, Collection<? extends ColumnField<T>> allFields,
+			int chunkSize, IngestMode ingestMode, Path quarantine) {
+		this.filePath = filePath;
+		this.type = type;
+		this.sortType = sortType;
+		this.comparators = comparators;
+		this.allFields = allFields;
+		this.chunkSize = chunkSize;
+		this.ingestMode = ingestMode;
+		this.quarantine = quarantine;
+		reset();
+	}
+
+	private void reset() {
+		table = type.newTable(16);
+		rowOfPlayer = new HashMap<>();
+		rankings = new EnumMap<>(sortType);
+		for (S sort : sortType.getEnumConstants()) {
+			RowComparator comparator = comparators.apply(table, sort);
+			rankings.put(sort, new TreeSet<Integer>((first, second) -> {
+				int result = comparator.compare(first, second);
+				return result != 0 ? result : Integer.compare(first, second);
+			}));
+		}
+		parser = type.newParser(1024);
+		parser.collectErrors();
+		errors = new ArrayList<>();
+		offset = 0;
+	}
+
+	public String getFilePath() {
+		return filePath;
+	}
+
+	public synchronized int size() {
+		return table.size();
+	}
+
+	/**
+	 * The lines skipped since the file was last read from the start.
+	 */
+	public synchronized List<IngestError> getIngestErrors() {
+		return Collections.unmodifiableList(new ArrayList<>(errors));
+	}
+
+	public synchronized void upsert(E record) {
+		T single = type.newTable(1);
+		type.add(single, record);
+		upsert(single, 0);
+	}
+
+	private void upsert(T source, int sourceRow) {
+		String player = type.player(source, sourceRow);
+		Integer row = rowOfPlayer.get(player);
+		if (row == null) {
+			row = table.size();
+			type.append(table, source, sourceRow);
+			rowOfPlayer.put(player, row);
+		} else {
+			for (NavigableSet<Integer> ranking : rankings.values()) {
+				ranking.remove(row);
+			}
+			type.set(table, row, source, sourceRow);
+		}
+		for (NavigableSet<Integer> ranking : rankings.values()) {
+			ranking.add(row);
+		}
+	}
+
+	/**
+	 * Ingests the complete lines appended to the source file since the last
+	 * call and returns how many rows were upserted. Failing fast, a malformed
+	 * line among them fails the call once the lines around it are ingested.
+	 */
+	public synchronized int tail() throws IplAnalyserException {
+		int upserted = 0;
+		int errorsBefore = errors.size();
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < offset) {
+				reset();
+			}
+			long position = offset;
+			byte[] buffer = new byte[(int) Math.max(1, Math.min(chunkSize, size - offset))];
+			int filled = 0;
+			while (position < size) {
+				if (filled == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				int length = (int) Math.min(buffer.length - filled, size - position);
+				int read = channel.read(ByteBuffer.wrap(buffer, filled, length), position);
+				if (read < 0) {
+					break;
+				}
+				filled += read;
+				position += read;
+				int consumed = parser.parse(buffer, 0, filled, !parser.hasHeader(), false);
+				T batch = parser.table();
+				for (int row = 0; row < batch.size(); row++) {
+					upsert(batch, row);
+				}
+				upserted += batch.size();
+				type.clear(batch);
+				errors.addAll(parser.errors());
+				parser.errors().clear();
+				System.arraycopy(buffer, consumed, buffer, 0, filled - consumed);
+				filled -= consumed;
+			}
+			offset = position - filled;
+		} catch (IOException e) {
+			throw new IplAnalyserException("Invalid File Path For Code Data", ExceptionType.CENSUS_FILE_PROBLEM);
+		}
+		if (errors.size() > errorsBefore) {
+			if (ingestMode == IngestMode.QUARANTINE) {
+				quarantine();
+			} else if (ingestMode == IngestMode.FAIL_FAST) {
+				IngestError error = errors.get(errorsBefore);
+				throw new IplAnalyserException(error.getMessage(), error.getType());
+			}
+		}
+		return upserted;
+	}
+
+	private void quarantine() throws IplAnalyserException {
+		try {
+			IngestQuarantine.write(Paths.get(filePath), quarantine, errors);
+		} catch (IOException e) {
+			throw new IplAnalyserException("Cannot write quarantine file " + quarantine,
+					ExceptionType.CENSUS_FILE_PROBLEM);
+		}
+	}
+
+	/**
+	 * Polls the source file with {@link #tail()} at a fixed delay. A failed
+	 * tail is handed to failures and the watch goes on with the next poll,
+	 * since an exception escaping the task would cancel it.
+	 */
+	public ScheduledFuture<?> watch(ScheduledExecutorService scheduler, long delay, TimeUnit unit,
+			Consumer<? super Exception> failures) {
+		return scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				tail();
+			} catch (IplAnalyserException | RuntimeException e) {
+				failures.accept(e);
+			}
+		}, 0, delay, unit);
+	}
+
+	public String sortData(S sort) throws IplAnalyserException {
+		return topK(sort, Integer.MAX_VALUE);
+	}
+
+	public String topK(S sort, int k) throws IplAnalyserException {
+		StringWriter topJsonData = new StringWriter();
+		try {
+			writeData(sort, k, topJsonData, allFields);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return topJsonData.toString();
+	}
+
+	public synchronized void writeData(S sort, int limit, Writer writer, Collection<? extends ColumnField<T>> fields)
+			throws IplAnalyserException, IOException {
+		if (limit < 0) {
+			throw new IllegalArgumentException("k must not be negative: " + limit);
+		}
+		if (table.size() == 0) {
+			throw new IplAnalyserException("Empty List", ExceptionType.EMPTY_LIST);
+		}
+		int[] rows = new int[Math.min(limit, table.size())];
+		Iterator<Integer> ranking = rankings.get(sort).iterator();
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = ranking.next();
+		}
+		RankingJsonWriter.write(writer, table, rows, rows.length, fields);
+	}
+}
@@ -0,0 +1,58 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of loading several factsheet files at once, with the throughput
+ * of the whole batch.
+ */
+public class LoadReport<T> {
+	private final List<IplDataset<T>> datasets;
+	private final long rows;
+	private final long bytes;
+	private final long elapsedNanos;
+
+	LoadReport(List<IplDataset<T>> datasets, long elapsedNanos) {
+		this.datasets = Collections.unmodifiableList(datasets);
+		long rows = 0;
+		long bytes = 0;
+		for (IplDataset<T> dataset : datasets) {
+			rows += dataset.size();
+			bytes += dataset.getFileSize();
+		}
+		this.rows = rows;
+		this.bytes = bytes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public List<IplDataset<T>> getDatasets() {
+		return datasets;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public double getRowsPerSecond() {
+		return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+	}
+
+	public double getBytesPerSecond() {
+		return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "LoadReport [files=" + datasets.size() + ", rows=" + rows + ", bytes=" + bytes + ", elapsedMillis="
+				+ elapsedNanos / 1000000 + ", rowsPerSecond=" + (long) getRowsPerSecond() + "]";
+	}
+}
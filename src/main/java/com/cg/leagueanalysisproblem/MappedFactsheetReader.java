@@ -0,0 +1,98 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+
+/**
+ * Reads a factsheet through memory-mapped windows of a fixed chunk size.
+ * Each window is parsed into the parser's table, and a line cut by the
+ * window edge is carried over to the next one. Memory stays bounded by the
+ * chunk size plus one batch of rows when the batches are handed off and
+ * cleared.
+ */
+final class MappedFactsheetReader {
+	static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+	private MappedFactsheetReader() {
+	}
+
+	/**
+	 * Loads the whole file. When errors is not null, malformed lines are
+	 * skipped and reported there instead of failing the load.
+	 */
+	static <E, T extends IplTable<E>> T load(String filePath, TableType<E, T> type, int chunkSize,
+			List<IngestError> errors) throws IplAnalyserException {
+		FactsheetParser<T> parser = type.newParser(16);
+		List<IngestError> rejected = errors == null ? null : parser.collectErrors();
+		read(filePath, type, parser, chunkSize, null);
+		if (rejected != null) {
+			errors.addAll(rejected);
+		}
+		return parser.table();
+	}
+
+	/**
+	 * Hands every row to the handler in batches. When errors is not null,
+	 * malformed lines are skipped and reported there instead of ending the
+	 * pass.
+	 */
+	static <E, T extends IplTable<E>> long stream(String filePath, TableType<E, T> type, int chunkSize,
+			RowHandler<T> handler, List<IngestError> errors) throws IplAnalyserException {
+		FactsheetParser<T> parser = type.newParser(1024);
+		List<IngestError> rejected = errors == null ? null : parser.collectErrors();
+		long rows = read(filePath, type, parser, chunkSize, handler);
+		if (rejected != null) {
+			errors.addAll(rejected);
+		}
+		return rows;
+	}
+
+	private static <E, T extends IplTable<E>> long read(String filePath, TableType<E, T> type,
+			FactsheetParser<T> parser, int chunkSize, RowHandler<T> handler) throws IplAnalyserException {
+		long rows = 0;
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			long size = channel.size();
+			long position = 0;
+			byte[] buffer = new byte[(int) Math.max(1, Math.min(chunkSize, size))];
+			int filled = 0;
+			boolean endOfInput = size == 0;
+			while (true) {
+				if (!endOfInput) {
+					if (filled == buffer.length) {
+						buffer = Arrays.copyOf(buffer, buffer.length * 2);
+					}
+					int length = (int) Math.min(buffer.length - filled, size - position);
+					MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+					window.get(buffer, filled, length);
+					filled += length;
+					position += length;
+					endOfInput = position >= size;
+				}
+				int consumed = parser.parse(buffer, 0, filled, !parser.hasHeader(), endOfInput);
+				if (handler != null) {
+					T table = parser.table();
+					for (int row = 0; row < table.size(); row++) {
+						handler.handle(table, row);
+					}
+					rows += table.size();
+					type.clear(table);
+				}
+				System.arraycopy(buffer, consumed, buffer, 0, filled - consumed);
+				filled -= consumed;
+				if (endOfInput) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			throw new IplAnalyserException("Invalid File Path For Code Data", ExceptionType.CENSUS_FILE_PROBLEM);
+		}
+		return handler == null ? parser.table().size() : rows;
+	}
+}
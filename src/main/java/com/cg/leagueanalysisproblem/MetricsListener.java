@@ -0,0 +1,13 @@
+package com.cg.leagueanalysisproblem;
+
+import com.cg.leagueanalysisproblem.IplMetrics.Phase;
+
+/**
+ * Receives every completed phase while metrics are enabled, for forwarding
+ * to an external metrics system. Called on the thread that ran the phase,
+ * so implementations should return quickly.
+ */
+@FunctionalInterface
+public interface MetricsListener {
+	void phaseCompleted(Phase phase, long elapsedNanos, long rows, long bytes, long allocatedBytes);
+}
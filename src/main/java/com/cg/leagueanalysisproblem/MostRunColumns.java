@@ -0,0 +1,170 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Columnar batting table: the numeric columns of {@link MostRun} read
+ * through per-row accessors and dictionary-encoded player names. Beans are
+ * only created when a caller asks for a row. {@link HeapRunColumns} keeps a
+ * primitive array per column and {@link OffHeapRunColumns} fixed-width
+ * records outside the heap. Text cells the numbers cannot reproduce, such as
+ * "04" or an empty POS, are kept in {@link CellText} by both.
+ */
+public abstract class MostRunColumns implements IplTable<MostRun> {
+	private final CellText texts = new CellText(MostRunField.values().length);
+
+	MostRunColumns() {
+	}
+
+	void add(MostRun record) {
+		add(Cells.toInt(record.getPos()), record.getPlayer(), Cells.toInt(record.getMatches()),
+				Cells.toInt(record.getInnings()), Cells.toInt(record.getNotOuts()), record.getRuns(),
+				Cells.toScore(record.getHighestScore()), Cells.isNotOut(record.getHighestScore()), record.getAvg(),
+				Cells.toInt(record.getBallsFaced()), record.getStrikeRate(), record.getHundreds(),
+				record.getFifties(), record.getFours(), record.getSixes());
+		int row = size() - 1;
+		texts.put(row, MostRunField.POS.ordinal(), record.getPos(), Cells.toText(pos(row)));
+		texts.put(row, MostRunField.MATCHES.ordinal(), record.getMatches(), Cells.toText(matches(row)));
+		texts.put(row, MostRunField.INNINGS.ordinal(), record.getInnings(), Cells.toText(innings(row)));
+		texts.put(row, MostRunField.NOT_OUTS.ordinal(), record.getNotOuts(), Cells.toText(notOuts(row)));
+		texts.put(row, MostRunField.HIGHEST_SCORE.ordinal(), record.getHighestScore(),
+				Cells.toScoreText(highestScore(row), highestScoreNotOut(row)));
+		texts.put(row, MostRunField.BALLS_FACED.ordinal(), record.getBallsFaced(), Cells.toText(ballsFaced(row)));
+	}
+
+	abstract void add(int pos, String player, int matches, int innings, int notOuts, long runs, int highestScore,
+			boolean highestScoreNotOut, double avg, int ballsFaced, double strikeRate, int hundreds, int fifties,
+			int fours, int sixes);
+
+	abstract void append(MostRunColumns source, int sourceRow);
+
+	/**
+	 * Overwrites an existing row with a row of another table, for in-place
+	 * corrections.
+	 */
+	abstract void set(int row, MostRunColumns source, int sourceRow);
+
+	abstract void removeLast();
+
+	abstract void clear();
+
+	/**
+	 * Kept text of the cells that the numeric columns cannot reproduce.
+	 */
+	CellText texts() {
+		return texts;
+	}
+
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeInt(size());
+		DatasetSnapshot.writeInts(out, this::pos, size());
+		DatasetSnapshot.writeInts(out, this::playerCode, size());
+		DatasetSnapshot.writeInts(out, this::matches, size());
+		DatasetSnapshot.writeInts(out, this::innings, size());
+		DatasetSnapshot.writeInts(out, this::notOuts, size());
+		DatasetSnapshot.writeLongs(out, this::runs, size());
+		DatasetSnapshot.writeInts(out, this::highestScore, size());
+		DatasetSnapshot.writeBooleans(out, this::highestScoreNotOut, size());
+		DatasetSnapshot.writeDoubles(out, this::avg, size());
+		DatasetSnapshot.writeInts(out, this::ballsFaced, size());
+		DatasetSnapshot.writeDoubles(out, this::strikeRate, size());
+		DatasetSnapshot.writeInts(out, this::hundreds, size());
+		DatasetSnapshot.writeInts(out, this::fifties, size());
+		DatasetSnapshot.writeInts(out, this::fours, size());
+		DatasetSnapshot.writeInts(out, this::sixes, size());
+		DatasetSnapshot.writeStrings(out, getPlayers());
+		texts.writeTo(out);
+	}
+
+	@Override
+	public MostRun row(int row) {
+		MostRun record = new MostRun();
+		record.setPos(posText(row));
+		record.setPlayer(player(row));
+		record.setMatches(matchesText(row));
+		record.setInnings(inningsText(row));
+		record.setNotOuts(notOutsText(row));
+		record.setRuns(runs(row));
+		record.setHighestScore(highestScoreText(row));
+		record.setAvg(avg(row) != avg(row) ? null : avg(row));
+		record.setBallsFaced(ballsFacedText(row));
+		record.setStrikeRate(strikeRate(row));
+		record.setHundreds(hundreds(row));
+		record.setFifties(fifties(row));
+		record.setFours(fours(row));
+		record.setSixes(sixes(row));
+		return record;
+	}
+
+	public abstract PlayerDictionary getPlayers();
+
+	public abstract String player(int row);
+
+	public abstract int playerCode(int row);
+
+	public abstract int pos(int row);
+
+	public abstract int matches(int row);
+
+	public abstract int innings(int row);
+
+	public abstract int notOuts(int row);
+
+	public abstract long runs(int row);
+
+	public abstract int highestScore(int row);
+
+	public abstract boolean highestScoreNotOut(int row);
+
+	public abstract double avg(int row);
+
+	public abstract int ballsFaced(int row);
+
+	public abstract double strikeRate(int row);
+
+	public abstract int hundreds(int row);
+
+	public abstract int fifties(int row);
+
+	public abstract int fours(int row);
+
+	public abstract int sixes(int row);
+
+	public int boundaries(int row) {
+		return fours(row) + sixes(row);
+	}
+
+	public int centuries(int row) {
+		return hundreds(row) + fifties(row);
+	}
+
+	/**
+	 * Text of the POS cell as it was read, which may be null for an empty
+	 * cell. The other text accessors are the same for their cells.
+	 */
+	public String posText(int row) {
+		return texts.get(row, MostRunField.POS.ordinal(), Cells.toText(pos(row)));
+	}
+
+	public String matchesText(int row) {
+		return texts.get(row, MostRunField.MATCHES.ordinal(), Cells.toText(matches(row)));
+	}
+
+	public String inningsText(int row) {
+		return texts.get(row, MostRunField.INNINGS.ordinal(), Cells.toText(innings(row)));
+	}
+
+	public String notOutsText(int row) {
+		return texts.get(row, MostRunField.NOT_OUTS.ordinal(), Cells.toText(notOuts(row)));
+	}
+
+	public String highestScoreText(int row) {
+		return texts.get(row, MostRunField.HIGHEST_SCORE.ordinal(),
+				Cells.toScoreText(highestScore(row), highestScoreNotOut(row)));
+	}
+
+	public String ballsFacedText(int row) {
+		return texts.get(row, MostRunField.BALLS_FACED.ordinal(), Cells.toText(ballsFaced(row)));
+	}
+}
@@ -0,0 +1,107 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Fields of {@link MostRun} in declaration order, written straight from
+ * {@link MostRunColumns} for streamed and projected output.
+ */
+public enum MostRunField implements ColumnField<MostRunColumns> {
+	POS("pos") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.posText(row));
+		}
+	},
+	PLAYER("player") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.player(row));
+		}
+	},
+	MATCHES("matches") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.matchesText(row));
+		}
+	},
+	INNINGS("innings") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.inningsText(row));
+		}
+	},
+	NOT_OUTS("notOuts") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.notOutsText(row));
+		}
+	},
+	RUNS("runs") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.runs(row));
+		}
+	},
+	HIGHEST_SCORE("highestScore") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.highestScoreText(row));
+		}
+	},
+	AVG("avg") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			RankingJsonWriter.writeDouble(json, columns.avg(row));
+		}
+	},
+	BALLS_FACED("ballsFaced") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.ballsFacedText(row));
+		}
+	},
+	STRIKE_RATE("strikeRate") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			RankingJsonWriter.writeDouble(json, columns.strikeRate(row));
+		}
+	},
+	HUNDREDS("hundreds") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.hundreds(row));
+		}
+	},
+	FIFTIES("fifties") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.fifties(row));
+		}
+	},
+	FOURS("fours") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.fours(row));
+		}
+	},
+	SIXES("sixes") {
+		@Override
+		public void write(JsonWriter json, MostRunColumns columns, int row) throws IOException {
+			json.value(columns.sixes(row));
+		}
+	};
+
+	private final String jsonName;
+
+	private MostRunField(String jsonName) {
+		this.jsonName = jsonName;
+	}
+
+	@Override
+	public String jsonName() {
+		return jsonName;
+	}
+}
@@ -0,0 +1,33 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Fast parser for the most-runs factsheet, writing straight into
+ * {@link MostRunColumns}.
+ */
+class MostRunParser extends FactsheetParser<MostRunColumns> {
+	static final String[] HEADERS = { "POS", "PLAYER", "Mat", "Inns", "NO", "Runs", "HS", "Avg", "BF", "SR", "100",
+			"50", "4s", "6s" };
+	private static final int POS = 0, PLAYER = 1, MATCHES = 2, INNINGS = 3, NOT_OUTS = 4, RUNS = 5, HIGHEST_SCORE = 6,
+			AVG = 7, BALLS_FACED = 8, STRIKE_RATE = 9, HUNDREDS = 10, FIFTIES = 11, FOURS = 12, SIXES = 13;
+
+	private final MostRunColumns columns;
+
+	MostRunParser(int capacity) {
+		super(HEADERS);
+		this.columns = new HeapRunColumns(capacity);
+	}
+
+	@Override
+	MostRunColumns table() {
+		return columns;
+	}
+
+	@Override
+	void row() throws IplAnalyserException {
+		columns.add(intText(POS), text(PLAYER), intText(MATCHES), intText(INNINGS), intText(NOT_OUTS),
+				longValue(RUNS), score(HIGHEST_SCORE), isNotOut(HIGHEST_SCORE), nullableDouble(AVG),
+				intText(BALLS_FACED), doubleValue(STRIKE_RATE), intValue(HUNDREDS), intValue(FIFTIES),
+				intValue(FOURS), intValue(SIXES));
+		keepTexts(columns.texts(), columns.size() - 1);
+	}
+}
@@ -0,0 +1,104 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Numeric columns of {@link MostRunColumns} for range filters and ranking
+ * specs. Runs, average and strike rate are indexed. Missing cells read as
+ * NaN.
+ */
+public enum MostRunStat implements StatColumn<MostRunColumns> {
+	MATCHES(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return Cells.toNumber(columns.matches(row));
+		}
+	},
+	INNINGS(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return Cells.toNumber(columns.innings(row));
+		}
+	},
+	NOT_OUTS(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return Cells.toNumber(columns.notOuts(row));
+		}
+	},
+	RUNS(true) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.runs(row);
+		}
+	},
+	HIGHEST_SCORE(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return Cells.toNumber(columns.highestScore(row));
+		}
+	},
+	AVG(true) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.avg(row);
+		}
+	},
+	BALLS_FACED(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return Cells.toNumber(columns.ballsFaced(row));
+		}
+	},
+	SR(true) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.strikeRate(row);
+		}
+	},
+	HUNDREDS(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.hundreds(row);
+		}
+	},
+	FIFTIES(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.fifties(row);
+		}
+	},
+	FOURS(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.fours(row);
+		}
+	},
+	SIXES(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.sixes(row);
+		}
+	},
+	BOUNDARIES(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.boundaries(row);
+		}
+	},
+	CENTURIES(false) {
+		@Override
+		public double value(MostRunColumns columns, int row) {
+			return columns.centuries(row);
+		}
+	};
+
+	private final boolean indexed;
+
+	MostRunStat(boolean indexed) {
+		this.indexed = indexed;
+	}
+
+	@Override
+	public boolean isIndexed() {
+		return indexed;
+	}
+}
@@ -0,0 +1,156 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Columnar bowling table: the numeric columns of {@link MostWicket} read
+ * through per-row accessors, with player names and best-bowling figures
+ * dictionary-encoded. Overs are kept as balls bowled. {@link HeapWicketColumns}
+ * keeps a primitive array per column and {@link OffHeapWicketColumns}
+ * fixed-width records outside the heap. Text cells the numbers cannot
+ * reproduce, such as "4.0" or an empty POS, are kept in {@link CellText} by
+ * both.
+ */
+public abstract class MostWicketColumns implements IplTable<MostWicket> {
+	private final CellText texts = new CellText(MostWicketField.values().length);
+
+	MostWicketColumns() {
+	}
+
+	void add(MostWicket record) {
+		add(Cells.toInt(record.getPos()), record.getPlayer(), Cells.toInt(record.getMatches()),
+				Cells.toInt(record.getInnings()), Cells.toBalls(record.getOvers()), Cells.toInt(record.getRuns()),
+				record.getWickets(), record.getBbi(), record.getAvg(), record.getEconomy(), record.getStrikeRate(),
+				record.getFourWickets(), record.getFiveWickets());
+		int row = size() - 1;
+		texts.put(row, MostWicketField.POS.ordinal(), record.getPos(), Cells.toText(pos(row)));
+		texts.put(row, MostWicketField.MATCHES.ordinal(), record.getMatches(), Cells.toText(matches(row)));
+		texts.put(row, MostWicketField.INNINGS.ordinal(), record.getInnings(), Cells.toText(innings(row)));
+		texts.put(row, MostWicketField.OVERS.ordinal(), record.getOvers(), Cells.toOversText(ballsBowled(row)));
+		texts.put(row, MostWicketField.RUNS.ordinal(), record.getRuns(), Cells.toText(runs(row)));
+	}
+
+	abstract void add(int pos, String player, int matches, int innings, int ballsBowled, int runs, int wickets,
+			String bbi, double avg, double economy, double strikeRate, int fourWickets, int fiveWickets);
+
+	abstract void append(MostWicketColumns source, int sourceRow);
+
+	/**
+	 * Overwrites an existing row with a row of another table, for in-place
+	 * corrections.
+	 */
+	abstract void set(int row, MostWicketColumns source, int sourceRow);
+
+	abstract void removeLast();
+
+	abstract void clear();
+
+	/**
+	 * Kept text of the cells that the numeric columns cannot reproduce.
+	 */
+	CellText texts() {
+		return texts;
+	}
+
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeInt(size());
+		DatasetSnapshot.writeInts(out, this::pos, size());
+		DatasetSnapshot.writeInts(out, this::playerCode, size());
+		DatasetSnapshot.writeInts(out, this::matches, size());
+		DatasetSnapshot.writeInts(out, this::innings, size());
+		DatasetSnapshot.writeInts(out, this::ballsBowled, size());
+		DatasetSnapshot.writeInts(out, this::runs, size());
+		DatasetSnapshot.writeInts(out, this::wickets, size());
+		DatasetSnapshot.writeInts(out, this::bbiCode, size());
+		DatasetSnapshot.writeDoubles(out, this::avg, size());
+		DatasetSnapshot.writeDoubles(out, this::economy, size());
+		DatasetSnapshot.writeDoubles(out, this::strikeRate, size());
+		DatasetSnapshot.writeInts(out, this::fourWickets, size());
+		DatasetSnapshot.writeInts(out, this::fiveWickets, size());
+		DatasetSnapshot.writeStrings(out, getPlayers());
+		DatasetSnapshot.writeStrings(out, getBestBowling());
+		texts.writeTo(out);
+	}
+
+	@Override
+	public MostWicket row(int row) {
+		MostWicket record = new MostWicket();
+		record.setPos(posText(row));
+		record.setPlayer(player(row));
+		record.setMatches(matchesText(row));
+		record.setInnings(inningsText(row));
+		record.setOvers(oversText(row));
+		record.setRuns(runsText(row));
+		record.setWickets(wickets(row));
+		record.setBbi(bbi(row));
+		record.setAvg(avg(row));
+		record.setEconomy(economy(row));
+		record.setStrikeRate(strikeRate(row));
+		record.setFourWickets(fourWickets(row));
+		record.setFiveWickets(fiveWickets(row));
+		return record;
+	}
+
+	public abstract PlayerDictionary getPlayers();
+
+	public abstract String player(int row);
+
+	public abstract int playerCode(int row);
+
+	public abstract int pos(int row);
+
+	public abstract int matches(int row);
+
+	public abstract int innings(int row);
+
+	public abstract int ballsBowled(int row);
+
+	public abstract int runs(int row);
+
+	public abstract int wickets(int row);
+
+	public abstract String bbi(int row);
+
+	abstract int bbiCode(int row);
+
+	abstract PlayerDictionary getBestBowling();
+
+	public abstract double avg(int row);
+
+	public abstract double economy(int row);
+
+	public abstract double strikeRate(int row);
+
+	public abstract int fourWickets(int row);
+
+	public abstract int fiveWickets(int row);
+
+	public int fourAndFiveWickets(int row) {
+		return fourWickets(row) + fiveWickets(row);
+	}
+
+	/**
+	 * Text of the POS cell as it was read, which may be null for an empty
+	 * cell. The other text accessors are the same for their cells.
+	 */
+	public String posText(int row) {
+		return texts.get(row, MostWicketField.POS.ordinal(), Cells.toText(pos(row)));
+	}
+
+	public String matchesText(int row) {
+		return texts.get(row, MostWicketField.MATCHES.ordinal(), Cells.toText(matches(row)));
+	}
+
+	public String inningsText(int row) {
+		return texts.get(row, MostWicketField.INNINGS.ordinal(), Cells.toText(innings(row)));
+	}
+
+	public String oversText(int row) {
+		return texts.get(row, MostWicketField.OVERS.ordinal(), Cells.toOversText(ballsBowled(row)));
+	}
+
+	public String runsText(int row) {
+		return texts.get(row, MostWicketField.RUNS.ordinal(), Cells.toText(runs(row)));
+	}
+}
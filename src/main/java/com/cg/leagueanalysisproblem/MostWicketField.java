@@ -0,0 +1,101 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Fields of {@link MostWicket} in declaration order, written straight from
+ * {@link MostWicketColumns} for streamed and projected output.
+ */
+public enum MostWicketField implements ColumnField<MostWicketColumns> {
+	POS("pos") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.posText(row));
+		}
+	},
+	PLAYER("player") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.player(row));
+		}
+	},
+	MATCHES("matches") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.matchesText(row));
+		}
+	},
+	INNINGS("innings") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.inningsText(row));
+		}
+	},
+	OVERS("overs") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.oversText(row));
+		}
+	},
+	RUNS("runs") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.runsText(row));
+		}
+	},
+	WICKETS("wickets") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.wickets(row));
+		}
+	},
+	BBI("bbi") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.bbi(row));
+		}
+	},
+	AVG("avg") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			RankingJsonWriter.writeDouble(json, columns.avg(row));
+		}
+	},
+	ECONOMY("economy") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			RankingJsonWriter.writeDouble(json, columns.economy(row));
+		}
+	},
+	STRIKE_RATE("strikeRate") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			RankingJsonWriter.writeDouble(json, columns.strikeRate(row));
+		}
+	},
+	FOUR_WICKETS("fourWickets") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.fourWickets(row));
+		}
+	},
+	FIVE_WICKETS("fiveWickets") {
+		@Override
+		public void write(JsonWriter json, MostWicketColumns columns, int row) throws IOException {
+			json.value(columns.fiveWickets(row));
+		}
+	};
+
+	private final String jsonName;
+
+	private MostWicketField(String jsonName) {
+		this.jsonName = jsonName;
+	}
+
+	@Override
+	public String jsonName() {
+		return jsonName;
+	}
+}
@@ -0,0 +1,32 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Fast parser for the most-wickets factsheet, writing straight into
+ * {@link MostWicketColumns}.
+ */
+class MostWicketParser extends FactsheetParser<MostWicketColumns> {
+	static final String[] HEADERS = { "POS", "PLAYER", "Mat", "Inns", "Ov", "Runs", "Wkts", "BBI", "Avg", "Econ",
+			"SR", "4w", "5w" };
+	private static final int POS = 0, PLAYER = 1, MATCHES = 2, INNINGS = 3, OVERS = 4, RUNS = 5, WICKETS = 6,
+			BBI = 7, AVG = 8, ECONOMY = 9, STRIKE_RATE = 10, FOUR_WICKETS = 11, FIVE_WICKETS = 12;
+
+	private final MostWicketColumns columns;
+
+	MostWicketParser(int capacity) {
+		super(HEADERS);
+		this.columns = new HeapWicketColumns(capacity);
+	}
+
+	@Override
+	MostWicketColumns table() {
+		return columns;
+	}
+
+	@Override
+	void row() throws IplAnalyserException {
+		columns.add(intText(POS), text(PLAYER), intText(MATCHES), intText(INNINGS), ballsBowled(OVERS),
+				intText(RUNS), intValue(WICKETS), text(BBI), doubleValue(AVG), doubleValue(ECONOMY),
+				doubleValue(STRIKE_RATE), intValue(FOUR_WICKETS), intValue(FIVE_WICKETS));
+		keepTexts(columns.texts(), columns.size() - 1);
+	}
+}
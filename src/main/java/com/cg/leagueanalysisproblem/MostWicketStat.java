@@ -0,0 +1,86 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Numeric columns of {@link MostWicketColumns} for range filters and ranking
+ * specs. Wickets, average, economy and strike rate are indexed. Missing
+ * cells read as NaN.
+ */
+public enum MostWicketStat implements StatColumn<MostWicketColumns> {
+	MATCHES(false) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return Cells.toNumber(columns.matches(row));
+		}
+	},
+	INNINGS(false) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return Cells.toNumber(columns.innings(row));
+		}
+	},
+	BALLS_BOWLED(false) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return Cells.toNumber(columns.ballsBowled(row));
+		}
+	},
+	RUNS(false) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return Cells.toNumber(columns.runs(row));
+		}
+	},
+	WICKETS(true) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return columns.wickets(row);
+		}
+	},
+	AVG(true) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return columns.avg(row);
+		}
+	},
+	ECONOMY(true) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return columns.economy(row);
+		}
+	},
+	SR(true) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return columns.strikeRate(row);
+		}
+	},
+	FOUR_WICKETS(false) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return columns.fourWickets(row);
+		}
+	},
+	FIVE_WICKETS(false) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return columns.fiveWickets(row);
+		}
+	},
+	FOUR_AND_FIVE_WICKETS(false) {
+		@Override
+		public double value(MostWicketColumns columns, int row) {
+			return columns.fourAndFiveWickets(row);
+		}
+	};
+
+	private final boolean indexed;
+
+	MostWicketStat(boolean indexed) {
+		this.indexed = indexed;
+	}
+
+	@Override
+	public boolean isIndexed() {
+		return indexed;
+	}
+}
@@ -0,0 +1,129 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Fixed-width records in direct byte buffers outside the Java heap. Rows are
+ * packed into segments of a fixed number of records, so growing the store
+ * allocates one more segment instead of copying the old ones, and the heap
+ * only holds one small buffer object per segment however many rows there
+ * are. Reads use absolute offsets and are safe from several threads while
+ * nothing is written.
+ */
+final class OffHeapRecords {
+	private static final int SEGMENT_SHIFT = 14;
+	private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+	private final int width;
+	private ByteBuffer[] segments = new ByteBuffer[0];
+	private int size;
+
+	OffHeapRecords(int width) {
+		this.width = width;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Reserves the next record and returns its row. Every field of it has to
+	 * be written before it is read.
+	 */
+	int add() {
+		int segment = size >>> SEGMENT_SHIFT;
+		if (segment == segments.length) {
+			segments = Arrays.copyOf(segments, segment + 1);
+		}
+		if (segments[segment] == null) {
+			segments[segment] = ByteBuffer.allocateDirect(width << SEGMENT_SHIFT).order(ByteOrder.nativeOrder());
+		}
+		return size++;
+	}
+
+	/**
+	 * Reserves the next count records, which are then filled a field at a
+	 * time by the read methods.
+	 */
+	void reserve(int count) {
+		for (int i = 0; i < count; i++) {
+			add();
+		}
+	}
+
+	void removeLast() {
+		size--;
+	}
+
+	/**
+	 * Drops every record. The segments are released when the buffers are
+	 * collected.
+	 */
+	void clear() {
+		segments = new ByteBuffer[0];
+		size = 0;
+	}
+
+	int getInt(int row, int field) {
+		return segments[row >>> SEGMENT_SHIFT].getInt((row & SEGMENT_MASK) * width + field);
+	}
+
+	long getLong(int row, int field) {
+		return segments[row >>> SEGMENT_SHIFT].getLong((row & SEGMENT_MASK) * width + field);
+	}
+
+	double getDouble(int row, int field) {
+		return segments[row >>> SEGMENT_SHIFT].getDouble((row & SEGMENT_MASK) * width + field);
+	}
+
+	boolean getBoolean(int row, int field) {
+		return segments[row >>> SEGMENT_SHIFT].get((row & SEGMENT_MASK) * width + field) != 0;
+	}
+
+	void putInt(int row, int field, int value) {
+		segments[row >>> SEGMENT_SHIFT].putInt((row & SEGMENT_MASK) * width + field, value);
+	}
+
+	void putLong(int row, int field, long value) {
+		segments[row >>> SEGMENT_SHIFT].putLong((row & SEGMENT_MASK) * width + field, value);
+	}
+
+	void putDouble(int row, int field, double value) {
+		segments[row >>> SEGMENT_SHIFT].putDouble((row & SEGMENT_MASK) * width + field, value);
+	}
+
+	void putBoolean(int row, int field, boolean value) {
+		segments[row >>> SEGMENT_SHIFT].put((row & SEGMENT_MASK) * width + field, (byte) (value ? 1 : 0));
+	}
+
+	/**
+	 * Fills one field of every record from a snapshot column, which holds
+	 * one value per record in row order. The other read methods are the same
+	 * for their types.
+	 */
+	void readInts(ByteBuffer in, int field) {
+		for (int row = 0; row < size; row++) {
+			putInt(row, field, in.getInt());
+		}
+	}
+
+	void readLongs(ByteBuffer in, int field) {
+		for (int row = 0; row < size; row++) {
+			putLong(row, field, in.getLong());
+		}
+	}
+
+	void readDoubles(ByteBuffer in, int field) {
+		for (int row = 0; row < size; row++) {
+			putDouble(row, field, in.getDouble());
+		}
+	}
+
+	void readBooleans(ByteBuffer in, int field) {
+		for (int row = 0; row < size; row++) {
+			putBoolean(row, field, in.get() != 0);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link MostRunColumns} stored outside the Java heap: one fixed-width
+ * record per row in {@link OffHeapRecords} and player names in an
+ * {@link OffHeapStringTable}. The heap holds a few buffer objects however
+ * many rows are loaded, so a large archive adds no work for the garbage
+ * collector. Sorts, filters and rankings read it through the same accessors
+ * as the heap table. The rare {@link CellText} entries stay on the heap.
+ */
+final class OffHeapRunColumns extends MostRunColumns {
+	private static final int RUNS = 0, AVG = 8, STRIKE_RATE = 16, POS = 24, PLAYER = 28, MATCHES = 32,
+			INNINGS = 36, NOT_OUTS = 40, HIGHEST_SCORE = 44, BALLS_FACED = 48, HUNDREDS = 52, FIFTIES = 56,
+			FOURS = 60, SIXES = 64, HIGHEST_SCORE_NOT_OUT = 68, WIDTH = 72;
+
+	private final OffHeapRecords records = new OffHeapRecords(WIDTH);
+	private OffHeapStringTable players = new OffHeapStringTable();
+
+	@Override
+	void add(int pos, String player, int matches, int innings, int notOuts, long runs, int highestScore,
+			boolean highestScoreNotOut, double avg, int ballsFaced, double strikeRate, int hundreds, int fifties,
+			int fours, int sixes) {
+		put(records.add(), pos, player, matches, innings, notOuts, runs, highestScore, highestScoreNotOut, avg,
+				ballsFaced, strikeRate, hundreds, fifties, fours, sixes);
+	}
+
+	@Override
+	void append(MostRunColumns source, int sourceRow) {
+		set(records.add(), source, sourceRow);
+	}
+
+	@Override
+	void set(int row, MostRunColumns source, int sourceRow) {
+		put(row, source.pos(sourceRow), source.player(sourceRow), source.matches(sourceRow),
+				source.innings(sourceRow), source.notOuts(sourceRow), source.runs(sourceRow),
+				source.highestScore(sourceRow), source.highestScoreNotOut(sourceRow), source.avg(sourceRow),
+				source.ballsFaced(sourceRow), source.strikeRate(sourceRow), source.hundreds(sourceRow),
+				source.fifties(sourceRow), source.fours(sourceRow), source.sixes(sourceRow));
+		texts().copy(row, source.texts(), sourceRow);
+	}
+
+	private void put(int row, int pos, String player, int matches, int innings, int notOuts, long runs,
+			int highestScore, boolean highestScoreNotOut, double avg, int ballsFaced, double strikeRate,
+			int hundreds, int fifties, int fours, int sixes) {
+		records.putLong(row, RUNS, runs);
+		records.putDouble(row, AVG, avg);
+		records.putDouble(row, STRIKE_RATE, strikeRate);
+		records.putInt(row, POS, pos);
+		records.putInt(row, PLAYER, players.encode(player));
+		records.putInt(row, MATCHES, matches);
+		records.putInt(row, INNINGS, innings);
+		records.putInt(row, NOT_OUTS, notOuts);
+		records.putInt(row, HIGHEST_SCORE, highestScore);
+		records.putInt(row, BALLS_FACED, ballsFaced);
+		records.putInt(row, HUNDREDS, hundreds);
+		records.putInt(row, FIFTIES, fifties);
+		records.putInt(row, FOURS, fours);
+		records.putInt(row, SIXES, sixes);
+		records.putBoolean(row, HIGHEST_SCORE_NOT_OUT, highestScoreNotOut);
+	}
+
+	@Override
+	void removeLast() {
+		texts().remove(size() - 1);
+		records.removeLast();
+	}
+
+	@Override
+	void clear() {
+		records.clear();
+		texts().clear();
+		players = new OffHeapStringTable();
+	}
+
+	/**
+	 * Reads a snapshot written by {@link MostRunColumns#writeTo} straight
+	 * into off-heap records, without building the heap columns first.
+	 */
+	static OffHeapRunColumns readFrom(ByteBuffer in) {
+		OffHeapRunColumns columns = new OffHeapRunColumns();
+		OffHeapRecords records = columns.records;
+		records.reserve(in.getInt());
+		records.readInts(in, POS);
+		records.readInts(in, PLAYER);
+		records.readInts(in, MATCHES);
+		records.readInts(in, INNINGS);
+		records.readInts(in, NOT_OUTS);
+		records.readLongs(in, RUNS);
+		records.readInts(in, HIGHEST_SCORE);
+		records.readBooleans(in, HIGHEST_SCORE_NOT_OUT);
+		records.readDoubles(in, AVG);
+		records.readInts(in, BALLS_FACED);
+		records.readDoubles(in, STRIKE_RATE);
+		records.readInts(in, HUNDREDS);
+		records.readInts(in, FIFTIES);
+		records.readInts(in, FOURS);
+		records.readInts(in, SIXES);
+		DatasetSnapshot.readStrings(in, columns.players);
+		columns.texts().readFrom(in);
+		return columns;
+	}
+
+	@Override
+	public int size() {
+		return records.size();
+	}
+
+	@Override
+	public PlayerDictionary getPlayers() {
+		return players;
+	}
+
+	@Override
+	public String player(int row) {
+		return players.decode(records.getInt(row, PLAYER));
+	}
+
+	@Override
+	public int playerCode(int row) {
+		return records.getInt(row, PLAYER);
+	}
+
+	@Override
+	public int pos(int row) {
+		return records.getInt(row, POS);
+	}
+
+	@Override
+	public int matches(int row) {
+		return records.getInt(row, MATCHES);
+	}
+
+	@Override
+	public int innings(int row) {
+		return records.getInt(row, INNINGS);
+	}
+
+	@Override
+	public int notOuts(int row) {
+		return records.getInt(row, NOT_OUTS);
+	}
+
+	@Override
+	public long runs(int row) {
+		return records.getLong(row, RUNS);
+	}
+
+	@Override
+	public int highestScore(int row) {
+		return records.getInt(row, HIGHEST_SCORE);
+	}
+
+	@Override
+	public boolean highestScoreNotOut(int row) {
+		return records.getBoolean(row, HIGHEST_SCORE_NOT_OUT);
+	}
+
+	@Override
+	public double avg(int row) {
+		return records.getDouble(row, AVG);
+	}
+
+	@Override
+	public int ballsFaced(int row) {
+		return records.getInt(row, BALLS_FACED);
+	}
+
+	@Override
+	public double strikeRate(int row) {
+		return records.getDouble(row, STRIKE_RATE);
+	}
+
+	@Override
+	public int hundreds(int row) {
+		return records.getInt(row, HUNDREDS);
+	}
+
+	@Override
+	public int fifties(int row) {
+		return records.getInt(row, FIFTIES);
+	}
+
+	@Override
+	public int fours(int row) {
+		return records.getInt(row, FOURS);
+	}
+
+	@Override
+	public int sixes(int row) {
+		return records.getInt(row, SIXES);
+	}
+}
@@ -0,0 +1,175 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Player dictionary kept outside the Java heap. Every distinct name is
+ * stored once as a length-prefixed UTF-8 entry in a direct buffer, and an
+ * open-addressing hash table of codes, also off-heap, finds the code of a
+ * name by comparing bytes. Names are decoded into Strings only when asked
+ * for. Codes are dense and in first-seen order, as in
+ * {@link PlayerDictionary}.
+ */
+final class OffHeapStringTable extends PlayerDictionary {
+	private static final int NO_CODE = -1;
+
+	private ByteBuffer entries = allocate(1 << 12);
+	private ByteBuffer offsets = allocate(16 * 4);
+	private ByteBuffer slots = emptySlots(64);
+	private int slotMask = 63;
+	private int used;
+	private int size;
+	private int nullCode = NO_CODE;
+
+	@Override
+	int encode(String name) {
+		if (name == null) {
+			if (nullCode == NO_CODE) {
+				nullCode = append(null);
+			}
+			return nullCode;
+		}
+		byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+		int slot = find(utf8);
+		int code = slots.getInt(slot * 4);
+		if (code == NO_CODE) {
+			code = append(utf8);
+			slots.putInt(slot * 4, code);
+			if (size * 2 > slotMask) {
+				rehash();
+			}
+		}
+		return code;
+	}
+
+	@Override
+	public String decode(int code) {
+		int offset = offsets.getInt(code * 4);
+		int length = entries.getInt(offset);
+		if (length < 0) {
+			return null;
+		}
+		byte[] utf8 = new byte[length];
+		ByteBuffer entry = entries.duplicate();
+		entry.position(offset + 4);
+		entry.get(utf8);
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int codeOf(String name) {
+		if (name == null) {
+			return nullCode;
+		}
+		return slots.getInt(find(name.getBytes(StandardCharsets.UTF_8)) * 4);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private int append(byte[] utf8) {
+		int length = utf8 == null ? 0 : utf8.length;
+		if ((size + 1) * 4 > offsets.capacity()) {
+			offsets = grow(offsets, (size + 1) * 4);
+		}
+		if (used + 4 + length > entries.capacity()) {
+			entries = grow(entries, used + 4 + length);
+		}
+		offsets.putInt(size * 4, used);
+		entries.putInt(used, utf8 == null ? -1 : length);
+		if (utf8 != null) {
+			ByteBuffer entry = entries.duplicate();
+			entry.position(used + 4);
+			entry.put(utf8);
+		}
+		used += 4 + length;
+		return size++;
+	}
+
+	/**
+	 * Returns the slot holding the code of the name, or the free slot where
+	 * it belongs.
+	 */
+	private int find(byte[] utf8) {
+		int slot = mix(hash(utf8)) & slotMask;
+		while (true) {
+			int code = slots.getInt(slot * 4);
+			if (code == NO_CODE || matches(code, utf8)) {
+				return slot;
+			}
+			slot = (slot + 1) & slotMask;
+		}
+	}
+
+	private boolean matches(int code, byte[] utf8) {
+		int offset = offsets.getInt(code * 4);
+		if (entries.getInt(offset) != utf8.length) {
+			return false;
+		}
+		for (int i = 0; i < utf8.length; i++) {
+			if (entries.get(offset + 4 + i) != utf8[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void rehash() {
+		slotMask = slotMask * 2 + 1;
+		slots = emptySlots(slotMask + 1);
+		for (int code = 0; code < size; code++) {
+			int offset = offsets.getInt(code * 4);
+			int length = entries.getInt(offset);
+			if (length < 0) {
+				continue;
+			}
+			int hash = 1;
+			for (int i = 0; i < length; i++) {
+				hash = 31 * hash + entries.get(offset + 4 + i);
+			}
+			int slot = mix(hash) & slotMask;
+			while (slots.getInt(slot * 4) != NO_CODE) {
+				slot = (slot + 1) & slotMask;
+			}
+			slots.putInt(slot * 4, code);
+		}
+	}
+
+	private static int hash(byte[] utf8) {
+		int hash = 1;
+		for (byte b : utf8) {
+			hash = 31 * hash + b;
+		}
+		return hash;
+	}
+
+	private static int mix(int hash) {
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	private static ByteBuffer allocate(int capacity) {
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+
+	private static ByteBuffer emptySlots(int count) {
+		ByteBuffer slots = allocate(count * 4);
+		for (int slot = 0; slot < count; slot++) {
+			slots.putInt(slot * 4, NO_CODE);
+		}
+		return slots;
+	}
+
+	private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+		ByteBuffer grown = allocate(Math.max(needed, buffer.capacity() * 2));
+		ByteBuffer old = buffer.duplicate();
+		old.clear();
+		grown.put(old);
+		grown.clear();
+		return grown;
+	}
+}
@@ -0,0 +1,189 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link MostWicketColumns} stored outside the Java heap: one fixed-width
+ * record per row in {@link OffHeapRecords}, with player names and
+ * best-bowling figures in {@link OffHeapStringTable}s. The rare
+ * {@link CellText} entries stay on the heap.
+ */
+final class OffHeapWicketColumns extends MostWicketColumns {
+	private static final int AVG = 0, ECONOMY = 8, STRIKE_RATE = 16, POS = 24, PLAYER = 28, MATCHES = 32,
+			INNINGS = 36, BALLS_BOWLED = 40, RUNS = 44, WICKETS = 48, BBI = 52, FOUR_WICKETS = 56, FIVE_WICKETS = 60,
+			WIDTH = 64;
+
+	private final OffHeapRecords records = new OffHeapRecords(WIDTH);
+	private OffHeapStringTable players = new OffHeapStringTable();
+	private OffHeapStringTable bestBowling = new OffHeapStringTable();
+
+	@Override
+	void add(int pos, String player, int matches, int innings, int ballsBowled, int runs, int wickets, String bbi,
+			double avg, double economy, double strikeRate, int fourWickets, int fiveWickets) {
+		put(records.add(), pos, player, matches, innings, ballsBowled, runs, wickets, bbi, avg, economy, strikeRate,
+				fourWickets, fiveWickets);
+	}
+
+	@Override
+	void append(MostWicketColumns source, int sourceRow) {
+		set(records.add(), source, sourceRow);
+	}
+
+	@Override
+	void set(int row, MostWicketColumns source, int sourceRow) {
+		put(row, source.pos(sourceRow), source.player(sourceRow), source.matches(sourceRow),
+				source.innings(sourceRow), source.ballsBowled(sourceRow), source.runs(sourceRow),
+				source.wickets(sourceRow), source.bbi(sourceRow), source.avg(sourceRow), source.economy(sourceRow),
+				source.strikeRate(sourceRow), source.fourWickets(sourceRow), source.fiveWickets(sourceRow));
+		texts().copy(row, source.texts(), sourceRow);
+	}
+
+	private void put(int row, int pos, String player, int matches, int innings, int ballsBowled, int runs,
+			int wickets, String bbi, double avg, double economy, double strikeRate, int fourWickets,
+			int fiveWickets) {
+		records.putDouble(row, AVG, avg);
+		records.putDouble(row, ECONOMY, economy);
+		records.putDouble(row, STRIKE_RATE, strikeRate);
+		records.putInt(row, POS, pos);
+		records.putInt(row, PLAYER, players.encode(player));
+		records.putInt(row, MATCHES, matches);
+		records.putInt(row, INNINGS, innings);
+		records.putInt(row, BALLS_BOWLED, ballsBowled);
+		records.putInt(row, RUNS, runs);
+		records.putInt(row, WICKETS, wickets);
+		records.putInt(row, BBI, bestBowling.encode(bbi));
+		records.putInt(row, FOUR_WICKETS, fourWickets);
+		records.putInt(row, FIVE_WICKETS, fiveWickets);
+	}
+
+	@Override
+	void removeLast() {
+		texts().remove(size() - 1);
+		records.removeLast();
+	}
+
+	@Override
+	void clear() {
+		records.clear();
+		texts().clear();
+		players = new OffHeapStringTable();
+		bestBowling = new OffHeapStringTable();
+	}
+
+	/**
+	 * Reads a snapshot written by {@link MostWicketColumns#writeTo} straight
+	 * into off-heap records, without building the heap columns first.
+	 */
+	static OffHeapWicketColumns readFrom(ByteBuffer in) {
+		OffHeapWicketColumns columns = new OffHeapWicketColumns();
+		OffHeapRecords records = columns.records;
+		records.reserve(in.getInt());
+		records.readInts(in, POS);
+		records.readInts(in, PLAYER);
+		records.readInts(in, MATCHES);
+		records.readInts(in, INNINGS);
+		records.readInts(in, BALLS_BOWLED);
+		records.readInts(in, RUNS);
+		records.readInts(in, WICKETS);
+		records.readInts(in, BBI);
+		records.readDoubles(in, AVG);
+		records.readDoubles(in, ECONOMY);
+		records.readDoubles(in, STRIKE_RATE);
+		records.readInts(in, FOUR_WICKETS);
+		records.readInts(in, FIVE_WICKETS);
+		DatasetSnapshot.readStrings(in, columns.players);
+		DatasetSnapshot.readStrings(in, columns.bestBowling);
+		columns.texts().readFrom(in);
+		return columns;
+	}
+
+	@Override
+	public int size() {
+		return records.size();
+	}
+
+	@Override
+	public PlayerDictionary getPlayers() {
+		return players;
+	}
+
+	@Override
+	PlayerDictionary getBestBowling() {
+		return bestBowling;
+	}
+
+	@Override
+	public String player(int row) {
+		return players.decode(records.getInt(row, PLAYER));
+	}
+
+	@Override
+	public int playerCode(int row) {
+		return records.getInt(row, PLAYER);
+	}
+
+	@Override
+	public int pos(int row) {
+		return records.getInt(row, POS);
+	}
+
+	@Override
+	public int matches(int row) {
+		return records.getInt(row, MATCHES);
+	}
+
+	@Override
+	public int innings(int row) {
+		return records.getInt(row, INNINGS);
+	}
+
+	@Override
+	public int ballsBowled(int row) {
+		return records.getInt(row, BALLS_BOWLED);
+	}
+
+	@Override
+	public int runs(int row) {
+		return records.getInt(row, RUNS);
+	}
+
+	@Override
+	public int wickets(int row) {
+		return records.getInt(row, WICKETS);
+	}
+
+	@Override
+	public String bbi(int row) {
+		return bestBowling.decode(records.getInt(row, BBI));
+	}
+
+	@Override
+	int bbiCode(int row) {
+		return records.getInt(row, BBI);
+	}
+
+	@Override
+	public double avg(int row) {
+		return records.getDouble(row, AVG);
+	}
+
+	@Override
+	public double economy(int row) {
+		return records.getDouble(row, ECONOMY);
+	}
+
+	@Override
+	public double strikeRate(int row) {
+		return records.getDouble(row, STRIKE_RATE);
+	}
+
+	@Override
+	public int fourWickets(int row) {
+		return records.getInt(row, FOUR_WICKETS);
+	}
+
+	@Override
+	public int fiveWickets(int row) {
+		return records.getInt(row, FIVE_WICKETS);
+	}
+}
@@ -0,0 +1,171 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import com.cg.leagueanalysisproblem.IplAnalyserException.ExceptionType;
+
+/**
+ * Splits a large factsheet into chunks that start and end on line breaks
+ * outside quoted cells and parses them in parallel on a fork-join pool.
+ * Every chunk gets its own parser with the shared header mapping. The
+ * partial tables are then appended in file order, so row positions stay
+ * the same as in a sequential load. The header is validated once before
+ * any chunk is parsed, and the line numbers of rejected lines are shifted
+ * by the lines of the chunks before them. For off-heap storage every chunk
+ * is copied into the off-heap table as it is joined, and its heap columns
+ * become garbage straight away.
+ */
+final class ParallelFactsheetLoader {
+	private static final int BOUNDARY_PROBE = 64 << 10;
+
+	private ParallelFactsheetLoader() {
+	}
+
+	static <E, T extends IplTable<E>> T load(String filePath, TableType<E, T> type, int chunkSize,
+			ForkJoinPool pool, List<IngestError> errors, boolean offHeap) throws IplAnalyserException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size <= chunkSize) {
+				T table = MappedFactsheetReader.load(filePath, type, chunkSize, errors);
+				return offHeap ? type.toOffHeap(table) : table;
+			}
+			List<Long> boundaries = lineBoundaries(channel, size, chunkSize);
+			byte[] header = new byte[boundaries.get(0).intValue()];
+			channel.read(ByteBuffer.wrap(header), 0);
+			type.newParser(1).mapHeader(header, 0, ChunkTask.trimLineEnd(header));
+			ChunkTask<E, T> root = new ChunkTask<>(channel, type, header, boundaries, errors,
+					offHeap ? type.newOffHeapTable() : null);
+			return ForkJoinTask.inForkJoinPool() ? root.invoke() : pool.invoke(root);
+		} catch (IOException e) {
+			throw new IplAnalyserException("Invalid File Path For Code Data", ExceptionType.CENSUS_FILE_PROBLEM);
+		} catch (RuntimeException e) {
+			throw IplAnalyserException.unwrap(e);
+		}
+	}
+
+	/**
+	 * Offsets of the line starts that split the file into chunks of about
+	 * chunkSize bytes, starting with the end of the header and ending with
+	 * the file size. A quoted cell may hold line breaks, so the file is
+	 * scanned from the start to know which of them end a line.
+	 */
+	private static List<Long> lineBoundaries(FileChannel channel, long size, int chunkSize) throws IOException {
+		List<Long> boundaries = new ArrayList<>();
+		ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE);
+		boolean quoted = false;
+		long next = 0;
+		long position = 0;
+		while (position < size) {
+			probe.clear();
+			int read = channel.read(probe, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				byte b = probe.get(i);
+				if (b == '"') {
+					quoted = !quoted;
+				} else if (b == '\n' && !quoted && position + i >= next) {
+					long lineStart = position + i + 1;
+					if (lineStart >= size) {
+						break;
+					}
+					boundaries.add(lineStart);
+					next = lineStart + chunkSize;
+				}
+			}
+			position += read;
+		}
+		if (boundaries.isEmpty()) {
+			boundaries.add(size);
+		}
+		boundaries.add(size);
+		return boundaries;
+	}
+
+	private static class ChunkTask<E, T extends IplTable<E>> extends RecursiveTask<T> {
+		private static final long serialVersionUID = 1L;
+		private final transient FileChannel channel;
+		private final transient TableType<E, T> type;
+		private final byte[] header;
+		private final List<Long> boundaries;
+		private final transient List<IngestError> errors;
+		private final transient T target;
+
+		ChunkTask(FileChannel channel, TableType<E, T> type, byte[] header, List<Long> boundaries,
+				List<IngestError> errors, T target) {
+			this.channel = channel;
+			this.type = type;
+			this.header = header;
+			this.boundaries = boundaries;
+			this.errors = errors;
+			this.target = target;
+		}
+
+		@Override
+		protected T compute() {
+			List<ForkJoinTask<FactsheetParser<T>>> chunks = new ArrayList<>();
+			for (int chunk = 0; chunk + 1 < boundaries.size(); chunk++) {
+				long from = boundaries.get(chunk);
+				long to = boundaries.get(chunk + 1);
+				chunks.add(ForkJoinTask.adapt(() -> parseChunk(from, to)).fork());
+			}
+			T merged = target;
+			long linesBefore = 1;
+			for (ForkJoinTask<FactsheetParser<T>> chunk : chunks) {
+				FactsheetParser<T> parser = chunk.join();
+				T table = parser.table();
+				if (merged == null) {
+					merged = table;
+				} else {
+					for (int row = 0; row < table.size(); row++) {
+						type.append(merged, table, row);
+					}
+				}
+				if (errors != null) {
+					for (IngestError error : parser.errors()) {
+						errors.add(error.withLineNumber(error.getLineNumber() + linesBefore));
+					}
+				}
+				linesBefore += parser.lineCount();
+			}
+			return merged;
+		}
+
+		private FactsheetParser<T> parseChunk(long from, long to) throws IplAnalyserException {
+			byte[] data = new byte[(int) (to - from)];
+			try {
+				MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, from, data.length);
+				window.get(data);
+			} catch (IOException e) {
+				throw new IplAnalyserException("Invalid File Path For Code Data", ExceptionType.CENSUS_FILE_PROBLEM);
+			}
+			FactsheetParser<T> parser = type.newParser(data.length / 48);
+			if (errors != null) {
+				parser.collectErrors();
+			}
+			parser.mapHeader(header, 0, trimLineEnd(header));
+			parser.parse(data, 0, data.length, false, true);
+			return parser;
+		}
+
+		static int trimLineEnd(byte[] line) {
+			int end = line.length;
+			while (end > 0 && (line[end - 1] == '\n' || line[end - 1] == '\r')) {
+				end--;
+			}
+			return end;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.cg.leagueanalysisproblem;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A directory of factsheets, one partition per league and season, such as
+ * IPL2019FactsheetMostRuns.csv. League and season are read from the file
+ * name. Partitions are loaded lazily through the analyser's dataset cache,
+ * so a query over a season range never reads files outside it.
+ */
+public class PartitionedDataset<E> {
+	private static final Pattern LEAGUE_AND_SEASON = Pattern.compile("([A-Za-z]*)\\D*?(\\d{4})");
+
+	public static class Partition<E> {
+		private final String league;
+		private final int season;
+		private final String filePath;
+
+		Partition(String league, int season, String filePath) {
+			this.league = league;
+			this.season = season;
+			this.filePath = filePath;
+		}
+
+		public String getLeague() {
+			return league;
+		}
+
+		public int getSeason() {
+			return season;
+		}
+
+		public String getFilePath() {
+			return filePath;
+		}
+
+		@Override
+		public String toString() {
+			return "Partition [league=" + league + ", season=" + season + ", filePath=" + filePath + "]";
+		}
+	}
+
+	private final String directory;
+	private final Class<E> classType;
+	private final IplAnalyser<?> loader;
+	private final List<Partition<E>> partitions;
+	private final int[] seasons;
+
+	PartitionedDataset(String directory, Class<E> classType, IplAnalyser<?> loader, List<String> filePaths) {
+		this.directory = directory;
+		this.classType = classType;
+		this.loader = loader;
+		List<Partition<E>> partitions = new ArrayList<>();
+		for (String filePath : filePaths) {
+			String fileName = Paths.get(filePath).getFileName().toString();
+			Matcher matcher = LEAGUE_AND_SEASON.matcher(fileName);
+			if (matcher.lookingAt()) {
+				partitions.add(new Partition<E>(matcher.group(1).toUpperCase(), Integer.parseInt(matcher.group(2)),
+						filePath));
+			}
+		}
+		partitions.sort(Comparator.comparingInt((Partition<E> partition) -> partition.season)
+				.thenComparing(partition -> partition.league).thenComparing(partition -> partition.filePath));
+		this.partitions = Collections.unmodifiableList(partitions);
+		this.seasons = new int[partitions.size()];
+		for (int i = 0; i < seasons.length; i++) {
+			seasons[i] = partitions.get(i).season;
+		}
+	}
+
+	public String getDirectory() {
+		return directory;
+	}
+
+	public Class<E> getClassType() {
+		return classType;
+	}
+
+	public List<Partition<E>> getPartitions() {
+		return partitions;
+	}
+
+	/**
+	 * Partitions of the league, or of every league when it is null, with a
+	 * season between fromSeason and toSeason inclusive. Finds the first
+	 * season by binary search and stops after the last one.
+	 */
+	public List<Partition<E>> partitions(String league, int fromSeason, int toSeason) {
+		List<Partition<E>> selected = new ArrayList<>();
+		for (int i = firstAtLeast(fromSeason); i < seasons.length && seasons[i] <= toSeason; i++) {
+			Partition<E> partition = partitions.get(i);
+			if (league == null || league.equalsIgnoreCase(partition.league)) {
+				selected.add(partition);
+			}
+		}
+		return selected;
+	}
+
+	public IplDataset<E> dataset(Partition<E> partition) throws IplAnalyserException {
+		return loader.loadDataset(partition.filePath, classType);
+	}
+
+	private int firstAtLeast(int season) {
+		int low = 0;
+		int high = seasons.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (seasons[middle] < season) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,86 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Point-in-time totals and latency percentiles of one phase. Exposed over
+ * JMX as composite data.
+ */
+public class PhaseStatistics {
+	private final String phase;
+	private final long count;
+	private final long totalNanos;
+	private final long p50Nanos;
+	private final long p90Nanos;
+	private final long p99Nanos;
+	private final long maxNanos;
+	private final long rows;
+	private final long bytes;
+	private final long allocatedBytes;
+
+	PhaseStatistics(String phase, LatencyHistogram histogram, long rows, long bytes, long allocatedBytes) {
+		this.phase = phase;
+		this.count = histogram.count();
+		this.totalNanos = histogram.totalNanos();
+		this.p50Nanos = histogram.percentileNanos(0.5);
+		this.p90Nanos = histogram.percentileNanos(0.9);
+		this.p99Nanos = histogram.percentileNanos(0.99);
+		this.maxNanos = histogram.maxNanos();
+		this.rows = rows;
+		this.bytes = bytes;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public String getPhase() {
+		return phase;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	public long getMeanNanos() {
+		return count == 0 ? 0 : totalNanos / count;
+	}
+
+	public long getP50Nanos() {
+		return p50Nanos;
+	}
+
+	public long getP90Nanos() {
+		return p90Nanos;
+	}
+
+	public long getP99Nanos() {
+		return p99Nanos;
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	public double getRowsPerSecond() {
+		return totalNanos == 0 ? 0 : rows * 1e9 / totalNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "PhaseStatistics [phase=" + phase + ", count=" + count + ", meanNanos=" + getMeanNanos()
+				+ ", p50Nanos=" + p50Nanos + ", p99Nanos=" + p99Nanos + ", maxNanos=" + maxNanos + ", rows=" + rows
+				+ ", bytes=" + bytes + ", allocatedBytes=" + allocatedBytes + "]";
+	}
+}
@@ -0,0 +1,40 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for player names, so a table stores one int per row
+ * and every distinct name only once.
+ */
+public class PlayerDictionary {
+	private String[] names = new String[16];
+	private final Map<String, Integer> codes = new HashMap<>();
+
+	int encode(String name) {
+		Integer code = codes.get(name);
+		if (code == null) {
+			code = codes.size();
+			if (code == names.length) {
+				names = Arrays.copyOf(names, code * 2);
+			}
+			names[code] = name;
+			codes.put(name, code);
+		}
+		return code;
+	}
+
+	public String decode(int code) {
+		return names[code];
+	}
+
+	public int codeOf(String name) {
+		Integer code = codes.get(name);
+		return code == null ? -1 : code;
+	}
+
+	public int size() {
+		return codes.size();
+	}
+}
@@ -0,0 +1,35 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Hash index from player name to row. The table's player dictionary maps a
+ * name to its code, and one pass over the rows maps each code to the row of
+ * its first listing, as in the all-rounder join.
+ */
+final class PlayerIndex {
+	private final PlayerDictionary players;
+	private final int[] rowOfCode;
+
+	PlayerIndex(PlayerDictionary players, int size, IntUnaryOperator playerCode) {
+		this.players = players;
+		this.rowOfCode = new int[players.size()];
+		Arrays.fill(rowOfCode, -1);
+		for (int row = 0; row < size; row++) {
+			int code = playerCode.applyAsInt(row);
+			if (rowOfCode[code] < 0) {
+				rowOfCode[code] = row;
+			}
+		}
+	}
+
+	/**
+	 * Returns the row of the player's first listing, or -1 when the player is
+	 * not in the table.
+	 */
+	int rowOf(String player) {
+		int code = players.codeOf(player);
+		return code < 0 || code >= rowOfCode.length ? -1 : rowOfCode[code];
+	}
+}
@@ -0,0 +1,62 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conjunction of closed ranges over numeric columns, such as at least 10
+ * innings and a strike rate above 150. Filters are immutable; {@link #and}
+ * returns a new one, and two ranges on one column intersect. Missing or NaN
+ * values never match a range.
+ */
+public final class RangeFilter<T> {
+	private static final RangeFilter<?> ALL = new RangeFilter<Object>(
+			Collections.<StatColumn<Object>, double[]>emptyMap());
+
+	private final Map<StatColumn<T>, double[]> ranges;
+
+	private RangeFilter(Map<StatColumn<T>, double[]> ranges) {
+		this.ranges = ranges;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> RangeFilter<T> all() {
+		return (RangeFilter<T>) ALL;
+	}
+
+	public RangeFilter<T> and(RangeFilter<T> other) {
+		RangeFilter<T> combined = this;
+		for (Map.Entry<StatColumn<T>, double[]> range : other.ranges.entrySet()) {
+			combined = combined.and(range.getKey(), range.getValue()[0], range.getValue()[1]);
+		}
+		return combined;
+	}
+
+	RangeFilter<T> and(StatColumn<T> column, double min, double max) {
+		Map<StatColumn<T>, double[]> ranges = new LinkedHashMap<>(this.ranges);
+		double[] existing = ranges.get(column);
+		if (existing != null) {
+			min = Math.max(min, existing[0]);
+			max = Math.min(max, existing[1]);
+		}
+		ranges.put(column, new double[] { min, max });
+		return new RangeFilter<T>(Collections.unmodifiableMap(ranges));
+	}
+
+	Map<StatColumn<T>, double[]> ranges() {
+		return ranges;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("RangeFilter [");
+		String separator = "";
+		for (Map.Entry<StatColumn<T>, double[]> range : ranges.entrySet()) {
+			text.append(separator).append(range.getKey()).append(" in [").append(range.getValue()[0]).append(", ")
+					.append(range.getValue()[1]).append(']');
+			separator = ", ";
+		}
+		return text.append(']').toString();
+	}
+}
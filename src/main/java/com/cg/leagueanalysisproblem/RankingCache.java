@@ -0,0 +1,151 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serialized rankings, keyed by dataset version, sort type, row limit and
+ * projection, holding the UTF-8 JSON bytes. Least recently used entries are
+ * evicted once the total size passes the byte budget. A reloaded dataset
+ * has a new version, so its rankings never match the old entries, and the
+ * analyser drops those entries when it replaces the dataset.
+ */
+public class RankingCache {
+	private final long maxBytes;
+	private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long sizeBytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	public RankingCache(long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+		}
+		this.maxBytes = maxBytes;
+	}
+
+	static Key key(IplDataset<?> dataset, Object sortType, int limit, Collection<? extends Enum<?>> fields) {
+		long projection = 0;
+		for (Enum<?> field : fields) {
+			projection |= 1L << field.ordinal();
+		}
+		return new Key(dataset.getVersion(), sortType, Math.min(limit, dataset.size()), projection);
+	}
+
+	synchronized byte[] get(Key key) {
+		byte[] json = entries.get(key);
+		if (json == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return json;
+	}
+
+	synchronized void put(Key key, byte[] json) {
+		if (json.length > maxBytes) {
+			return;
+		}
+		byte[] previous = entries.put(key, json);
+		sizeBytes += json.length - (previous == null ? 0 : previous.length);
+		Iterator<byte[]> eldest = entries.values().iterator();
+		while (sizeBytes > maxBytes) {
+			sizeBytes -= eldest.next().length;
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Drops every ranking of the dataset, for when it has been replaced by a
+	 * reload.
+	 */
+	public synchronized void invalidate(IplDataset<?> dataset) {
+		Iterator<Map.Entry<Key, byte[]>> entry = entries.entrySet().iterator();
+		while (entry.hasNext()) {
+			Map.Entry<Key, byte[]> next = entry.next();
+			if (next.getKey().version == dataset.getVersion()) {
+				sizeBytes -= next.getValue().length;
+				entry.remove();
+				invalidations++;
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		invalidations += entries.size();
+		entries.clear();
+		sizeBytes = 0;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	public synchronized long getSizeBytes() {
+		return sizeBytes;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	public synchronized long getMissCount() {
+		return misses;
+	}
+
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	public synchronized long getInvalidationCount() {
+		return invalidations;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "RankingCache [entries=" + entries.size() + ", sizeBytes=" + sizeBytes + ", maxBytes=" + maxBytes
+				+ ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", invalidations="
+				+ invalidations + "]";
+	}
+
+	static final class Key {
+		private final long version;
+		private final Object sortType;
+		private final int limit;
+		private final long projection;
+
+		Key(long version, Object sortType, int limit, long projection) {
+			this.version = version;
+			this.sortType = sortType;
+			this.limit = limit;
+			this.projection = projection;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return version == key.version && sortType.equals(key.sortType) && limit == key.limit
+					&& projection == key.projection;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Long.hashCode(version);
+			result = 31 * result + sortType.hashCode();
+			result = 31 * result + limit;
+			return 31 * result + Long.hashCode(projection);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.cg.leagueanalysisproblem;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Stateless, thread-safe JSON serializer for rankings. Rows are written one
+ * by one from the columns to the caller's writer, with the same names,
+ * escaping and null handling as {@code new Gson().toJson(list)}, so no
+ * intermediate beans or result String are built.
+ */
+final class RankingJsonWriter {
+	static final Gson GSON = new Gson();
+
+	private RankingJsonWriter() {
+	}
+
+	static <T> void write(Writer writer, T table, int[] rows, int limit,
+			Collection<? extends ColumnField<T>> fields) throws IOException {
+		JsonWriter json = new JsonWriter(writer);
+		json.setHtmlSafe(true);
+		json.setSerializeNulls(false);
+		json.beginArray();
+		for (int i = 0; i < limit; i++) {
+			json.beginObject();
+			for (ColumnField<T> field : fields) {
+				json.name(field.jsonName());
+				field.write(json, table, rows[i]);
+			}
+			json.endObject();
+		}
+		json.endArray();
+		json.flush();
+	}
+
+	static void writeDouble(JsonWriter json, double value) throws IOException {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			json.nullValue();
+		} else {
+			json.value(value);
+		}
+	}
+}
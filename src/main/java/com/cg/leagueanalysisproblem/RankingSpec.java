@@ -0,0 +1,217 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Declarative ranking: an ordered list of rules, each a numeric column with
+ * a direction and a place for missing values, applied in turn until two rows
+ * differ. Rows equal on every rule keep file order. For example
+ * {@code BOUNDARIES DESC, AVG DESC NULLS LAST}.
+ *
+ * Specs are immutable. Each rule is compiled once, when the spec is built,
+ * into an encoder that turns a cell into an order-preserving long, so
+ * binding a spec to a table and precomputing its keys involves no parsing or
+ * reflection. Equal specs are interchangeable and share sort indexes and
+ * cached results.
+ */
+public final class RankingSpec<T> {
+	public enum Direction {
+		ASC, DESC,
+	}
+
+	public enum Nulls {
+		FIRST, LAST,
+	}
+
+	private final List<Rule<T>> rules;
+	private final List<KeyEncoder<T>> encoders;
+
+	private RankingSpec(List<Rule<T>> rules) {
+		this.rules = Collections.unmodifiableList(rules);
+		this.encoders = new ArrayList<>(rules.size());
+		for (Rule<T> rule : rules) {
+			encoders.add(rule.compile());
+		}
+	}
+
+	public static <T> RankingSpec<T> by(StatColumn<T> column, Direction direction) {
+		return by(column, direction, Nulls.LAST);
+	}
+
+	public static <T> RankingSpec<T> by(StatColumn<T> column, Direction direction, Nulls nulls) {
+		List<Rule<T>> rules = new ArrayList<>();
+		rules.add(new Rule<T>(column, direction, nulls));
+		return new RankingSpec<T>(rules);
+	}
+
+	public RankingSpec<T> then(StatColumn<T> column, Direction direction) {
+		return then(column, direction, Nulls.LAST);
+	}
+
+	public RankingSpec<T> then(StatColumn<T> column, Direction direction, Nulls nulls) {
+		List<Rule<T>> rules = new ArrayList<>(this.rules);
+		rules.add(new Rule<T>(column, direction, nulls));
+		return new RankingSpec<T>(rules);
+	}
+
+	/**
+	 * Parses a spec such as {@code "SR desc, boundaries desc nulls first"}.
+	 * Column names are the constants of columnType. Direction defaults to
+	 * ASC and missing values to NULLS LAST.
+	 */
+	public static <T, C extends Enum<C> & StatColumn<T>> RankingSpec<T> parse(String text, Class<C> columnType) {
+		List<Rule<T>> rules = new ArrayList<>();
+		for (String ruleText : text.split(",")) {
+			String[] words = ruleText.trim().toUpperCase(Locale.ROOT).split("\\s+");
+			if (words[0].isEmpty()) {
+				throw new IllegalArgumentException("Empty rule in ranking spec: " + text);
+			}
+			C column;
+			try {
+				column = Enum.valueOf(columnType, words[0]);
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unknown column " + words[0] + " in ranking spec: " + text);
+			}
+			Direction direction = Direction.ASC;
+			Nulls nulls = Nulls.LAST;
+			int word = 1;
+			if (word < words.length && (words[word].equals("ASC") || words[word].equals("DESC"))) {
+				direction = Direction.valueOf(words[word++]);
+			}
+			if (word + 1 < words.length && words[word].equals("NULLS")
+					&& (words[word + 1].equals("FIRST") || words[word + 1].equals("LAST"))) {
+				nulls = Nulls.valueOf(words[word + 1]);
+				word += 2;
+			}
+			if (word != words.length) {
+				throw new IllegalArgumentException("Invalid rule " + ruleText.trim() + " in ranking spec: " + text);
+			}
+			rules.add(new Rule<T>(column, direction, nulls));
+		}
+		return new RankingSpec<T>(rules);
+	}
+
+	/**
+	 * Parses every property whose key starts with prefix into a named spec,
+	 * for example {@code ranking.power_hitters=SR DESC, SIXES DESC} under
+	 * prefix {@code ranking.}. Names are the rest of the key, in sorted order.
+	 */
+	public static <T, C extends Enum<C> & StatColumn<T>> Map<String, RankingSpec<T>> parse(Properties properties,
+			String prefix, Class<C> columnType) {
+		Map<String, RankingSpec<T>> specs = new TreeMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			if (key.startsWith(prefix) && key.length() > prefix.length()) {
+				specs.put(key.substring(prefix.length()), parse(properties.getProperty(key), columnType));
+			}
+		}
+		return specs;
+	}
+
+	public List<Rule<T>> getRules() {
+		return rules;
+	}
+
+	/**
+	 * Binds the compiled rules to a table. The comparator reads the table on
+	 * every comparison, so it stays correct while rows change, and
+	 * precomputes its keys for sorts of a fixed table.
+	 */
+	RowComparator comparator(T columns) {
+		IntToLongFunction[] keys = new IntToLongFunction[encoders.size()];
+		for (int rule = 0; rule < keys.length; rule++) {
+			KeyEncoder<T> encoder = encoders.get(rule);
+			keys[rule] = row -> encoder.encode(columns, row);
+		}
+		return KeyedRowComparator.of(keys);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof RankingSpec && rules.equals(((RankingSpec<?>) other).rules);
+	}
+
+	@Override
+	public int hashCode() {
+		return rules.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		for (Rule<T> rule : rules) {
+			if (text.length() > 0) {
+				text.append(", ");
+			}
+			text.append(rule);
+		}
+		return text.toString();
+	}
+
+	private interface KeyEncoder<T> {
+		long encode(T columns, int row);
+	}
+
+	public static final class Rule<T> {
+		private final StatColumn<T> column;
+		private final Direction direction;
+		private final Nulls nulls;
+
+		Rule(StatColumn<T> column, Direction direction, Nulls nulls) {
+			this.column = column;
+			this.direction = direction;
+			this.nulls = nulls;
+		}
+
+		public StatColumn<T> getColumn() {
+			return column;
+		}
+
+		public Direction getDirection() {
+			return direction;
+		}
+
+		public Nulls getNulls() {
+			return nulls;
+		}
+
+		/**
+		 * Encoded values of present cells never reach Long.MIN_VALUE or
+		 * Long.MAX_VALUE, which are left for missing ones.
+		 */
+		private KeyEncoder<T> compile() {
+			StatColumn<T> column = this.column;
+			long flip = direction == Direction.DESC ? -1L : 0L;
+			long missing = nulls == Nulls.FIRST ? Long.MIN_VALUE : Long.MAX_VALUE;
+			return (columns, row) -> {
+				double value = column.value(columns, row);
+				return value != value ? missing : KeyedRowComparator.encode(value) ^ flip;
+			};
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Rule)) {
+				return false;
+			}
+			Rule<?> rule = (Rule<?>) other;
+			return column.equals(rule.column) && direction == rule.direction && nulls == rule.nulls;
+		}
+
+		@Override
+		public int hashCode() {
+			return (column.hashCode() * 31 + direction.hashCode()) * 31 + nulls.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return column + " " + direction + " NULLS " + nulls;
+		}
+	}
+}
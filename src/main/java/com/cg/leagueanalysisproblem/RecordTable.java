@@ -0,0 +1,26 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain bean-per-row table, used for bean types that have no columnar
+ * layout.
+ */
+class RecordTable<E> implements IplTable<E> {
+	private final List<E> records;
+
+	RecordTable(List<E> records) {
+		this.records = new ArrayList<E>(records);
+	}
+
+	@Override
+	public int size() {
+		return records.size();
+	}
+
+	@Override
+	public E row(int row) {
+		return records.get(row);
+	}
+}
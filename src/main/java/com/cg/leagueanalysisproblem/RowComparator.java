@@ -0,0 +1,55 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Comparator over row positions of a columnar table. Mirrors the
+ * {@link java.util.Comparator} combinators but reads primitive columns, so
+ * no key is boxed while sorting. Comparators built only from the column
+ * factories can precompute their keys before a large sort.
+ */
+@FunctionalInterface
+public interface RowComparator {
+	int compare(int firstRow, int secondRow);
+
+	default RowComparator reversed() {
+		return (firstRow, secondRow) -> compare(secondRow, firstRow);
+	}
+
+	default RowComparator thenComparing(RowComparator other) {
+		return (firstRow, secondRow) -> {
+			int result = compare(firstRow, secondRow);
+			return result != 0 ? result : other.compare(firstRow, secondRow);
+		};
+	}
+
+	/**
+	 * Returns a comparator with the same order that reads keys evaluated once
+	 * for rows 0 to size - 1. Only valid while those rows do not change.
+	 */
+	default RowComparator precompute(int size) {
+		return this;
+	}
+
+	default RowComparator thenComparingDouble(IntToDoubleFunction column) {
+		return thenComparing(comparingDouble(column));
+	}
+
+	default RowComparator thenComparingInt(IntUnaryOperator column) {
+		return thenComparing(comparingInt(column));
+	}
+
+	static RowComparator comparingDouble(IntToDoubleFunction column) {
+		return KeyedRowComparator.of(row -> KeyedRowComparator.encode(column.applyAsDouble(row)));
+	}
+
+	static RowComparator comparingInt(IntUnaryOperator column) {
+		return KeyedRowComparator.of(column::applyAsInt);
+	}
+
+	static RowComparator comparingLong(IntToLongFunction column) {
+		return KeyedRowComparator.of(column);
+	}
+}
@@ -0,0 +1,11 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * Callback for streamed ingestion. The table only holds the current batch
+ * of rows and is reused afterwards, so a handler must copy out whatever it
+ * wants to keep.
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+	void handle(T table, int row) throws IplAnalyserException;
+}
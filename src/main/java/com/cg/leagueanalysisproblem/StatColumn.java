@@ -0,0 +1,32 @@
+package com.cg.leagueanalysisproblem;
+
+/**
+ * A numeric column of a columnar table that range filters can test. Indexed
+ * columns get a sorted secondary index, so a range on them selects its rows
+ * by binary search instead of a scan.
+ */
+public interface StatColumn<T> {
+	double value(T table, int row);
+
+	boolean isIndexed();
+
+	default RangeFilter<T> between(double min, double max) {
+		return RangeFilter.<T>all().and(this, min, max);
+	}
+
+	default RangeFilter<T> atLeast(double min) {
+		return between(min, Double.POSITIVE_INFINITY);
+	}
+
+	default RangeFilter<T> greaterThan(double value) {
+		return between(Math.nextUp(value), Double.POSITIVE_INFINITY);
+	}
+
+	default RangeFilter<T> atMost(double max) {
+		return between(Double.NEGATIVE_INFINITY, max);
+	}
+
+	default RangeFilter<T> lessThan(double value) {
+		return between(Double.NEGATIVE_INFINITY, Math.nextDown(value));
+	}
+}
@@ -0,0 +1,130 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded top-k selection over streamed rows. Candidates are copied into a
+ * small table of their own and kept in a worst-first binary heap, so memory
+ * depends on k and not on the size of the stream. Ties keep arrival order.
+ */
+class StreamingTopK<E, T extends IplTable<E>> implements RowHandler<T> {
+	private final TableType<E, T> type;
+	private final Function<T, RowComparator> comparatorFactory;
+	private final int k;
+	private T retained;
+	private RowComparator comparator;
+	private int[] heap;
+	private long[] arrival;
+	private int heapSize;
+	private long arrivals;
+
+	StreamingTopK(TableType<E, T> type, Function<T, RowComparator> comparatorFactory, int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("k must not be negative: " + k);
+		}
+		this.type = type;
+		this.comparatorFactory = comparatorFactory;
+		this.k = k;
+		this.heap = new int[Math.max(k, 1)];
+		this.arrival = new long[compactionLimit()];
+		reset(type.newTable(compactionLimit()));
+	}
+
+	@Override
+	public void handle(T table, int row) {
+		if (k == 0) {
+			return;
+		}
+		if (retained.size() == compactionLimit()) {
+			compact();
+		}
+		type.append(retained, table, row);
+		int slot = retained.size() - 1;
+		arrival[slot] = arrivals++;
+		if (heapSize < k) {
+			heap[heapSize] = slot;
+			siftUp(heapSize++);
+		} else if (rank(slot, heap[0]) < 0) {
+			heap[0] = slot;
+			siftDown(0);
+		} else {
+			type.removeLast(retained);
+		}
+	}
+
+	List<E> result() {
+		int[] order = new int[heapSize];
+		int[] saved = heap.clone();
+		int savedSize = heapSize;
+		for (int i = order.length - 1; i >= 0; i--) {
+			order[i] = heap[0];
+			heap[0] = heap[--heapSize];
+			siftDown(0);
+		}
+		heap = saved;
+		heapSize = savedSize;
+		List<E> top = new ArrayList<E>(order.length);
+		for (int slot : order) {
+			top.add(retained.row(slot));
+		}
+		return top;
+	}
+
+	private int compactionLimit() {
+		return 4 * k + 4;
+	}
+
+	private void compact() {
+		T compacted = type.newTable(compactionLimit());
+		long[] compactedArrival = new long[arrival.length];
+		for (int i = 0; i < heapSize; i++) {
+			type.append(compacted, retained, heap[i]);
+			compactedArrival[i] = arrival[heap[i]];
+			heap[i] = i;
+		}
+		arrival = compactedArrival;
+		reset(compacted);
+	}
+
+	private void reset(T table) {
+		retained = table;
+		comparator = comparatorFactory.apply(table);
+	}
+
+	private int rank(int firstSlot, int secondSlot) {
+		int result = comparator.compare(firstSlot, secondSlot);
+		return result != 0 ? result : Long.compare(arrival[firstSlot], arrival[secondSlot]);
+	}
+
+	private void siftUp(int index) {
+		int slot = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (rank(heap[parent], slot) >= 0) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = slot;
+	}
+
+	private void siftDown(int index) {
+		int slot = heap[index];
+		int half = heapSize >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			if (child + 1 < heapSize && rank(heap[child + 1], heap[child]) > 0) {
+				child++;
+			}
+			if (rank(slot, heap[child]) >= 0) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = slot;
+	}
+}
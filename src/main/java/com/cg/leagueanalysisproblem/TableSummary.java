@@ -0,0 +1,64 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link ColumnSummary} for every numeric column of a batting or bowling
+ * table, filled in one pass over the rows. Summaries of different files or
+ * seasons merge column by column, so a report over many seasons never needs
+ * their rows at the same time.
+ */
+public final class TableSummary<T> {
+	private final Map<StatColumn<T>, ColumnSummary> columns;
+	private long rows;
+
+	private TableSummary(Map<StatColumn<T>, ColumnSummary> columns) {
+		this.columns = columns;
+	}
+
+	static <T> TableSummary<T> of(StatColumn<T>[] columns) {
+		Map<StatColumn<T>, ColumnSummary> summaries = new LinkedHashMap<>();
+		for (StatColumn<T> column : columns) {
+			summaries.put(column, new ColumnSummary(KllSketch.DEFAULT_K));
+		}
+		return new TableSummary<T>(summaries);
+	}
+
+	void add(T table, int row) {
+		rows++;
+		for (Map.Entry<StatColumn<T>, ColumnSummary> column : columns.entrySet()) {
+			column.getValue().add(column.getKey().value(table, row));
+		}
+	}
+
+	/**
+	 * Returns the summary of the rows of both summaries, leaving them
+	 * unchanged.
+	 */
+	public TableSummary<T> merge(TableSummary<T> other) {
+		Map<StatColumn<T>, ColumnSummary> merged = new LinkedHashMap<>();
+		for (Map.Entry<StatColumn<T>, ColumnSummary> column : columns.entrySet()) {
+			ColumnSummary otherColumn = other.columns.get(column.getKey());
+			merged.put(column.getKey(), otherColumn == null ? column.getValue()
+					: column.getValue().merge(otherColumn));
+		}
+		TableSummary<T> summary = new TableSummary<T>(merged);
+		summary.rows = rows + other.rows;
+		return summary;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public Set<StatColumn<T>> getColumns() {
+		return Collections.unmodifiableSet(columns.keySet());
+	}
+
+	public ColumnSummary get(StatColumn<T> column) {
+		return columns.get(column);
+	}
+}
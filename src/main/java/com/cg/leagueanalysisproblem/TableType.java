@@ -0,0 +1,156 @@
+package com.cg.leagueanalysisproblem;
+
+import java.util.List;
+
+/**
+ * Package-internal operations on one kind of columnar table, so streaming
+ * and selection code can create, copy and reset tables without those
+ * mutators being public.
+ */
+abstract class TableType<E, T extends IplTable<E>> {
+	static final TableType<MostRun, MostRunColumns> RUNS = new TableType<MostRun, MostRunColumns>() {
+		@Override
+		MostRunColumns newTable(int capacity) {
+			return new HeapRunColumns(capacity);
+		}
+
+		@Override
+		MostRunColumns newOffHeapTable() {
+			return new OffHeapRunColumns();
+		}
+
+		@Override
+		FactsheetParser<MostRunColumns> newParser(int capacity) {
+			return new MostRunParser(capacity);
+		}
+
+		@Override
+		void add(MostRunColumns table, MostRun record) {
+			table.add(record);
+		}
+
+		@Override
+		void append(MostRunColumns target, MostRunColumns source, int sourceRow) {
+			target.append(source, sourceRow);
+		}
+
+		@Override
+		void set(MostRunColumns target, int row, MostRunColumns source, int sourceRow) {
+			target.set(row, source, sourceRow);
+		}
+
+		@Override
+		String player(MostRunColumns table, int row) {
+			return table.player(row);
+		}
+
+		@Override
+		void removeLast(MostRunColumns table) {
+			table.removeLast();
+		}
+
+		@Override
+		void clear(MostRunColumns table) {
+			table.clear();
+		}
+	};
+
+	static final TableType<MostWicket, MostWicketColumns> WICKETS = new TableType<MostWicket, MostWicketColumns>() {
+		@Override
+		MostWicketColumns newTable(int capacity) {
+			return new HeapWicketColumns(capacity);
+		}
+
+		@Override
+		MostWicketColumns newOffHeapTable() {
+			return new OffHeapWicketColumns();
+		}
+
+		@Override
+		FactsheetParser<MostWicketColumns> newParser(int capacity) {
+			return new MostWicketParser(capacity);
+		}
+
+		@Override
+		void add(MostWicketColumns table, MostWicket record) {
+			table.add(record);
+		}
+
+		@Override
+		void append(MostWicketColumns target, MostWicketColumns source, int sourceRow) {
+			target.append(source, sourceRow);
+		}
+
+		@Override
+		void set(MostWicketColumns target, int row, MostWicketColumns source, int sourceRow) {
+			target.set(row, source, sourceRow);
+		}
+
+		@Override
+		String player(MostWicketColumns table, int row) {
+			return table.player(row);
+		}
+
+		@Override
+		void removeLast(MostWicketColumns table) {
+			table.removeLast();
+		}
+
+		@Override
+		void clear(MostWicketColumns table) {
+			table.clear();
+		}
+	};
+
+	abstract T newTable(int capacity);
+
+	/**
+	 * An empty table of the same kind whose rows and names live in direct
+	 * buffers outside the heap.
+	 */
+	abstract T newOffHeapTable();
+
+	abstract FactsheetParser<T> newParser(int capacity);
+
+	abstract void add(T table, E record);
+
+	abstract void append(T target, T source, int sourceRow);
+
+	abstract void set(T target, int row, T source, int sourceRow);
+
+	abstract String player(T table, int row);
+
+	abstract void removeLast(T table);
+
+	abstract void clear(T table);
+
+	/**
+	 * A table of the given beans, built straight into off-heap storage when
+	 * asked for instead of being copied there from heap columns.
+	 */
+	T newTable(List<E> records, boolean offHeap) {
+		T table = offHeap ? newOffHeapTable() : newTable(records.size());
+		for (E record : records) {
+			add(table, record);
+		}
+		return table;
+	}
+
+	T toOffHeap(T table) {
+		T copy = newOffHeapTable();
+		for (int row = 0; row < table.size(); row++) {
+			append(copy, table, row);
+		}
+		return copy;
+	}
+
+	static TableType<?, ?> of(Class<?> classType) {
+		if (classType == MostRun.class) {
+			return RUNS;
+		}
+		if (classType == MostWicket.class) {
+			return WICKETS;
+		}
+		return null;
+	}
+}
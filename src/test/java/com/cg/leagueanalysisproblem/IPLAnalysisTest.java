@@ -1,17 +1,64 @@
 package com.cg.leagueanalysisproblem;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
 import org.junit.Assert;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.cg.leagueanalysisproblem.IplAnalyser.MostRunSortType;
 import com.cg.leagueanalysisproblem.IplAnalyser.MostWicketSortType;
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.opencsv.bean.CsvToBeanBuilder;
 
 public class IPLAnalysisTest {
 
@@ -24,6 +71,11 @@ public class IPLAnalysisTest {
 		iplAnalyser = new IplAnalyser();
 	}
 
+	@After
+	public void close() {
+		iplAnalyser.close();
+	}
+
 	@Test
 	public void givenMostRunCsvFileShouldReturnCorrectNumOfRecords() throws IplAnalyserException {
 		int numOfEntries = iplAnalyser.loadData(MOSTRUNS_FILE_PATH, MostRun.class);
@@ -155,4 +207,1281 @@ public class IPLAnalysisTest {
 		MostRun[] highestData = new Gson().fromJson(sortedData, MostRun[].class);
 		Assert.assertEquals("Marcus Stoinis", highestData[0].getPlayer());
 	}
+
+	@Test
+	public void givenSameCsvFile_WhenLoadedTwice_ShouldReuseDataset() throws IplAnalyserException {
+		IplDataset<MostRun> first = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		IplDataset<MostRun> second = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		Assert.assertSame(first, second);
+		Assert.assertEquals(101, second.size());
+	}
+
+	@Test
+	public void givenModifiedCsvFile_WhenLoadedAgain_ShouldReloadDataset() throws IplAnalyserException, IOException {
+		Path copy = Files.createTempFile("mostruns", ".csv");
+		try {
+			List<String> lines = Files.readAllLines(Paths.get(MOSTRUNS_FILE_PATH));
+			Files.write(copy, lines.subList(0, 11));
+			IplDataset<MostRun> first = iplAnalyser.loadRunDataset(copy.toString());
+			Assert.assertEquals(10, first.size());
+			Files.write(copy, lines);
+			IplDataset<MostRun> second = iplAnalyser.loadRunDataset(copy.toString());
+			Assert.assertNotSame(first, second);
+			Assert.assertEquals(101, second.size());
+		} finally {
+			Files.delete(copy);
+		}
+	}
+
+	@Test
+	public void givenLoadedDataset_WhenSortedTwice_ShouldReuseSortIndex() throws IplAnalyserException {
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		MostRunColumns columns = IplAnalyser.runColumns(dataset);
+		int[] first = dataset.sortIndex(MostRunSortType.SR, IplAnalyser.runComparator(columns, MostRunSortType.SR));
+		int[] second = dataset.sortIndex(MostRunSortType.SR, IplAnalyser.runComparator(columns, MostRunSortType.SR));
+		Assert.assertSame(first, second);
+		Assert.assertEquals("Ishant Sharma", dataset.getRecords().get(first[0]).getPlayer());
+	}
+
+	@Test
+	public void givenEagerIndexing_WhenSortedByEconomy_ShouldReturnBestEconomyFirst() throws IplAnalyserException {
+		iplAnalyser.setEagerIndexing(true);
+		String sortedData = iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.ECONOMY);
+		MostWicket[] highestData = new Gson().fromJson(sortedData, MostWicket[].class);
+		Assert.assertEquals("Shivam Dube", highestData[0].getPlayer());
+		Assert.assertEquals(99, highestData.length);
+	}
+
+	@Test
+	public void givenMostRunCsvFile_WhenTop5ByRunAndAverage_ShouldMatchFullSortPrefix() throws IplAnalyserException {
+		String topData = iplAnalyser.topK(MOSTRUNS_FILE_PATH, MostRunSortType.RUN_AND_AVERAGE, 5);
+		MostRun[] topRuns = new Gson().fromJson(topData, MostRun[].class);
+		IplAnalyser freshAnalyser = new IplAnalyser();
+		String sortedData = freshAnalyser.sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.RUN_AND_AVERAGE);
+		MostRun[] sortedRuns = new Gson().fromJson(sortedData, MostRun[].class);
+		Assert.assertEquals(5, topRuns.length);
+		for (int i = 0; i < topRuns.length; i++) {
+			Assert.assertEquals(sortedRuns[i].getPlayer(), topRuns[i].getPlayer());
+		}
+	}
+
+	@Test
+	public void givenMostWktsCsvFile_WhenTopKByEconomyWithTies_ShouldMatchFullSortPrefix() throws IplAnalyserException {
+		String topData = iplAnalyser.topK(MOSTWICKETS_FILE_PATH, MostWicketSortType.ECONOMY, 20);
+		MostWicket[] topWickets = new Gson().fromJson(topData, MostWicket[].class);
+		IplAnalyser freshAnalyser = new IplAnalyser();
+		String sortedData = freshAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.ECONOMY);
+		MostWicket[] sortedWickets = new Gson().fromJson(sortedData, MostWicket[].class);
+		for (int i = 0; i < topWickets.length; i++) {
+			Assert.assertEquals(sortedWickets[i].getPlayer(), topWickets[i].getPlayer());
+		}
+	}
+
+	@Test
+	public void givenKLargerThanDataset_WhenTopK_ShouldReturnAllRows() throws IplAnalyserException {
+		String topData = iplAnalyser.topK(MOSTWICKETS_FILE_PATH, MostWicketSortType.WICKETS_AND_AVG, 500);
+		MostWicket[] topWickets = new Gson().fromJson(topData, MostWicket[].class);
+		Assert.assertEquals(99, topWickets.length);
+		Assert.assertEquals("Imran Tahir", topWickets[0].getPlayer());
+	}
+
+	@Test
+	public void givenColumnarDataset_WhenRowsMaterialized_ShouldMatchBoundBeans() throws IplAnalyserException, IOException {
+		iplAnalyser.setParserMode(IplAnalyser.ParserMode.OPENCSV);
+		IplDataset<MostRun> runDataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		IplDataset<MostWicket> wicketDataset = iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+		Gson gson = new Gson();
+		Assert.assertEquals(gson.toJson(bindBeans(MOSTRUNS_FILE_PATH, MostRun.class)),
+				gson.toJson(runDataset.getRecords()));
+		Assert.assertEquals(gson.toJson(bindBeans(MOSTWICKETS_FILE_PATH, MostWicket.class)),
+				gson.toJson(wicketDataset.getRecords()));
+	}
+
+	@Test
+	public void givenNonCanonicalCells_WhenSortedFromColumns_ShouldKeepTheirText() throws IplAnalyserException, IOException {
+		Path csv = Files.createTempFile("mostruns", ".csv");
+		Path directory = Files.createTempDirectory("snapshots");
+		try {
+			Files.write(csv, ("POS,PLAYER,Mat,Inns,NO,Runs,HS,Avg,BF,SR,100,50,4s,6s\n"
+					+ ",Ishant Sharma,13,3,3,10,10*,0,3,333.33,0,0,1,1\n"
+					+ "5,Andre Russell,04,13,DNB,510,080*,56.66,-,204.81,0,4,31,52\n"
+					+ "T3,Some One,7,+4,1,100,-,20.5,,150,0,1,5,5\n").getBytes(StandardCharsets.UTF_8));
+			List<MostRun> beans = bindBeans(csv.toString(), MostRun.class);
+			beans.sort(Comparator.comparing(MostRun::getRuns).thenComparing(MostRun::getAvg).reversed());
+			String expected = new Gson().toJson(beans);
+			iplAnalyser.setParserMode(IplAnalyser.ParserMode.OPENCSV);
+			iplAnalyser.setSnapshotDirectory(directory.toString());
+			Assert.assertEquals(expected, iplAnalyser.sortRunData(csv.toString(), MostRunSortType.RUN_AND_AVERAGE));
+
+			IplAnalyser<?> restartedAnalyser = new IplAnalyser<Object>();
+			restartedAnalyser.setSnapshotDirectory(directory.toString());
+			restartedAnalyser.setStorage(IplAnalyser.Storage.OFF_HEAP);
+			IplDataset<MostRun> fromSnapshot = restartedAnalyser.loadRunDataset(csv.toString());
+			Assert.assertTrue(fromSnapshot.getTable() instanceof OffHeapRunColumns);
+			Assert.assertEquals(expected, restartedAnalyser.sortRunData(fromSnapshot, MostRunSortType.RUN_AND_AVERAGE));
+		} finally {
+			Files.delete(csv);
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenFactsheetParser_WhenLoaded_ShouldMatchOpenCsvBinding() throws IplAnalyserException, IOException {
+		iplAnalyser.setParserMode(IplAnalyser.ParserMode.FACTSHEET);
+		IplDataset<MostRun> runDataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		IplDataset<MostWicket> wicketDataset = iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+		Gson gson = new Gson();
+		Assert.assertEquals(gson.toJson(bindBeans(MOSTRUNS_FILE_PATH, MostRun.class)),
+				gson.toJson(runDataset.getRecords()));
+		Assert.assertEquals(gson.toJson(bindBeans(MOSTWICKETS_FILE_PATH, MostWicket.class)),
+				gson.toJson(wicketDataset.getRecords()));
+	}
+
+	@Test
+	public void givenNonCanonicalCells_WhenParsedWithFactsheetParser_ShouldMatchOpenCsvLoad()
+			throws IplAnalyserException, IOException {
+		Path runs = Files.createTempFile("mostruns", ".csv");
+		Path wickets = Files.createTempFile("mostwkts", ".csv");
+		try {
+			Files.write(runs, ("POS,PLAYER,Mat,Inns,NO,Runs,HS,Avg,BF,SR,100,50,4s,6s\n"
+					+ ",Ishant Sharma,13,3,3,10,10*,0,3,333.33,0,0,1,1\n"
+					+ "5,Andre Russell,04,13,DNB,+510,080*,56.66,-,2.0481e2,0,4,31,52\n"
+					+ "T3,Some One,7,+4,1, 100,-,20.5,,150,0,1,5,5\n").getBytes(StandardCharsets.UTF_8));
+			Files.write(wickets, ("POS,PLAYER,Mat,Inns,Ov,Runs,Wkts,BBI,Avg,Econ,SR,4w,5w\n"
+					+ ",Shivam Dube,4,2,4.0,8,0,0,0,4.8,0,0,0\n"
+					+ "89,Suresh Raina,017,1,1,0006,0,0,0,6,0,0,0\n"
+					+ "3,X Y,5,5,DNB,-,+3,2/10,1e1,8.,15,0,0\n"
+					+ "4,Z,5,5,1.2.3,40, 2,2/10,20,8,15,0,0\n").getBytes(StandardCharsets.UTF_8));
+			Gson gson = new Gson();
+			IplAnalyser<?> openCsvAnalyser = new IplAnalyser<Object>();
+			openCsvAnalyser.setParserMode(IplAnalyser.ParserMode.OPENCSV);
+			iplAnalyser.setParserMode(IplAnalyser.ParserMode.FACTSHEET);
+			Assert.assertEquals(gson.toJson(openCsvAnalyser.loadRunDataset(runs.toString()).getRecords()),
+					gson.toJson(iplAnalyser.loadRunDataset(runs.toString()).getRecords()));
+			Assert.assertEquals(gson.toJson(openCsvAnalyser.loadWicketDataset(wickets.toString()).getRecords()),
+					gson.toJson(iplAnalyser.loadWicketDataset(wickets.toString()).getRecords()));
+			for (MostRunSortType type : MostRunSortType.values()) {
+				Assert.assertEquals(type.toString(), openCsvAnalyser.sortRunData(runs.toString(), type),
+						iplAnalyser.sortRunData(runs.toString(), type));
+			}
+		} finally {
+			Files.delete(runs);
+			Files.delete(wickets);
+		}
+	}
+
+	@Test
+	public void givenCellsOpenCsvCannotBind_WhenParsedWithFactsheetParser_ShouldRejectSameLines()
+			throws IplAnalyserException, IOException {
+		Path csv = Files.createTempFile("mostruns", ".csv");
+		try {
+			Files.write(csv, ("POS,PLAYER,Mat,Inns,NO,Runs,HS,Avg,BF,SR,100,50,4s,6s\n"
+					+ "1,A,13,3,3,10,10*,-,3,333.33,0,0,1,1\n"
+					+ "2,B,13,3,3,10,10*,1,3,333.33,x,0,1,1\n"
+					+ "3,C,13,3,3,10,10*,1,3,5.0,0,0,1,1\n"
+					+ "4,D,13,3,3,10.0,10*,1,3,5,0,0,1,1\n").getBytes(StandardCharsets.UTF_8));
+			try {
+				iplAnalyser.loadRunDataset(csv.toString());
+				Assert.fail();
+			} catch (IplAnalyserException e) {
+				Assert.assertEquals(IplAnalyserException.ExceptionType.INCORRECT_CLASS_TYPE, e.type);
+			}
+			List<List<Long>> rejectedLines = new ArrayList<>();
+			List<String> records = new ArrayList<>();
+			for (IplAnalyser.ParserMode mode : IplAnalyser.ParserMode.values()) {
+				IplAnalyser<?> analyser = new IplAnalyser<Object>();
+				analyser.setParserMode(mode);
+				analyser.setIngestMode(IplAnalyser.IngestMode.SKIP);
+				IplDataset<MostRun> dataset = analyser.loadRunDataset(csv.toString());
+				List<Long> lines = new ArrayList<>();
+				for (IngestError error : dataset.getIngestErrors()) {
+					lines.add(error.getLineNumber());
+				}
+				Collections.sort(lines);
+				rejectedLines.add(lines);
+				records.add(new Gson().toJson(dataset.getRecords()));
+			}
+			Assert.assertEquals(Arrays.asList(2L, 3L, 5L), rejectedLines.get(0));
+			Assert.assertEquals(rejectedLines.get(0), rejectedLines.get(1));
+			Assert.assertEquals(records.get(0), records.get(1));
+		} finally {
+			Files.delete(csv);
+		}
+	}
+
+	@Test
+	public void givenPlaceholdersAndCrLf_WhenParsedWithFactsheetParser_ShouldReadThem() throws IplAnalyserException, IOException {
+		Path csv = Files.createTempFile("mostruns", ".csv");
+		try {
+			Files.write(csv, ("\uFEFFPOS,PLAYER,Mat,Inns,NO,Runs,HS,Avg,BF,SR,100,50,4s,6s\r\n"
+					+ "1,\"Doe, John\",3,-,1,75,50*,,40,187.5,0,1,6,3").getBytes(StandardCharsets.UTF_8));
+			IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(csv.toString());
+			MostRun record = dataset.getRecords().get(0);
+			Assert.assertEquals("Doe, John", record.getPlayer());
+			Assert.assertEquals("-", record.getInnings());
+			Assert.assertEquals("50*", record.getHighestScore());
+			Assert.assertFalse(new Gson().toJson(record).contains("\"avg\""));
+			Assert.assertEquals(187.5, record.getStrikeRate(), 0.0);
+			Assert.assertEquals(9, record.getBoundaries());
+		} finally {
+			Files.delete(csv);
+		}
+	}
+
+	@Test
+	public void givenSmallChunks_WhenLoaded_ShouldCarryLinesAcrossChunks() throws IplAnalyserException {
+		iplAnalyser.setChunkSize(37);
+		IplDataset<MostWicket> dataset = iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+		IplAnalyser wholeFileAnalyser = new IplAnalyser();
+		Gson gson = new Gson();
+		Assert.assertEquals(gson.toJson(wholeFileAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH).getRecords()),
+				gson.toJson(dataset.getRecords()));
+	}
+
+	@Test
+	public void givenMostRunCsvFile_WhenStreamed_ShouldAggregateWithoutLoading() throws IplAnalyserException {
+		iplAnalyser.setChunkSize(256);
+		long[] totalRuns = new long[1];
+		RowHandler<MostRunColumns> sumRuns = (columns, row) -> totalRuns[0] += columns.runs(row);
+		long rows = iplAnalyser.streamRunData(MOSTRUNS_FILE_PATH, sumRuns);
+		long expected = 0;
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		for (MostRun record : dataset.getRecords()) {
+			expected += record.getRuns();
+		}
+		Assert.assertEquals(101, rows);
+		Assert.assertEquals(expected, totalRuns[0]);
+	}
+
+	@Test
+	public void givenMalformedRow_WhenStreamedInSkipOrQuarantineMode_ShouldStreamTheRest()
+			throws IplAnalyserException, IOException {
+		Path directory = Files.createTempDirectory("quarantine");
+		try {
+			Path csv = directory.resolve("mostruns.csv");
+			List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(MOSTRUNS_FILE_PATH)));
+			lines.set(3, lines.get(3).replaceFirst(",[^,]*$", ",six"));
+			Files.write(csv, lines, StandardCharsets.UTF_8);
+			iplAnalyser.setChunkSize(256);
+			try {
+				iplAnalyser.summarizeRunData(csv.toString());
+				Assert.fail();
+			} catch (IplAnalyserException e) {
+				Assert.assertEquals(IplAnalyserException.ExceptionType.INCORRECT_CLASS_TYPE, e.type);
+			}
+			iplAnalyser.setIngestMode(IplAnalyser.IngestMode.SKIP);
+			Assert.assertEquals(100, iplAnalyser.summarizeRunData(csv.toString()).getRows());
+			iplAnalyser.setIngestMode(IplAnalyser.IngestMode.QUARANTINE);
+			List<IngestError> errors = new ArrayList<>();
+			Assert.assertEquals(100, iplAnalyser.streamRunData(csv.toString(), (columns, row) -> {
+			}, errors));
+			Assert.assertEquals(1, errors.size());
+			Assert.assertEquals(4, errors.get(0).getLineNumber());
+			Assert.assertEquals("6s", errors.get(0).getColumn());
+			Assert.assertEquals(Arrays.asList(lines.get(0), lines.get(3)),
+					Files.readAllLines(directory.resolve("mostruns.csv.rejected")));
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenMostWktsCsvFile_WhenStreamedTopK_ShouldMatchFullSortPrefix() throws IplAnalyserException {
+		iplAnalyser.setChunkSize(512);
+		for (MostWicketSortType type : MostWicketSortType.values()) {
+			MostWicket[] streamed = new Gson().fromJson(iplAnalyser.streamTopK(MOSTWICKETS_FILE_PATH, type, 3),
+					MostWicket[].class);
+			MostWicket[] sorted = new Gson().fromJson(iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, type),
+					MostWicket[].class);
+			Assert.assertEquals(3, streamed.length);
+			for (int i = 0; i < streamed.length; i++) {
+				Assert.assertEquals(sorted[i].getPlayer(), streamed[i].getPlayer());
+			}
+		}
+	}
+
+	@Test
+	public void givenParallelChunks_WhenLoaded_ShouldKeepFileOrder() throws IplAnalyserException {
+		iplAnalyser.setParallelism(4);
+		iplAnalyser.setChunkSize(200);
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		IplAnalyser wholeFileAnalyser = new IplAnalyser();
+		Gson gson = new Gson();
+		Assert.assertEquals(gson.toJson(wholeFileAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH).getRecords()),
+				gson.toJson(dataset.getRecords()));
+	}
+
+	@Test
+	public void givenParallelismChangedDuringLoad_WhenLoadFinishes_ShouldKeepEveryDataset() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IplAnalyser<?> analyser = new IplAnalyser<Object>() {
+			@Override
+			public <T> IplDataset<T> loadDataset(String filePath, Class<T> classType) throws IplAnalyserException {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.loadDataset(filePath, classType);
+			}
+		};
+		analyser.setParallelism(2);
+		ExecutorService caller = Executors.newSingleThreadExecutor();
+		try {
+			Future<LoadReport<MostRun>> report = caller.submit(() -> analyser.loadDatasets(MostRun.class,
+					Arrays.asList(MOSTRUNS_FILE_PATH, MOSTRUNS_FILE_PATH)));
+			started.await();
+			analyser.setParallelism(3);
+			release.countDown();
+			Assert.assertEquals(2, report.get().getDatasets().size());
+			Assert.assertEquals(3, analyser.getParallelism());
+			analyser.close();
+			Assert.assertEquals(ForkJoinPool.commonPool().getParallelism(), analyser.getParallelism());
+		} finally {
+			caller.shutdown();
+		}
+	}
+
+	@Test
+	public void givenQuotedLineBreakAtChunkBoundary_WhenLoadedInParallel_ShouldKeepTheCell()
+			throws IplAnalyserException, IOException {
+		Path csv = Files.createTempFile("mostruns", ".csv");
+		try {
+			String header = "POS,PLAYER,Mat,Inns,NO,Runs,HS,Avg,BF,SR,100,50,4s,6s\n";
+			String content = header + "1,A,13,3,3,10,10*,1,3,333.33,0,0,1,1\n"
+					+ "2,\"Doe,\n3,Not A Row,1,1,0,1,1,1,1,1,0,0,0,0\",13,3,3,10,10*,1,3,5,0,0,1,1\n"
+					+ "4,C,13,3,3,10,10*,1,3,5,0,0,1,1\n";
+			Files.write(csv, content.getBytes(StandardCharsets.UTF_8));
+			IplAnalyser<?> wholeFileAnalyser = new IplAnalyser<Object>();
+			IplDataset<MostRun> whole = wholeFileAnalyser.loadRunDataset(csv.toString());
+			iplAnalyser.setParallelism(4);
+			iplAnalyser.setChunkSize(content.indexOf("\n", content.indexOf("Doe")) - header.length());
+			IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(csv.toString());
+			Assert.assertEquals(3, dataset.size());
+			Assert.assertEquals("Doe,\n3,Not A Row,1,1,0,1,1,1,1,1,0,0,0,0", dataset.getRecords().get(1).getPlayer());
+			Gson gson = new Gson();
+			Assert.assertEquals(gson.toJson(whole.getRecords()), gson.toJson(dataset.getRecords()));
+		} finally {
+			Files.delete(csv);
+		}
+	}
+
+	@Test
+	public void givenSeveralFiles_WhenLoadedTogether_ShouldReportEveryRow() throws IplAnalyserException, IOException {
+		Path copy = Files.createTempFile("mostruns", ".csv");
+		try {
+			Files.copy(Paths.get(MOSTRUNS_FILE_PATH), copy, StandardCopyOption.REPLACE_EXISTING);
+			LoadReport<MostRun> report = iplAnalyser.loadDatasets(MostRun.class,
+					Arrays.asList(MOSTRUNS_FILE_PATH, copy.toString()));
+			Assert.assertEquals(2, report.getDatasets().size());
+			Assert.assertEquals(202, report.getRows());
+			Assert.assertEquals(2 * Files.size(copy), report.getBytes());
+		} finally {
+			Files.delete(copy);
+		}
+	}
+
+	@Test
+	public void givenProjection_WhenWrittenToWriter_ShouldContainOnlyProjectedFields()
+			throws IplAnalyserException, IOException {
+		StringWriter writer = new StringWriter();
+		iplAnalyser.writeRunData(MOSTRUNS_FILE_PATH, MostRunSortType.AVERAGE, writer, MostRunField.PLAYER,
+				MostRunField.RUNS, MostRunField.AVG);
+		JsonObject first = new JsonParser().parse(writer.toString()).getAsJsonArray().get(0).getAsJsonObject();
+		Assert.assertEquals(3, first.entrySet().size());
+		Assert.assertEquals("MS Dhoni", first.get("player").getAsString());
+		Assert.assertEquals(416, first.get("runs").getAsLong());
+		Assert.assertEquals(83.2, first.get("avg").getAsDouble(), 0.0);
+	}
+
+	@Test
+	public void givenOutputStream_WhenWrittenWithoutProjection_ShouldMatchSortedString()
+			throws IplAnalyserException, IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		iplAnalyser.writeWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.SR_AND_5W_4W, out);
+		Assert.assertEquals(iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.SR_AND_5W_4W),
+				new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void givenSnapshotDirectory_WhenLoadedAgain_ShouldOpenSnapshot() throws IplAnalyserException, IOException {
+		Path directory = Files.createTempDirectory("snapshots");
+		try {
+			iplAnalyser.setSnapshotDirectory(directory.toString());
+			IplDataset<MostWicket> fromCsv = iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+			Path snapshot = DatasetSnapshot.snapshotPath(directory, MOSTWICKETS_FILE_PATH);
+			Assert.assertTrue(Files.exists(snapshot));
+			IplAnalyser restartedAnalyser = new IplAnalyser();
+			restartedAnalyser.setSnapshotDirectory(directory.toString());
+			restartedAnalyser.setParserMode(IplAnalyser.ParserMode.OPENCSV);
+			IplDataset<MostWicket> fromSnapshot = restartedAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+			Assert.assertTrue(fromSnapshot.getTable() instanceof MostWicketColumns);
+			Gson gson = new Gson();
+			Assert.assertEquals(gson.toJson(fromCsv.getRecords()), gson.toJson(fromSnapshot.getRecords()));
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenCorruptSnapshot_WhenLoaded_ShouldFallBackToCsv() throws IplAnalyserException, IOException {
+		Path directory = Files.createTempDirectory("snapshots");
+		try {
+			iplAnalyser.setSnapshotDirectory(directory.toString());
+			iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+			Path snapshot = DatasetSnapshot.snapshotPath(directory, MOSTRUNS_FILE_PATH);
+			byte[] bytes = Files.readAllBytes(snapshot);
+			bytes[bytes.length / 2] ^= 0x7F;
+			Files.write(snapshot, bytes);
+			IplAnalyser restartedAnalyser = new IplAnalyser();
+			restartedAnalyser.setSnapshotDirectory(directory.toString());
+			String sortedData = restartedAnalyser.sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.AVERAGE);
+			MostRun[] highestAvgData = new Gson().fromJson(sortedData, MostRun[].class);
+			Assert.assertEquals(83.2, highestAvgData[0].getAvg(), 0.0);
+			Assert.assertEquals(101, highestAvgData.length);
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenQueryServiceWithoutData_WhenSorted_ShouldThrowNoData() {
+		try {
+			new IplQueryService().sortRunData(MostRunSortType.AVERAGE);
+			Assert.fail();
+		} catch (IplAnalyserException e) {
+			Assert.assertEquals(IplAnalyserException.ExceptionType.NO_DATA, e.type);
+		}
+	}
+
+	@Test
+	public void givenConcurrentQueries_WhenReloaded_ShouldEachSeeOneWholeDataset() throws Exception {
+		Path copy = Files.createTempFile("mostruns", ".csv");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<String> lines = Files.readAllLines(Paths.get(MOSTRUNS_FILE_PATH), StandardCharsets.UTF_8);
+			Files.write(copy, lines, StandardCharsets.UTF_8);
+			IplQueryService service = new IplQueryService();
+			service.reloadRuns(copy.toString());
+			String before = service.sortRunData(MostRunSortType.AVERAGE);
+			List<Future<String>> answers = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				answers.add(executor.submit(() -> service.sortRunData(MostRunSortType.AVERAGE)));
+			}
+			Files.write(copy, lines.subList(0, 51), StandardCharsets.UTF_8);
+			Files.setLastModifiedTime(copy, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+			Assert.assertTrue(service.refresh());
+			String after = service.sortRunData(MostRunSortType.AVERAGE);
+			Assert.assertEquals(50, new Gson().fromJson(after, MostRun[].class).length);
+			for (Future<String> answer : answers) {
+				String sortedData = answer.get();
+				Assert.assertTrue(sortedData.equals(before) || sortedData.equals(after));
+			}
+		} finally {
+			executor.shutdown();
+			Files.delete(copy);
+		}
+	}
+
+	@Test
+	public void givenBothFactsheets_WhenJoined_ShouldKeepOnlyPlayersInBoth() throws IplAnalyserException {
+		IplDataset<AllRounder> allRounders = iplAnalyser.loadAllRounderDataset(MOSTRUNS_FILE_PATH,
+				MOSTWICKETS_FILE_PATH);
+		Assert.assertEquals(49, allRounders.size());
+		Assert.assertSame(allRounders,
+				iplAnalyser.loadAllRounderDataset(MOSTRUNS_FILE_PATH, MOSTWICKETS_FILE_PATH));
+	}
+
+	@Test
+	public void givenAllRounders_WhenSortedByBattingAndBowlingAverage_ShouldReturnBestAllRounderFirst()
+			throws IplAnalyserException {
+		String sortedData = iplAnalyser.sortAllRounderData(MOSTRUNS_FILE_PATH, MOSTWICKETS_FILE_PATH,
+				IplAnalyser.AllRounderSortType.BATTING_AND_BOWLING_AVERAGE);
+		AllRounder[] allRounders = new Gson().fromJson(sortedData, AllRounder[].class);
+		Assert.assertEquals("Andre Russell", allRounders[0].getPlayer());
+		Assert.assertEquals(56.66, allRounders[0].getBatting().getAvg(), 0.0);
+		Assert.assertEquals(26.09, allRounders[0].getBowling().getAvg(), 0.0);
+	}
+
+	@Test
+	public void givenAllRounderWithoutBattingAverage_WhenSortedByAverage_ShouldRankLast()
+			throws IplAnalyserException, IOException {
+		Path csv = Files.createTempFile("mostruns", ".csv");
+		try {
+			List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(MOSTRUNS_FILE_PATH)));
+			Assert.assertTrue(lines.get(2).contains(",Andre Russell,"));
+			lines.set(2, lines.get(2).replace(",56.66,", ",,"));
+			Files.write(csv, lines, StandardCharsets.UTF_8);
+			for (IplAnalyser.AllRounderSortType type : EnumSet.of(
+					IplAnalyser.AllRounderSortType.BATTING_AND_BOWLING_AVERAGE,
+					IplAnalyser.AllRounderSortType.AVERAGE_AND_WICKETS)) {
+				AllRounder[] allRounders = new Gson().fromJson(
+						iplAnalyser.sortAllRounderData(csv.toString(), MOSTWICKETS_FILE_PATH, type), AllRounder[].class);
+				Assert.assertEquals(type.toString(), "Andre Russell", allRounders[allRounders.length - 1].getPlayer());
+			}
+		} finally {
+			Files.delete(csv);
+		}
+	}
+
+	@Test
+	public void givenAllRounderRankingSpec_WhenRanked_ShouldMatchEquivalentSortType() throws IplAnalyserException {
+		RankingSpec<AllRounderTable> spec = RankingSpec.parse("batting_avg desc, bowling_avg asc", AllRounderStat.class);
+		Assert.assertEquals(IplAnalyser.allRounderRanking(IplAnalyser.AllRounderSortType.BATTING_AND_BOWLING_AVERAGE),
+				spec);
+		IplDataset<AllRounder> dataset = iplAnalyser.loadAllRounderDataset(MOSTRUNS_FILE_PATH,
+				MOSTWICKETS_FILE_PATH);
+		Assert.assertEquals(
+				iplAnalyser.sortAllRounderData(dataset, IplAnalyser.AllRounderSortType.BATTING_AND_BOWLING_AVERAGE),
+				iplAnalyser.rankAllRounderData(dataset, spec, dataset.size()));
+	}
+
+	@Test
+	public void givenAllRounders_WhenTopKByRunsAndWickets_ShouldReturnMostRunsFirst() throws IplAnalyserException {
+		IplDataset<AllRounder> dataset = iplAnalyser.loadAllRounderDataset(MOSTRUNS_FILE_PATH,
+				MOSTWICKETS_FILE_PATH);
+		AllRounder[] allRounders = new Gson().fromJson(
+				iplAnalyser.topK(dataset, IplAnalyser.AllRounderSortType.RUNS_AND_WICKETS, 2), AllRounder[].class);
+		Assert.assertEquals(2, allRounders.length);
+		Assert.assertEquals("Andre Russell", allRounders[0].getPlayer());
+		Assert.assertEquals("Hardik Pandya", allRounders[1].getPlayer());
+		Assert.assertEquals(14, allRounders[1].getBowling().getWickets());
+	}
+
+	@Test
+	public void givenLiveWicketData_WhenSorted_ShouldMatchFullSort() throws IplAnalyserException {
+		LiveFactsheet<MostWicket, MostWicketColumns, MostWicketSortType> live = iplAnalyser
+				.liveWicketData(MOSTWICKETS_FILE_PATH);
+		Assert.assertEquals(99, live.size());
+		for (MostWicketSortType type : MostWicketSortType.values()) {
+			Assert.assertEquals(iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, type), live.sortData(type));
+		}
+	}
+
+	@Test
+	public void givenLiveRunData_WhenPlayerUpserted_ShouldReRankOnlyThatPlayer() throws IplAnalyserException {
+		LiveFactsheet<MostRun, MostRunColumns, MostRunSortType> live = iplAnalyser.liveRunData(MOSTRUNS_FILE_PATH);
+		int players = live.size();
+		MostRun correction = new Gson().fromJson(live.topK(MostRunSortType.AVERAGE, 1), MostRun[].class)[0];
+		correction.setAvg(0.5);
+		live.upsert(correction);
+		MostRun[] ranking = new Gson().fromJson(live.sortData(MostRunSortType.AVERAGE), MostRun[].class);
+		Assert.assertEquals(players, live.size());
+		Assert.assertEquals(69.2, ranking[0].getAvg(), 0.0);
+		int rank = 0;
+		while (!ranking[rank].getPlayer().equals(correction.getPlayer())) {
+			rank++;
+		}
+		Assert.assertEquals(0.5, ranking[rank].getAvg(), 0.0);
+		Assert.assertTrue(ranking[rank - 1].getAvg() >= 0.5 && ranking[rank + 1].getAvg() <= 0.5);
+	}
+
+	@Test
+	public void givenLiveFeed_WhenLinesAppended_ShouldIngestOnlyCompleteLines() throws IplAnalyserException, IOException {
+		Path copy = Files.createTempFile("mostwkts", ".csv");
+		try {
+			Files.copy(Paths.get(MOSTWICKETS_FILE_PATH), copy, StandardCopyOption.REPLACE_EXISTING);
+			LiveFactsheet<MostWicket, MostWicketColumns, MostWicketSortType> live = iplAnalyser
+					.liveWicketData(copy.toString());
+			Files.write(copy, "100,New Bowler,1,1,4,10,9,9/10,1.11,2.5,2.66,0,1\n101,Half Wri"
+					.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+			Assert.assertEquals(1, live.tail());
+			MostWicket[] ranking = new Gson().fromJson(live.topK(MostWicketSortType.ECONOMY, 1), MostWicket[].class);
+			Assert.assertEquals("New Bowler", ranking[0].getPlayer());
+			Files.write(copy, "tten,1,1,4,10,0,0/10,0,2.5,0,0,0\n".getBytes(StandardCharsets.UTF_8),
+					StandardOpenOption.APPEND);
+			Assert.assertEquals(1, live.tail());
+			Assert.assertEquals(101, live.size());
+		} finally {
+			Files.delete(copy);
+		}
+	}
+
+	@Test
+	public void givenLiveFeed_WhenBadLineAppended_ShouldSkipItAndKeepTailing() throws Exception {
+		Path copy = Files.createTempFile("mostwkts", ".csv");
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			Files.copy(Paths.get(MOSTWICKETS_FILE_PATH), copy, StandardCopyOption.REPLACE_EXISTING);
+			LiveFactsheet<MostWicket, MostWicketColumns, MostWicketSortType> live = iplAnalyser
+					.liveWicketData(copy.toString());
+			Files.write(copy, "100,Bad Bowler,1,1,4,10,x,9/10,1.11,2.5,2.66,0,1\n".getBytes(StandardCharsets.UTF_8),
+					StandardOpenOption.APPEND);
+			try {
+				live.tail();
+				Assert.fail();
+			} catch (IplAnalyserException e) {
+				Assert.assertEquals(IplAnalyserException.ExceptionType.INCORRECT_CLASS_TYPE, e.type);
+			}
+			Assert.assertEquals(101, live.getIngestErrors().get(0).getLineNumber());
+			Files.write(copy, "101,Good Bowler,1,1,4,10,9,9/10,1.11,2.5,2.66,0,1\n".getBytes(StandardCharsets.UTF_8),
+					StandardOpenOption.APPEND);
+			Assert.assertEquals(1, live.tail());
+			Assert.assertEquals(100, live.size());
+
+			BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+			ScheduledFuture<?> watch = live.watch(scheduler, 10, TimeUnit.MILLISECONDS, failures::add);
+			Files.write(copy, "102,Bad Again,1,1,4,10,x,9/10,1.11,2.5,2.66,0,1\n".getBytes(StandardCharsets.UTF_8),
+					StandardOpenOption.APPEND);
+			Assert.assertNotNull(failures.poll(10, TimeUnit.SECONDS));
+			Files.write(copy, "103,Watched Bowler,1,1,4,10,9,9/10,1.11,2.5,2.66,0,1\n"
+					.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+			long deadline = System.currentTimeMillis() + 10_000;
+			while (live.size() < 101 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			Assert.assertFalse(watch.isDone());
+			Assert.assertEquals(101, live.size());
+			Assert.assertEquals(2, live.getIngestErrors().size());
+		} finally {
+			scheduler.shutdownNow();
+			Files.delete(copy);
+		}
+	}
+
+	@Test
+	public void givenSeasonDirectory_WhenCareersAggregated_ShouldSumEverySeason()
+			throws IplAnalyserException, IOException {
+		Path directory = Files.createTempDirectory("seasons");
+		try {
+			for (String season : new String[] { "2018", "2019" }) {
+				Files.copy(Paths.get(MOSTRUNS_FILE_PATH),
+						directory.resolve("IPL" + season + "FactsheetMostRuns.csv"));
+				Files.copy(Paths.get(MOSTWICKETS_FILE_PATH),
+						directory.resolve("IPL" + season + "FactsheetMostWkts.csv"));
+			}
+			IplDataset<MostRun> careerRuns = iplAnalyser.careerRuns(iplAnalyser.loadRunSeasons(directory.toString()),
+					"IPL", 2018, 2019);
+			MostRun[] runs = new Gson().fromJson(iplAnalyser.topK(careerRuns, MostRunSortType.RUN_AND_AVERAGE, 1),
+					MostRun[].class);
+			Assert.assertEquals(100, careerRuns.size());
+			Assert.assertEquals("David Warner", runs[0].getPlayer());
+			Assert.assertEquals(1384, runs[0].getRuns());
+			IplDataset<MostWicket> careerWickets = iplAnalyser
+					.careerWickets(iplAnalyser.loadWicketSeasons(directory.toString()), null, 2018, 2019);
+			MostWicket[] wickets = new Gson().fromJson(
+					iplAnalyser.topK(careerWickets, MostWicketSortType.WICKETS_AND_AVG, 1), MostWicket[].class);
+			Assert.assertEquals("Imran Tahir", wickets[0].getPlayer());
+			Assert.assertEquals(52, wickets[0].getWickets());
+			Assert.assertEquals(16.58, wickets[0].getAvg(), 0.0);
+			Assert.assertEquals(6.7, wickets[0].getEconomy(), 0.0);
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenSeasonRange_WhenAggregated_ShouldNotLoadSeasonsOutsideIt()
+			throws IplAnalyserException, IOException {
+		Path directory = Files.createTempDirectory("seasons");
+		try {
+			Files.copy(Paths.get(MOSTRUNS_FILE_PATH), directory.resolve("IPL2019FactsheetMostRuns.csv"));
+			Files.createDirectory(directory.resolve("IPL2015FactsheetMostRuns.csv"));
+			PartitionedDataset<MostRun> seasons = iplAnalyser.loadRunSeasons(directory.toString());
+			Assert.assertEquals(2, seasons.getPartitions().size());
+			Assert.assertEquals(100, iplAnalyser.careerRuns(seasons, null, 2016, 2020).size());
+			try {
+				iplAnalyser.careerRuns(seasons, null, 2015, 2015);
+				Assert.fail();
+			} catch (IplAnalyserException e) {
+				Assert.assertEquals(IplAnalyserException.ExceptionType.CENSUS_FILE_PROBLEM, e.type);
+			}
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenRangeFilter_WhenRanked_ShouldMatchFilteredFullSort() throws IplAnalyserException {
+		RangeFilter<MostRunColumns> filter = MostRunStat.INNINGS.atLeast(10).and(MostRunStat.SR.greaterThan(150));
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		String pruned = iplAnalyser.filterRunData(dataset, filter, MostRunSortType.BOUNDARIES, dataset.size());
+		String sortedData = iplAnalyser.sortRunData(dataset, MostRunSortType.BOUNDARIES);
+		List<String> expected = Arrays.stream(new Gson().fromJson(sortedData, MostRun[].class))
+				.filter(record -> Integer.parseInt(record.getInnings()) >= 10 && record.getStrikeRate() > 150)
+				.map(MostRun::getPlayer).collect(Collectors.toList());
+		Assert.assertEquals(8, expected.size());
+		for (String filtered : new String[] { pruned,
+				iplAnalyser.filterRunData(dataset, filter, MostRunSortType.BOUNDARIES, dataset.size()) }) {
+			Assert.assertEquals(expected, Arrays.stream(new Gson().fromJson(filtered, MostRun[].class))
+					.map(MostRun::getPlayer).collect(Collectors.toList()));
+		}
+		Assert.assertEquals(expected.subList(0, 2), Arrays
+				.stream(new Gson().fromJson(iplAnalyser.filterRunData(dataset, filter, MostRunSortType.BOUNDARIES, 2),
+						MostRun[].class))
+				.map(MostRun::getPlayer).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void givenRangeOutsideColumnBounds_WhenFiltered_ShouldReturnEmptyRanking() throws IplAnalyserException {
+		Assert.assertEquals("[]", iplAnalyser.filterRunData(MOSTRUNS_FILE_PATH, MostRunStat.RUNS.atLeast(1000),
+				MostRunSortType.AVERAGE));
+	}
+
+	@Test
+	public void givenWicketRangeFilter_WhenRanked_ShouldMatchFilteredFullSort() throws IplAnalyserException {
+		String filtered = iplAnalyser.filterWicketData(MOSTWICKETS_FILE_PATH,
+				MostWicketStat.ECONOMY.lessThan(7).and(MostWicketStat.WICKETS.atLeast(10)),
+				MostWicketSortType.WICKETS_AND_AVG);
+		String sortedData = iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.WICKETS_AND_AVG);
+		List<String> expected = Arrays.stream(new Gson().fromJson(sortedData, MostWicket[].class))
+				.filter(record -> record.getEconomy() < 7 && record.getWickets() >= 10).map(MostWicket::getPlayer)
+				.collect(Collectors.toList());
+		Assert.assertFalse(expected.isEmpty());
+		Assert.assertEquals(expected, Arrays.stream(new Gson().fromJson(filtered, MostWicket[].class))
+				.map(MostWicket::getPlayer).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void givenResultCache_WhenSameRankingRequestedTwice_ShouldServeSecondFromCache()
+			throws IplAnalyserException {
+		String uncached = iplAnalyser.sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.AVERAGE);
+		RankingCache cache = new RankingCache(1 << 20);
+		iplAnalyser.setResultCache(cache);
+		Assert.assertEquals(uncached, iplAnalyser.sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.AVERAGE));
+		Assert.assertEquals(uncached, iplAnalyser.sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.AVERAGE));
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(uncached.length(), cache.getSizeBytes());
+	}
+
+	@Test
+	public void givenEqualRankingSpecs_WhenCached_ShouldShareOneEntry() throws IplAnalyserException {
+		RankingCache cache = new RankingCache(1 << 20);
+		iplAnalyser.setResultCache(cache);
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		String parsed = iplAnalyser.rankRunData(dataset,
+				RankingSpec.parse("SR DESC, BOUNDARIES DESC", MostRunStat.class), dataset.size());
+		Assert.assertEquals(parsed, iplAnalyser.sortRunData(dataset, MostRunSortType.SR_AND_BOUNDARIES));
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void givenFullResultCache_WhenNewRankingCached_ShouldEvictLeastRecentlyUsed() throws IplAnalyserException {
+		RankingCache cache = new RankingCache(5);
+		iplAnalyser.setResultCache(cache);
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		iplAnalyser.topK(dataset, MostRunSortType.AVERAGE, 0);
+		iplAnalyser.topK(dataset, MostRunSortType.SR, 0);
+		iplAnalyser.topK(dataset, MostRunSortType.AVERAGE, 0);
+		iplAnalyser.topK(dataset, MostRunSortType.BOUNDARIES, 0);
+		Assert.assertEquals(1, cache.getEvictionCount());
+		Assert.assertEquals(2, cache.size());
+		iplAnalyser.topK(dataset, MostRunSortType.SR, 0);
+		Assert.assertEquals(4, cache.getMissCount());
+	}
+
+	@Test
+	public void givenCachedRanking_WhenFileReloaded_ShouldInvalidateOldEntries() throws IplAnalyserException, IOException {
+		Path copy = Files.createTempFile("mostruns", ".csv");
+		try {
+			List<String> lines = Files.readAllLines(Paths.get(MOSTRUNS_FILE_PATH), StandardCharsets.UTF_8);
+			Files.write(copy, lines, StandardCharsets.UTF_8);
+			RankingCache cache = new RankingCache(1 << 20);
+			iplAnalyser.setResultCache(cache);
+			String before = iplAnalyser.sortRunData(copy.toString(), MostRunSortType.AVERAGE);
+			Files.write(copy, lines.subList(0, 11), StandardCharsets.UTF_8);
+			Files.setLastModifiedTime(copy, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+			String after = iplAnalyser.sortRunData(copy.toString(), MostRunSortType.AVERAGE);
+			Assert.assertNotEquals(before, after);
+			Assert.assertEquals(10, new Gson().fromJson(after, MostRun[].class).length);
+			Assert.assertEquals(1, cache.getInvalidationCount());
+			Assert.assertEquals(1, cache.size());
+		} finally {
+			Files.delete(copy);
+		}
+	}
+
+	@Test
+	public void givenMetricsEnabled_WhenLoadedAndSorted_ShouldRecordEveryPhase() throws IplAnalyserException {
+		IplMetrics metrics = iplAnalyser.getMetrics();
+		List<IplMetrics.Phase> completed = new ArrayList<>();
+		metrics.addListener((phase, elapsedNanos, rows, bytes, allocatedBytes) -> completed.add(phase));
+		iplAnalyser.setParserMode(IplAnalyser.ParserMode.OPENCSV);
+		iplAnalyser.sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.AVERAGE);
+		Assert.assertEquals(Arrays.asList(IplMetrics.Phase.PARSE, IplMetrics.Phase.BIND, IplMetrics.Phase.SORT,
+				IplMetrics.Phase.SERIALIZE), completed);
+		Assert.assertEquals(iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH).size(), metrics.getRowsRead());
+		Assert.assertEquals(new File(MOSTRUNS_FILE_PATH).length(), metrics.getBytesRead());
+		Assert.assertEquals(1, metrics.getSort().getCount());
+		Assert.assertTrue(metrics.getSort().getMaxNanos() >= metrics.getSort().getP50Nanos());
+		metrics.setEnabled(false);
+		iplAnalyser.sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.SR);
+		Assert.assertEquals(4, completed.size());
+		Assert.assertEquals(1, metrics.getSerialize().getCount());
+	}
+
+	@Test
+	public void givenCachedSortIndex_WhenFiltered_ShouldNotRecordASort() throws IplAnalyserException {
+		IplMetrics metrics = iplAnalyser.getMetrics();
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		RangeFilter<MostRunColumns> filter = MostRunStat.INNINGS.atLeast(10);
+		iplAnalyser.filterRunData(dataset, filter, MostRunSortType.AVERAGE, 5);
+		Assert.assertEquals(1, metrics.getSort().getCount());
+		iplAnalyser.sortRunData(dataset, MostRunSortType.AVERAGE);
+		Assert.assertEquals(2, metrics.getSort().getCount());
+		iplAnalyser.filterRunData(dataset, filter, MostRunSortType.AVERAGE, 5);
+		Assert.assertEquals(2, metrics.getSort().getCount());
+	}
+
+	@Test
+	public void givenCachedSortIndex_WhenSortedAgain_ShouldNotRecordAnotherSort() throws IplAnalyserException {
+		IplMetrics metrics = iplAnalyser.getMetrics();
+		iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.ECONOMY);
+		Assert.assertEquals(1, metrics.getSort().getCount());
+		iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.ECONOMY);
+		iplAnalyser.topK(iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH), MostWicketSortType.ECONOMY, 5);
+		Assert.assertEquals(1, metrics.getSort().getCount());
+		Assert.assertEquals(3, metrics.getSerialize().getCount());
+		iplAnalyser.topK(iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH), MostWicketSortType.SR, 5);
+		Assert.assertEquals(2, metrics.getSort().getCount());
+	}
+
+	@Test
+	public void givenRegisteredMetrics_WhenReadOverJmx_ShouldReportPhaseCounts() throws Exception {
+		ObjectName name = iplAnalyser.getMetrics().register("test");
+		try {
+			iplAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.ECONOMY);
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			CompositeData sort = (CompositeData) server.getAttribute(name, "Sort");
+			Assert.assertEquals(1L, sort.get("count"));
+			Assert.assertEquals(99L, server.getAttribute(name, "RowsRead"));
+			server.setAttribute(name, new Attribute("Enabled", false));
+			Assert.assertFalse(iplAnalyser.getMetrics().isEnabled());
+		} finally {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		}
+	}
+
+	@Test
+	public void givenPrecomputedSortKeys_WhenComparingRows_ShouldMatchColumnComparator() throws IplAnalyserException {
+		MostRunColumns columns = IplAnalyser.runColumns(iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH));
+		for (MostRunSortType type : MostRunSortType.values()) {
+			RowComparator comparator = IplAnalyser.runComparator(columns, type);
+			RowComparator precomputed = comparator.precompute(columns.size());
+			for (int first = 0; first < columns.size(); first++) {
+				for (int second = 0; second < columns.size(); second++) {
+					Assert.assertEquals(Integer.signum(comparator.compare(first, second)),
+							Integer.signum(precomputed.compare(first, second)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void givenConfiguredRankingSpec_WhenRanked_ShouldMatchEquivalentSortType() throws IplAnalyserException {
+		Properties properties = new Properties();
+		properties.setProperty("ranking.milestones", "centuries asc, AVG desc");
+		properties.setProperty("display.milestones", "SR desc");
+		Map<String, RankingSpec<MostRunColumns>> rankings = RankingSpec.parse(properties, "ranking.",
+				MostRunStat.class);
+		Assert.assertEquals(1, rankings.size());
+		RankingSpec<MostRunColumns> milestones = rankings.get("milestones");
+		Assert.assertEquals(IplAnalyser.runRanking(MostRunSortType.ZERO100AND50_AND_AVERAGE), milestones);
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		Assert.assertEquals(iplAnalyser.sortRunData(dataset, MostRunSortType.ZERO100AND50_AND_AVERAGE),
+				iplAnalyser.rankRunData(dataset, milestones, dataset.size()));
+		IplDataset<MostWicket> wickets = iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+		Assert.assertEquals(iplAnalyser.topK(wickets, MostWicketSortType.ECONOMY, 5), iplAnalyser.rankWicketData(
+				wickets, RankingSpec.parse("economy asc nulls last", MostWicketStat.class), 5));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenRankingSpecWithUnknownColumn_WhenParsed_ShouldThrowException() {
+		RankingSpec.parse("SR desc, ECONOMY desc", MostRunStat.class);
+	}
+
+	@Test
+	public void givenMalformedHeaderOrDelimiter_WhenLoaded_ShouldFailBeforeReadingRows() throws IOException {
+		Path csv = Files.createTempFile("mostruns", ".csv");
+		try {
+			String[][] cases = { { "", "NO_DATA" },
+					{ "POS,PLAYER,Mat,Inns,NO,Runs,HS,Avg,BF,SR,100,50,4s\n1,A,1,1,0,1,1,1,1,1,0,0,0", "INCORRECT_HEADER" },
+					{ "POS;PLAYER;Mat;Inns;NO;Runs;HS;Avg;BF;SR;100;50;4s;6s\n1;A;1;1;0;1;1;1;1;1;0;0;0;0",
+							"INCORRECT_DELIMITER" } };
+			for (IplAnalyser.ParserMode mode : IplAnalyser.ParserMode.values()) {
+				for (String[] testCase : cases) {
+					Files.write(csv, testCase[0].getBytes(StandardCharsets.UTF_8));
+					IplAnalyser<?> analyser = new IplAnalyser<Object>();
+					analyser.setParserMode(mode);
+					try {
+						analyser.loadRunDataset(csv.toString());
+						Assert.fail(mode + " loaded " + testCase[1]);
+					} catch (IplAnalyserException e) {
+						Assert.assertEquals(IplAnalyserException.ExceptionType.valueOf(testCase[1]), e.type);
+					}
+				}
+			}
+		} finally {
+			Files.delete(csv);
+		}
+	}
+
+	@Test
+	public void givenMalformedRows_WhenLoadedInSkipMode_ShouldReportLineAndColumn() throws IplAnalyserException, IOException {
+		Path csv = Files.createTempFile("mostwkts", ".csv");
+		try {
+			List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(MOSTWICKETS_FILE_PATH)));
+			lines.set(5, lines.get(5).replaceFirst(",[^,]*$", ",x"));
+			lines.set(60, lines.get(60).substring(0, lines.get(60).lastIndexOf(',')));
+			Files.write(csv, lines, StandardCharsets.UTF_8);
+			try {
+				iplAnalyser.loadWicketDataset(csv.toString());
+				Assert.fail();
+			} catch (IplAnalyserException e) {
+				Assert.assertEquals(IplAnalyserException.ExceptionType.INCORRECT_CLASS_TYPE, e.type);
+			}
+			for (IplAnalyser.ParserMode mode : IplAnalyser.ParserMode.values()) {
+				IplAnalyser<?> analyser = new IplAnalyser<Object>();
+				analyser.setParserMode(mode);
+				analyser.setIngestMode(IplAnalyser.IngestMode.SKIP);
+				analyser.setChunkSize(512);
+				IplDataset<MostWicket> dataset = analyser.loadWicketDataset(csv.toString());
+				Assert.assertEquals(97, dataset.size());
+				List<IngestError> errors = dataset.getIngestErrors();
+				Assert.assertEquals(2, errors.size());
+				Assert.assertEquals(6, errors.get(0).getLineNumber());
+				Assert.assertEquals("5w", errors.get(0).getColumn());
+				Assert.assertEquals(IplAnalyserException.ExceptionType.INCORRECT_CLASS_TYPE, errors.get(0).getType());
+				Assert.assertEquals(61, errors.get(1).getLineNumber());
+				Assert.assertNull(errors.get(1).getColumn());
+				Assert.assertEquals(IplAnalyserException.ExceptionType.INCORRECT_DELIMITER, errors.get(1).getType());
+			}
+		} finally {
+			Files.delete(csv);
+		}
+	}
+
+	@Test
+	public void givenMalformedRow_WhenLoadedInQuarantineMode_ShouldWriteRejectedLines() throws IplAnalyserException, IOException {
+		Path directory = Files.createTempDirectory("quarantine");
+		try {
+			Path csv = directory.resolve("mostruns.csv");
+			List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(MOSTRUNS_FILE_PATH)));
+			lines.set(3, lines.get(3).replaceFirst(",[^,]*$", ",six"));
+			Files.write(csv, lines, StandardCharsets.UTF_8);
+			for (IplAnalyser.ParserMode mode : IplAnalyser.ParserMode.values()) {
+				IplAnalyser<?> analyser = new IplAnalyser<Object>();
+				analyser.setParserMode(mode);
+				analyser.setIngestMode(IplAnalyser.IngestMode.QUARANTINE);
+				IplDataset<MostRun> dataset = analyser.loadRunDataset(csv.toString());
+				Assert.assertEquals(mode.toString(), 100, dataset.size());
+				Assert.assertEquals(mode.toString(), 4, dataset.getIngestErrors().get(0).getLineNumber());
+				Assert.assertEquals(Arrays.asList(lines.get(0), lines.get(3)),
+						Files.readAllLines(directory.resolve("mostruns.csv.rejected")));
+				Files.delete(directory.resolve("mostruns.csv.rejected"));
+			}
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenPlayer_WhenRankLookedUp_ShouldMatchPositionInSortedData() throws IplAnalyserException {
+		IplDataset<MostRun> runs = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		for (MostRunSortType type : MostRunSortType.values()) {
+			MostRun[] sorted = new Gson().fromJson(iplAnalyser.sortRunData(runs, type), MostRun[].class);
+			for (int position = 0; position < sorted.length; position++) {
+				String player = sorted[position].getPlayer();
+				int rank = iplAnalyser.rankOf(runs, player, type);
+				Assert.assertEquals(player, sorted[rank - 1].getPlayer());
+				// listed twice in the factsheet, ranked by the first listing
+				if (!player.equals("Jos Buttler")) {
+					Assert.assertEquals(position + 1, rank);
+				}
+			}
+		}
+		IplDataset<MostWicket> wickets = iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+		MostWicket[] sorted = new Gson().fromJson(iplAnalyser.sortWicketData(wickets, MostWicketSortType.ECONOMY),
+				MostWicket[].class);
+		MostWicket[] window = new Gson().fromJson(
+				iplAnalyser.neighbours(wickets, sorted[1].getPlayer(), MostWicketSortType.ECONOMY, 2),
+				MostWicket[].class);
+		Assert.assertEquals(4, window.length);
+		Assert.assertEquals(sorted[3].getPlayer(), window[3].getPlayer());
+		try {
+			iplAnalyser.rankOf(runs, "Nobody", MostRunSortType.SR);
+			Assert.fail();
+		} catch (IplAnalyserException e) {
+			Assert.assertEquals(IplAnalyserException.ExceptionType.UNKNOWN_PLAYER, e.type);
+		}
+	}
+
+	@Test
+	public void givenSetOfSortTypes_WhenRankedInBatch_ShouldMatchSeparateRankings()
+			throws IplAnalyserException, IOException {
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		String batch = iplAnalyser.sortRunData(dataset, EnumSet.allOf(MostRunSortType.class));
+		JsonObject rankings = new JsonParser().parse(batch).getAsJsonObject();
+		Assert.assertEquals(MostRunSortType.values().length, rankings.entrySet().size());
+		IplAnalyser<?> separate = new IplAnalyser<Object>();
+		for (MostRunSortType type : MostRunSortType.values()) {
+			Assert.assertEquals(separate.sortRunData(MOSTRUNS_FILE_PATH, type), rankings.get(type.name()).toString());
+		}
+		StringWriter topTwo = new StringWriter();
+		iplAnalyser.writeWicketRankings(iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH),
+				EnumSet.of(MostWicketSortType.WICKETS_AND_AVG, MostWicketSortType.ECONOMY), 2, topTwo,
+				EnumSet.of(MostWicketField.PLAYER));
+		Assert.assertTrue(topTwo.toString().startsWith("{\"ECONOMY\":[{\"player\":"));
+		Assert.assertEquals(2, new JsonParser().parse(topTwo.toString()).getAsJsonObject()
+				.getAsJsonArray("WICKETS_AND_AVG").size());
+	}
+
+	@Test
+	public void givenOffHeapStorage_WhenLoadedInChunks_ShouldAnswerLikeHeapStorage()
+			throws IplAnalyserException, IOException {
+		iplAnalyser.setStorage(IplAnalyser.Storage.OFF_HEAP);
+		iplAnalyser.setParallelism(4);
+		iplAnalyser.setChunkSize(200);
+		IplDataset<MostRun> runs = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		IplDataset<MostWicket> wickets = iplAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+		Assert.assertTrue(runs.getTable() instanceof OffHeapRunColumns);
+		Assert.assertTrue(wickets.getTable() instanceof OffHeapWicketColumns);
+		IplAnalyser<?> heapAnalyser = new IplAnalyser<Object>();
+		for (MostRunSortType type : MostRunSortType.values()) {
+			Assert.assertEquals(heapAnalyser.sortRunData(MOSTRUNS_FILE_PATH, type),
+					iplAnalyser.sortRunData(runs, type));
+		}
+		for (MostWicketSortType type : MostWicketSortType.values()) {
+			Assert.assertEquals(heapAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, type),
+					iplAnalyser.sortWicketData(wickets, type));
+		}
+		RangeFilter<MostRunColumns> filter = MostRunStat.INNINGS.atLeast(10).and(MostRunStat.SR.greaterThan(150));
+		Assert.assertEquals(heapAnalyser.filterRunData(MOSTRUNS_FILE_PATH, filter, MostRunSortType.BOUNDARIES),
+				iplAnalyser.filterRunData(MOSTRUNS_FILE_PATH, filter, MostRunSortType.BOUNDARIES));
+		Assert.assertEquals(heapAnalyser.rankOf(MOSTWICKETS_FILE_PATH, "Imran Tahir", MostWicketSortType.ECONOMY),
+				iplAnalyser.rankOf(wickets, "Imran Tahir", MostWicketSortType.ECONOMY));
+		IplAnalyser<?> openCsvAnalyser = new IplAnalyser<Object>();
+		openCsvAnalyser.setParserMode(IplAnalyser.ParserMode.OPENCSV);
+		openCsvAnalyser.setStorage(IplAnalyser.Storage.OFF_HEAP);
+		IplDataset<MostWicket> boundWickets = openCsvAnalyser.loadWicketDataset(MOSTWICKETS_FILE_PATH);
+		Assert.assertTrue(boundWickets.getTable() instanceof OffHeapWicketColumns);
+		Assert.assertEquals(heapAnalyser.sortWicketData(MOSTWICKETS_FILE_PATH, MostWicketSortType.ECONOMY),
+				openCsvAnalyser.sortWicketData(boundWickets, MostWicketSortType.ECONOMY));
+
+		Path directory = Files.createTempDirectory("snapshots");
+		try {
+			iplAnalyser.writeSnapshot(runs, directory.resolve("runs" + DatasetSnapshot.EXTENSION).toString());
+			Gson gson = new Gson();
+			for (boolean offHeap : new boolean[] { false, true }) {
+				IplDataset<MostRun> fromSnapshot = DatasetSnapshot.read(
+						directory.resolve("runs" + DatasetSnapshot.EXTENSION), MOSTRUNS_FILE_PATH, MostRun.class,
+						runs.getLastModified(), runs.getFileSize(), offHeap);
+				Assert.assertEquals(offHeap, fromSnapshot.getTable() instanceof OffHeapRunColumns);
+				Assert.assertEquals(gson.toJson(runs.getRecords()), gson.toJson(fromSnapshot.getRecords()));
+			}
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenManyNames_WhenEncodedOffHeap_ShouldDecodeByDenseCodes() {
+		OffHeapStringTable names = new OffHeapStringTable();
+		for (int i = 0; i < 5000; i++) {
+			Assert.assertEquals(i, names.encode("Player " + i));
+		}
+		Assert.assertEquals(5000, names.encode(null));
+		Assert.assertEquals(5001, names.encode("Ravichandran Ashwin \u00e9"));
+		Assert.assertEquals(17, names.encode("Player 17"));
+		Assert.assertEquals(5002, names.size());
+		Assert.assertEquals("Player 4321", names.decode(4321));
+		Assert.assertNull(names.decode(5000));
+		Assert.assertEquals("Ravichandran Ashwin \u00e9", names.decode(5001));
+		Assert.assertEquals(2500, names.codeOf("Player 2500"));
+		Assert.assertEquals(5000, names.codeOf(null));
+		Assert.assertEquals(-1, names.codeOf("Player 5000"));
+	}
+
+	@Test
+	public void givenRunFile_WhenSummarized_ShouldMatchExactStatistics() throws IplAnalyserException {
+		IplDataset<MostRun> dataset = iplAnalyser.loadRunDataset(MOSTRUNS_FILE_PATH);
+		double[] averages = dataset.getRecords().stream().mapToDouble(MostRun::getAvg).filter(avg -> avg == avg)
+				.sorted().toArray();
+		double mean = Arrays.stream(averages).average().getAsDouble();
+		double variance = Arrays.stream(averages).map(avg -> (avg - mean) * (avg - mean)).sum()
+				/ (averages.length - 1);
+		for (TableSummary<MostRunColumns> summary : Arrays.asList(iplAnalyser.summarizeRunData(dataset),
+				iplAnalyser.summarizeRunData(MOSTRUNS_FILE_PATH))) {
+			ColumnSummary avg = summary.get(MostRunStat.AVG);
+			Assert.assertEquals(dataset.size(), summary.getRows());
+			Assert.assertEquals(averages.length, avg.getCount());
+			Assert.assertEquals(dataset.size() - averages.length, avg.getMissing());
+			Assert.assertEquals(mean, avg.getMean(), 1e-9);
+			Assert.assertEquals(variance, avg.getVariance(), 1e-9);
+			Assert.assertEquals(83.2, avg.getMax(), 0.0);
+			Assert.assertEquals(averages[(averages.length + 1) / 2 - 1], avg.quantile(0.5), 0.0);
+			long[] buckets = avg.histogram(20, 40);
+			Assert.assertEquals(averages.length, buckets[0] + buckets[1] + buckets[2]);
+			Assert.assertEquals(Arrays.stream(averages).filter(value -> value > 40).count(), buckets[2]);
+		}
+		Assert.assertSame(iplAnalyser.summarizeRunData(dataset), iplAnalyser.summarizeRunData(dataset));
+	}
+
+	@Test
+	public void givenSeasonDirectory_WhenSummarized_ShouldMergeEverySeason() throws IplAnalyserException, IOException {
+		Path directory = Files.createTempDirectory("seasons");
+		try {
+			for (String season : new String[] { "2018", "2019" }) {
+				Files.copy(Paths.get(MOSTWICKETS_FILE_PATH),
+						directory.resolve("IPL" + season + "FactsheetMostWkts.csv"));
+			}
+			TableSummary<MostWicketColumns> season = iplAnalyser.summarizeWicketData(MOSTWICKETS_FILE_PATH);
+			TableSummary<MostWicketColumns> seasons = iplAnalyser
+					.summarizeWicketData(iplAnalyser.loadWicketSeasons(directory.toString()), "IPL", 2018, 2019);
+			Assert.assertEquals(2 * season.getRows(), seasons.getRows());
+			for (MostWicketStat stat : MostWicketStat.values()) {
+				ColumnSummary one = season.get(stat);
+				ColumnSummary both = seasons.get(stat);
+				Assert.assertEquals(2 * one.getCount(), both.getCount());
+				Assert.assertEquals(one.getMean(), both.getMean(), 1e-9);
+				Assert.assertEquals(one.getMin(), both.getMin(), 0.0);
+				Assert.assertEquals(one.quantile(0.9), both.quantile(0.9), 0.0);
+			}
+			ColumnSummary economy = season.get(MostWicketStat.ECONOMY);
+			long count = economy.getCount();
+			Assert.assertEquals(economy.getVariance() * 2 * (count - 1) / (2 * count - 1),
+					seasons.get(MostWicketStat.ECONOMY).getVariance(), 1e-9);
+		} finally {
+			deleteDirectory(directory);
+		}
+	}
+
+	@Test
+	public void givenQueryServer_WhenQueriedOnLocalhost_ShouldAnswerWithDatasetETags() throws Exception {
+		IplQueryService service = new IplQueryService();
+		IplDataset<MostRun> runs = service.reloadRuns(MOSTRUNS_FILE_PATH);
+		service.reloadWickets(MOSTWICKETS_FILE_PATH);
+		try (IplQueryServer server = new IplQueryServer(service,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4)) {
+			server.start();
+			HttpURLConnection sorted = request(server, "/runs?sort=AVERAGE", null);
+			Assert.assertEquals(200, sorted.getResponseCode());
+			Assert.assertEquals(service.sortRunData(MostRunSortType.AVERAGE), body(sorted));
+			String etag = sorted.getHeaderField("ETag");
+			Assert.assertEquals("\"" + runs.getVersion() + "\"", etag);
+			Assert.assertEquals(304, request(server, "/runs?sort=AVERAGE", etag).getResponseCode());
+
+			HttpURLConnection top = request(server, "/wickets/top?sort=ECONOMY&k=3", null);
+			Assert.assertEquals(service.topK(MostWicketSortType.ECONOMY, 3), body(top));
+			JsonObject player = new JsonParser()
+					.parse(body(request(server, "/runs/player?name=MS+Dhoni&sort=AVERAGE&n=1", null)))
+					.getAsJsonObject();
+			Assert.assertEquals(1, player.get("rank").getAsInt());
+			Assert.assertEquals(2, player.getAsJsonArray("neighbours").size());
+
+			Assert.assertEquals(404, request(server, "/runs/player?name=Nobody&sort=AVERAGE", null).getResponseCode());
+			Assert.assertEquals(400, request(server, "/runs?sort=FASTEST", null).getResponseCode());
+			Assert.assertEquals(400, request(server, "/wickets/top?sort=ECONOMY", null).getResponseCode());
+			HttpURLConnection invalid = request(server, "/runs?sort=AVERAGE&limit=-1", etag);
+			Assert.assertEquals(400, invalid.getResponseCode());
+			Assert.assertNull(invalid.getHeaderField("ETag"));
+			Assert.assertEquals(400, request(server, "/runs/player?sort=AVERAGE", etag).getResponseCode());
+			Assert.assertEquals(404, request(server, "/runs/bottom?sort=AVERAGE", null).getResponseCode());
+		}
+	}
+
+	@Test
+	public void givenFailingAnalyser_WhenQueried_ShouldAnswerInternalError() throws Exception {
+		IplQueryService service = new IplQueryService(new IplAnalyser<Object>() {
+			@Override
+			public void writeRunData(IplDataset<MostRun> dataset, MostRunSortType type, int limit, Writer writer,
+					Set<MostRunField> fields) {
+				throw new IllegalStateException("Disk full");
+			}
+		});
+		service.reloadRuns(MOSTRUNS_FILE_PATH);
+		try (IplQueryServer server = new IplQueryServer(service,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2)) {
+			server.start();
+			HttpURLConnection failed = request(server, "/runs?sort=AVERAGE", null);
+			Assert.assertEquals(500, failed.getResponseCode());
+			Assert.assertNull(failed.getHeaderField("ETag"));
+			try (InputStream in = failed.getErrorStream()) {
+				JsonObject error = new JsonParser().parse(new InputStreamReader(in, StandardCharsets.UTF_8))
+						.getAsJsonObject();
+				Assert.assertEquals("INTERNAL_ERROR", error.get("error").getAsString());
+			}
+		}
+	}
+
+	@Test
+	public void givenIdenticalConcurrentRequests_WhenServed_ShouldComputeTheAnswerOnce() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		IplQueryService service = new IplQueryService(new IplAnalyser<Object>() {
+			@Override
+			public void writeRunData(IplDataset<MostRun> dataset, MostRunSortType type, int limit, Writer writer,
+					Set<MostRunField> fields) throws IplAnalyserException, IOException {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.writeRunData(dataset, type, limit, writer, fields);
+			}
+		});
+		service.reloadRuns(MOSTRUNS_FILE_PATH);
+		String expected = new IplAnalyser<Object>().sortRunData(MOSTRUNS_FILE_PATH, MostRunSortType.BOUNDARIES);
+		int requests = 8;
+		ExecutorService clients = Executors.newFixedThreadPool(requests);
+		try (IplQueryServer server = new IplQueryServer(service,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), requests)) {
+			server.start();
+			List<Future<String>> answers = new ArrayList<>();
+			for (int i = 0; i < requests; i++) {
+				answers.add(clients.submit(() -> body(request(server, "/runs?sort=BOUNDARIES", null))));
+			}
+			long deadline = System.currentTimeMillis() + 10_000;
+			while (server.getCoalescedRequests() < requests - 1 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			release.countDown();
+			for (Future<String> answer : answers) {
+				Assert.assertEquals(expected, answer.get());
+			}
+			Assert.assertEquals(1, server.getComputations());
+			Assert.assertEquals(requests - 1, server.getCoalescedRequests());
+		} finally {
+			release.countDown();
+			clients.shutdown();
+		}
+	}
+
+	private static HttpURLConnection request(IplQueryServer server, String path, String etag) throws IOException {
+		URL url = new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(), path);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		if (etag != null) {
+			connection.setRequestProperty("If-None-Match", etag);
+		}
+		return connection;
+	}
+
+	private static String body(HttpURLConnection connection) throws IOException {
+		try (InputStream in = connection.getInputStream()) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			for (int read; (read = in.read(buffer)) > 0;) {
+				bytes.write(buffer, 0, read);
+			}
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static void deleteDirectory(Path directory) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path file : files) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	private static <T> List<T> bindBeans(String filePath, Class<T> classType) throws IOException {
+		try (Reader reader = Files.newBufferedReader(Paths.get(filePath))) {
+			return new CsvToBeanBuilder<T>(reader).withType(classType).build().parse();
+		}
+	}
 }